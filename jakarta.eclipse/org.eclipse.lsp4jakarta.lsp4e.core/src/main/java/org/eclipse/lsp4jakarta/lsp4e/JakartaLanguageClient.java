@@ -22,10 +22,10 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4e.LanguageClientImpl;
 import org.eclipse.lsp4j.CodeAction;
-import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaAffectedUrisParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionResult;
@@ -33,19 +33,40 @@ import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfo;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfoParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaProjectLabelsParams;
-import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.commons.ProjectLabelInfoEntry;
 import org.eclipse.lsp4jakarta.commons.codeaction.CodeActionResolveData;
 import org.eclipse.lsp4jakarta.commons.utils.JSONUtility;
+import org.eclipse.lsp4jakarta.jdt.core.IClasspathChangedListener;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
 import org.eclipse.lsp4jakarta.jdt.core.ProjectLabelManager;
 import org.eclipse.lsp4jakarta.jdt.core.PropertiesManagerForJava;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 import org.eclipse.lsp4jakarta.ls.api.JakartaLanguageClientAPI;
+import org.eclipse.lsp4jakarta.ls.api.JakartaLanguageServerAPI;
 
 public class JakartaLanguageClient extends LanguageClientImpl implements JakartaLanguageClientAPI {
 
+    private final IClasspathChangedListener classpathChangedListener = event -> {
+        // Forward the classpath change to the language server to evict its cached
+        // project labels.
+        JakartaLanguageServerAPI server = (JakartaLanguageServerAPI) getLanguageServer();
+        if (server != null) {
+            server.classpathChanged(event);
+        }
+    };
+
     public JakartaLanguageClient() {
-        // do nothing
+        JakartaCorePlugin.getDefault().addClasspathChangedListener(classpathChangedListener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void dispose() {
+        // The language server is stopped, stop forwarding the classpath changes.
+        JakartaCorePlugin.getDefault().removeClasspathChangedListener(classpathChangedListener);
+        super.dispose();
     }
 
     private IProgressMonitor getProgressMonitor(CancelChecker cancelChecker) {
@@ -65,12 +86,9 @@ public class JakartaLanguageClient extends LanguageClientImpl implements Jakarta
     public CompletableFuture<JakartaJavaCompletionResult> getJavaCompletion(JakartaJavaCompletionParams javaParams) {
         return CompletableFutures.computeAsync(cancelChecker -> {
             IProgressMonitor monitor = getProgressMonitor(cancelChecker);
-            CompletionList completionList;
             try {
-                completionList = PropertiesManagerForJava.getInstance().completion(javaParams,
-                                                                                   JDTUtilsLSImpl.getInstance(), monitor);
-                JavaCursorContextResult javaCursorContext = PropertiesManagerForJava.getInstance().javaCursorContext(javaParams, JDTUtilsLSImpl.getInstance(), monitor);
-                return new JakartaJavaCompletionResult(completionList, javaCursorContext);
+                return PropertiesManagerForJava.getInstance().javaCompletion(javaParams, JDTUtilsLSImpl.getInstance(),
+                                                                             monitor);
             } catch (JavaModelException e) {
                 // TODO Auto-generated catch block
                 e.printStackTrace();
@@ -130,6 +148,18 @@ public class JakartaLanguageClient extends LanguageClientImpl implements Jakarta
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<String>> getJavaAffectedUris(JakartaJavaAffectedUrisParams javaParams) {
+        return CompletableFutures.computeAsync((cancelChecker) -> {
+            IProgressMonitor monitor = getProgressMonitor(cancelChecker);
+            return PropertiesManagerForJava.getInstance().affectedUris(javaParams, JDTUtilsLSImpl.getInstance(),
+                                                                       monitor);
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
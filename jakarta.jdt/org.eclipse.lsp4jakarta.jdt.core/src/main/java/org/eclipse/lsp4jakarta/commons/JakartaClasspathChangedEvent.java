@@ -0,0 +1,74 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+import java.util.Set;
+
+/**
+ * Classpath changed event sent by the JDT extension when the classpath or the
+ * build file (pom.xml, build.gradle) of some projects changed.
+ *
+ * Based on:
+ * https://github.com/eclipse/lsp4mp/blob/0.9.0/microprofile.ls/org.eclipse.lsp4mp.ls/src/main/java/org/eclipse/lsp4mp/commons/MicroProfilePropertiesChangeEvent.java
+ */
+public class JakartaClasspathChangedEvent {
+
+    private Set<String> projectURIs;
+
+    private long generation;
+
+    public JakartaClasspathChangedEvent() {}
+
+    public JakartaClasspathChangedEvent(Set<String> projectURIs, long generation) {
+        this.projectURIs = projectURIs;
+        this.generation = generation;
+    }
+
+    /**
+     * Returns the project URIs impacted by the classpath change.
+     *
+     * @return the project URIs impacted by the classpath change.
+     */
+    public Set<String> getProjectURIs() {
+        return projectURIs;
+    }
+
+    /**
+     * Set the project URIs impacted by the classpath change.
+     *
+     * @param projectURIs the project URIs impacted by the classpath change.
+     */
+    public void setProjectURIs(Set<String> projectURIs) {
+        this.projectURIs = projectURIs;
+    }
+
+    /**
+     * Returns the classpath generation stamp computed by the JDT extension after
+     * the change. Any {@link ProjectLabelInfoEntry} with a lower generation is
+     * stale for the impacted projects.
+     *
+     * @return the classpath generation stamp.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Set the classpath generation stamp.
+     *
+     * @param generation the classpath generation stamp.
+     */
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.commons;
+
+import java.util.List;
+
+/**
+ * Jakarta Java affected uris parameters, used to compute which opened Java
+ * files must be revalidated when a Java file is saved.
+ */
+public class JakartaJavaAffectedUrisParams {
+
+    private String uri;
+
+    private List<String> uris;
+
+    public JakartaJavaAffectedUrisParams() {
+        this(null, null);
+    }
+
+    public JakartaJavaAffectedUrisParams(String uri, List<String> uris) {
+        setUri(uri);
+        setUris(uris);
+    }
+
+    /**
+     * Returns the uri of the saved Java file.
+     *
+     * @return the uri of the saved Java file.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * Set the uri of the saved Java file.
+     *
+     * @param uri the uri of the saved Java file.
+     */
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    /**
+     * Returns the candidate Java file uris list.
+     *
+     * @return the candidate Java file uris list.
+     */
+    public List<String> getUris() {
+        return uris;
+    }
+
+    /**
+     * Set the candidate Java file uris list.
+     *
+     * @param uris the candidate Java file uris list.
+     */
+    public void setUris(List<String> uris) {
+        this.uris = uris;
+    }
+}
@@ -17,12 +17,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 
 public class ASTUtils {
 
@@ -40,6 +44,52 @@ public class ASTUtils {
         return parser.createAST(null);
     }
 
+    /**
+     * Parses the given type root.
+     *
+     * <p>
+     * The statements are recovered, and the bindings too when they are resolved,
+     * like in the AST shared by {@link CoreASTProvider}. Unlike
+     * {@link #getASTNode(ICompilationUnit)}, the statements of a method body with
+     * syntax errors are kept in the returned AST.
+     * </p>
+     *
+     * @param typeRoot the compilation unit or class file to parse
+     * @param resolveBindings true if the bindings must be resolved and false if
+     *            only the syntax is needed
+     * @return the AST parsed from the type root
+     */
+    public static CompilationUnit parse(ITypeRoot typeRoot, boolean resolveBindings) {
+        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+        parser.setSource(typeRoot);
+        parser.setResolveBindings(resolveBindings);
+        parser.setBindingsRecovery(resolveBindings);
+        parser.setStatementsRecovery(true);
+        return (CompilationUnit) parser.createAST(null);
+    }
+
+    /**
+     * Returns the AST of the given type root.
+     *
+     * <p>
+     * The AST shared by {@link CoreASTProvider} is returned when it is available.
+     * Otherwise, when bindings are needed the shared AST is created, and when only
+     * the syntax is needed a lighter AST without bindings is parsed.
+     * </p>
+     *
+     * @param typeRoot the compilation unit or class file
+     * @param resolveBindings true if the bindings must be resolved and false if
+     *            only the syntax is needed
+     * @param monitor the progress monitor
+     * @return the AST of the given type root.
+     */
+    public static CompilationUnit getAST(ITypeRoot typeRoot, boolean resolveBindings, IProgressMonitor monitor) {
+        CompilationUnit ast = CoreASTProvider.getInstance().getAST(typeRoot,
+                                                                   resolveBindings ? CoreASTProvider.WAIT_YES : CoreASTProvider.WAIT_NO, monitor);
+        return ast != null ? ast : parse(typeRoot, resolveBindings);
+    }
+
     /**
      * Given a compilation unit returns a list of all method invocations.
      *
@@ -47,7 +97,16 @@ public class ASTUtils {
      * @return list of method invocations
      */
     public static List<MethodInvocation> getMethodInvocations(ICompilationUnit unit) {
-        ASTNode node = getASTNode(unit);
+        return getMethodInvocations(getASTNode(unit));
+    }
+
+    /**
+     * Given an AST node returns a list of all method invocations.
+     *
+     * @param node the AST node, generally the AST root of a compilation unit
+     * @return list of method invocations
+     */
+    public static List<MethodInvocation> getMethodInvocations(ASTNode node) {
         MethodInvocationVisitor visitor = new ASTUtils().new MethodInvocationVisitor();
         node.accept(visitor);
         return visitor.getMethodInvocations();
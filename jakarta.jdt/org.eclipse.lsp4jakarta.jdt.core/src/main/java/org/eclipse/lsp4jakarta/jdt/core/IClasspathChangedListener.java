@@ -0,0 +1,31 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import org.eclipse.lsp4jakarta.commons.JakartaClasspathChangedEvent;
+
+/**
+ * Classpath changed listener API.
+ *
+ * Based on:
+ * https://github.com/eclipse/lsp4mp/blob/0.9.0/microprofile.jdt/org.eclipse.lsp4mp.jdt.core/src/main/java/org/eclipse/lsp4mp/jdt/core/IMicroProfilePropertiesChangedListener.java
+ */
+public interface IClasspathChangedListener {
+
+    /**
+     * Notifies that the classpath or the build file of some projects changed.
+     *
+     * @param event the classpath changed event.
+     */
+    void classpathChanged(JakartaClasspathChangedEvent event);
+}
@@ -16,6 +16,8 @@ package org.eclipse.lsp4jakarta.jdt.core;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.lsp4jakarta.jdt.internal.core.ClasspathResourceChangedManager;
+import org.eclipse.lsp4jakarta.jdt.internal.core.JavaModelChangeManager;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
@@ -33,9 +35,13 @@ public class JakartaCorePlugin implements BundleActivator {
     public void start(BundleContext context) throws Exception {
 //    	super.start(context);
         plugin = this;
+        ClasspathResourceChangedManager.getInstance().initialize();
+        JavaModelChangeManager.getInstance().initialize();
     }
 
     public void stop(BundleContext context) throws Exception {
+        ClasspathResourceChangedManager.getInstance().destroy();
+        JavaModelChangeManager.getInstance().destroy();
         plugin = null;
 //		super.stop(context);
     }
@@ -50,19 +56,27 @@ public class JakartaCorePlugin implements BundleActivator {
     }
 
     /**
-     * Add the given Jakarta properties changed listener.
+     * Add the given classpath changed listener.
      *
      * @param listener the listener to add
      */
-    public static void log(IStatus status) {
-//        getDefault().getLog().log(status);
+    public void addClasspathChangedListener(IClasspathChangedListener listener) {
+        ClasspathResourceChangedManager.getInstance().addClasspathChangedListener(listener);
     }
 
     /**
-     * Remove the given Jakarta properties changed listener.
+     * Remove the given classpath changed listener.
      *
      * @param listener the listener to remove
      */
+    public void removeClasspathChangedListener(IClasspathChangedListener listener) {
+        ClasspathResourceChangedManager.getInstance().removeClasspathChangedListener(listener);
+    }
+
+    public static void log(IStatus status) {
+//        getDefault().getLog().log(status);
+    }
+
     public static void logException(String errMsg, Throwable ex) {
 //        getDefault().getLog().log(new Status(IStatus.ERROR, PLUGIN_ID, errMsg, ex));
     }
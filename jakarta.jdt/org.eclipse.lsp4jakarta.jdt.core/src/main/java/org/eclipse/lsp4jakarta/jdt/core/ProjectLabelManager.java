@@ -30,6 +30,7 @@ import org.eclipse.lsp4jakarta.commons.ProjectLabelInfoEntry;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.JDTJakartaUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.JDTTypeUtils;
+import org.eclipse.lsp4jakarta.jdt.internal.core.ClasspathResourceChangedManager;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ProjectLabelRegistry;
 
 /**
@@ -77,7 +78,10 @@ public class ProjectLabelManager {
     private ProjectLabelInfoEntry getProjectLabelInfo(IProject project, List<String> types) {
         String uri = JDTJakartaUtils.getProjectURI(project);
         if (uri != null) {
-            return new ProjectLabelInfoEntry(uri, project.getName(), getProjectLabels(project, types));
+            // Read the generation before computing the labels, so that a classpath change
+            // occurring during the computation marks the result as stale.
+            long generation = ClasspathResourceChangedManager.getInstance().getGeneration();
+            return new ProjectLabelInfoEntry(uri, project.getName(), getProjectLabels(project, types), generation);
         }
         return null;
     }
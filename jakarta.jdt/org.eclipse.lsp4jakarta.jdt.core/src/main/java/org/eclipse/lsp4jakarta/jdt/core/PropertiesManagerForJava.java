@@ -16,6 +16,7 @@ package org.eclipse.lsp4jakarta.jdt.core;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -38,7 +39,6 @@ import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.NodeFinder;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
-import org.eclipse.jdt.internal.core.manipulation.dom.ASTResolving;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
@@ -47,8 +47,10 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.jsonrpc.validation.NonNull;
 import org.eclipse.lsp4jakarta.commons.DocumentFormat;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaAffectedUrisParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionResult;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsSettings;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfo;
@@ -57,11 +59,16 @@ import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.jdt.core.java.completion.JavaCompletionContext;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsVisitor;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.JavaFeaturesRegistry;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.codeaction.CodeActionHandler;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.completion.JavaCompletionDefinition;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.completion.JavaCursorContextScanner;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics.JavaDiagnosticsCache;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics.JavaDiagnosticsDefinition;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics.JavaDiagnosticsDispatcher;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics.JavaRevalidationPlanner;
 
 /**
  * JDT Jakarta manager for Java files.
@@ -77,12 +84,15 @@ public class PropertiesManagerForJava {
 
     private final CodeActionHandler codeActionHandler;
 
+    private final JavaRevalidationPlanner revalidationPlanner;
+
     public static PropertiesManagerForJava getInstance() {
         return INSTANCE;
     }
 
     private PropertiesManagerForJava() {
         this.codeActionHandler = new CodeActionHandler();
+        this.revalidationPlanner = new JavaRevalidationPlanner();
     }
 
     /**
@@ -95,18 +105,82 @@ public class PropertiesManagerForJava {
      * @throws JavaModelException
      */
     public CompletionList completion(JakartaJavaCompletionParams params, IJDTUtils utils, IProgressMonitor monitor) throws JavaModelException {
+        JavaCompletionContext completionContext = createCompletionContext(params, utils, monitor);
+        if (completionContext == null) {
+            return null;
+        }
+        return collectCompletionItems(completionContext, monitor);
+    }
+
+    /**
+     * Returns the cursor context for the given file and cursor position.
+     *
+     * @param params the completion params that provide the file and cursor
+     *            position to get the context for
+     * @param utils the jdt utils
+     * @param monitor the progress monitor
+     * @return the cursor context for the given file and cursor position
+     * @throws JavaModelException when the buffer for the file cannot be accessed or
+     *             the Java model cannot be accessed
+     */
+    public JavaCursorContextResult javaCursorContext(JakartaJavaCompletionParams params, IJDTUtils utils,
+                                                     IProgressMonitor monitor) throws JavaModelException {
+        JavaCompletionContext completionContext = createCompletionContext(params, utils, monitor);
+        if (completionContext == null) {
+            return new JavaCursorContextResult(JavaCursorContextKind.IN_EMPTY_FILE, "");
+        }
+        return getJavaCursorContext(completionContext, monitor);
+    }
+
+    /**
+     * Returns the completion items and the cursor context for the given file and
+     * cursor position.
+     *
+     * <p>
+     * The Java file, the completion offset and the AST are resolved once and
+     * shared by the completion participants and the cursor context computation.
+     * </p>
+     *
+     * @param params the completion params that provide the file and cursor
+     *            position
+     * @param utils the jdt utils
+     * @param monitor the progress monitor
+     * @return the completion items and the cursor context for the given file and
+     *         cursor position
+     * @throws JavaModelException when the buffer for the file cannot be accessed or
+     *             the Java model cannot be accessed
+     */
+    public JakartaJavaCompletionResult javaCompletion(JakartaJavaCompletionParams params, IJDTUtils utils,
+                                                      IProgressMonitor monitor) throws JavaModelException {
+        JavaCompletionContext completionContext = createCompletionContext(params, utils, monitor);
+        if (completionContext == null) {
+            return new JakartaJavaCompletionResult(null, new JavaCursorContextResult(JavaCursorContextKind.IN_EMPTY_FILE, ""));
+        }
+        CompletionList completionList = collectCompletionItems(completionContext, monitor);
+        JavaCursorContextResult cursorContext = getJavaCursorContext(completionContext, monitor);
+        return new JakartaJavaCompletionResult(completionList, cursorContext);
+    }
+
+    /**
+     * Returns the completion context of the given params and null if the Java
+     * file cannot be resolved.
+     */
+    private static JavaCompletionContext createCompletionContext(JakartaJavaCompletionParams params,
+                                                                 IJDTUtils utils, IProgressMonitor monitor) throws JavaModelException {
         String uri = params.getUri();
         ITypeRoot typeRoot = resolveTypeRoot(uri, utils, monitor);
         if (typeRoot == null) {
             return null;
         }
-
         Position completionPosition = params.getPosition();
         int completionOffset = utils.toOffset(typeRoot.getBuffer(), completionPosition.getLine(),
                                               completionPosition.getCharacter());
+        return new JavaCompletionContext(uri, typeRoot, utils, completionOffset);
+    }
 
+    private static CompletionList collectCompletionItems(JavaCompletionContext completionContext,
+                                                         IProgressMonitor monitor) {
         List<CompletionItem> completionItems = new ArrayList<>();
-        JavaCompletionContext completionContext = new JavaCompletionContext(uri, typeRoot, utils, completionOffset);
 
         List<JavaCompletionDefinition> completions = JavaFeaturesRegistry.getInstance().getJavaCompletionDefinitions().stream().filter(completion -> completion.isAdaptedForCompletion(completionContext,
                                                                                                                                                                                        monitor)).collect(Collectors.toList());
@@ -130,44 +204,28 @@ public class PropertiesManagerForJava {
         return completionList;
     }
 
-    /**
-     * Returns the cursor context for the given file and cursor position.
-     *
-     * @param params the completion params that provide the file and cursor
-     *            position to get the context for
-     * @param utils the jdt utils
-     * @param monitor the progress monitor
-     * @return the cursor context for the given file and cursor position
-     * @throws JavaModelException when the buffer for the file cannot be accessed or
-     *             the Java model cannot be accessed
-     */
-    public JavaCursorContextResult javaCursorContext(JakartaJavaCompletionParams params, IJDTUtils utils,
-                                                     IProgressMonitor monitor) throws JavaModelException {
-        String uri = params.getUri();
-        ITypeRoot typeRoot = resolveTypeRoot(uri, utils, monitor);
-
-        if (typeRoot == null) {
-            return new JavaCursorContextResult(JavaCursorContextKind.IN_EMPTY_FILE, "");
+    private static JavaCursorContextResult getJavaCursorContext(JavaCompletionContext completionContext,
+                                                                IProgressMonitor monitor) throws JavaModelException {
+        ITypeRoot typeRoot = completionContext.getTypeRoot();
+        int completionOffset = completionContext.getOffset();
+        JavaCursorContextKind kind;
+        if (typeRoot.findPrimaryType() == null) {
+            kind = JavaCursorContextKind.IN_EMPTY_FILE;
+        } else {
+            // Try first with the tokens of the file, which is cheaper than an AST
+            kind = JavaCursorContextScanner.getCursorContextKind(typeRoot, completionOffset);
+            if (kind == null) {
+                // Only the syntax is needed to compute the cursor context, the AST is shared
+                // with the completion participants
+                CompilationUnit ast = completionContext.getASTRoot(false);
+                kind = getJavaCursorContextKind(ast, completionOffset);
+            }
         }
-        CompilationUnit ast = ASTResolving.createQuickFixAST((ICompilationUnit) typeRoot, monitor);
-
-        JavaCursorContextKind kind = getJavaCursorContextKind(params, typeRoot, ast, utils, monitor);
-        String prefix = getJavaCursorPrefix(params, typeRoot, ast, utils, monitor);
-
+        String prefix = getJavaCursorPrefix(typeRoot, completionOffset);
         return new JavaCursorContextResult(kind, prefix);
     }
 
-    private static JavaCursorContextKind getJavaCursorContextKind(JakartaJavaCompletionParams params,
-                                                                  ITypeRoot typeRoot, CompilationUnit ast, IJDTUtils utils, IProgressMonitor monitor) throws JavaModelException {
-
-        if (typeRoot.findPrimaryType() == null) {
-            return JavaCursorContextKind.IN_EMPTY_FILE;
-        }
-
-        Position completionPosition = params.getPosition();
-        int completionOffset = utils.toOffset(typeRoot.getBuffer(), completionPosition.getLine(),
-                                              completionPosition.getCharacter());
-
+    private static JavaCursorContextKind getJavaCursorContextKind(CompilationUnit ast, int completionOffset) {
         NodeFinder nodeFinder = new NodeFinder(ast, completionOffset, 0);
         ASTNode node = nodeFinder.getCoveringNode();
         ASTNode oldNode = node;
@@ -228,29 +286,24 @@ public class PropertiesManagerForJava {
         }
     }
 
-    private static @NonNull String getJavaCursorPrefix(JakartaJavaCompletionParams params, ITypeRoot typeRoot,
-                                                       CompilationUnit ast, IJDTUtils utils, IProgressMonitor monitor) throws JavaModelException {
-        Position completionPosition = params.getPosition();
-        int completionOffset = utils.toOffset(typeRoot.getBuffer(), completionPosition.getLine(),
-                                              completionPosition.getCharacter());
-
-        String fileContents = null;
+    private static @NonNull String getJavaCursorPrefix(ITypeRoot typeRoot, int completionOffset) {
+        IBuffer buffer;
         try {
-            IBuffer buffer = typeRoot.getBuffer();
+            buffer = typeRoot.getBuffer();
             if (buffer == null) {
                 return null;
             }
-            fileContents = buffer.getContents();
         } catch (JavaModelException e) {
             return "";
         }
-        if (fileContents == null) {
+        if (completionOffset < 0 || completionOffset > buffer.getLength()) {
             return "";
         }
+        // Scan backwards in the buffer instead of copying its whole content
         int i;
-        for (i = completionOffset; i > 0 && !Character.isWhitespace(fileContents.charAt(i - 1)); i--) {
+        for (i = completionOffset; i > 0 && !Character.isWhitespace(buffer.getChar(i - 1)); i--) {
         }
-        return fileContents.substring(i, completionOffset);
+        return buffer.getText(i, completionOffset - i);
     }
 
     /**
@@ -323,6 +376,9 @@ public class PropertiesManagerForJava {
         DocumentFormat documentFormat = params.getDocumentFormat();
         List<PublishDiagnosticsParams> publishDiagnostics = new ArrayList<PublishDiagnosticsParams>();
         for (String uri : uris) {
+            if (monitor.isCanceled()) {
+                break;
+            }
             List<Diagnostic> diagnostics = new ArrayList<>();
             PublishDiagnosticsParams publishDiagnostic = new PublishDiagnosticsParams(uri, diagnostics);
             publishDiagnostics.add(publishDiagnostic);
@@ -334,6 +390,25 @@ public class PropertiesManagerForJava {
         return publishDiagnostics;
     }
 
+    /**
+     * Returns the java file uris whose diagnostics can depend on the saved java
+     * file.
+     *
+     * @param params the affected uris parameters
+     * @param utils the utilities class
+     * @param monitor the progress monitor
+     * @return the java file uris whose diagnostics can depend on the saved java
+     *         file, in the order of the given uris.
+     */
+    public List<String> affectedUris(JakartaJavaAffectedUrisParams params, IJDTUtils utils, IProgressMonitor monitor) {
+        List<String> uris = params.getUris();
+        if (uris == null) {
+            return Collections.emptyList();
+        }
+        utils.waitForLifecycleJobs(monitor);
+        return revalidationPlanner.getAffectedUris(params.getUri(), uris, utils, monitor);
+    }
+
     private void collectDiagnostics(String uri, IJDTUtils utils, DocumentFormat documentFormat,
                                     JakartaJavaDiagnosticsSettings settings, List<Diagnostic> diagnostics, IProgressMonitor monitor) {
         ITypeRoot typeRoot = resolveTypeRoot(uri, utils, monitor);
@@ -341,23 +416,53 @@ public class PropertiesManagerForJava {
             return;
         }
 
+        // Reuse the diagnostics computed for the same content, settings and classpath
+        JavaDiagnosticsCache cache = JavaDiagnosticsCache.getInstance();
+        String fingerprint = cache.getFingerprint(typeRoot, documentFormat, settings);
+        List<Diagnostic> cachedDiagnostics = cache.get(uri, fingerprint);
+        if (cachedDiagnostics != null) {
+            diagnostics.addAll(cachedDiagnostics);
+            return;
+        }
+
         // Collect all adapted diagnostics participant
         JavaDiagnosticsContext context = new JavaDiagnosticsContext(uri, typeRoot, utils, documentFormat, settings);
         List<JavaDiagnosticsDefinition> definitions = JavaFeaturesRegistry.getInstance().getJavaDiagnosticsDefinitions().stream().filter(definition -> definition.isAdaptedForDiagnostics(context,
                                                                                                                                                                                           monitor)).collect(Collectors.toList());
         if (definitions.isEmpty()) {
+            if (!monitor.isCanceled()) {
+                cache.put(uri, fingerprint, diagnostics);
+            }
             return;
         }
 
         // Begin, collect, end participants
         definitions.forEach(definition -> definition.beginDiagnostics(context, monitor));
+        // Participants which provide a visitor share a single walk of the compilation
+        // unit, the diagnostics are kept in the order of the participants.
+        JavaDiagnosticsDispatcher dispatcher = new JavaDiagnosticsDispatcher();
+        List<Supplier<List<Diagnostic>>> results = new ArrayList<>();
         definitions.forEach(definition -> {
-            List<Diagnostic> collectedDiagnostics = definition.collectDiagnostics(context, monitor);
+            JavaDiagnosticsVisitor visitor = definition.createDiagnosticsVisitor(context, monitor);
+            if (visitor != null) {
+                dispatcher.addVisitor(visitor);
+                results.add(() -> dispatcher.getDiagnostics(visitor));
+            } else {
+                List<Diagnostic> collectedDiagnostics = definition.collectDiagnostics(context, monitor);
+                results.add(() -> collectedDiagnostics);
+            }
+        });
+        dispatcher.dispatch(context, monitor);
+        results.forEach(result -> {
+            List<Diagnostic> collectedDiagnostics = result.get();
             if (collectedDiagnostics != null && !collectedDiagnostics.isEmpty()) {
                 diagnostics.addAll(collectedDiagnostics);
             }
         });
         definitions.forEach(definition -> definition.endDiagnostics(context, monitor));
+        if (!monitor.isCanceled()) {
+            cache.put(uri, fingerprint, diagnostics);
+        }
     }
 
     /**
@@ -545,6 +650,9 @@ public class PropertiesManagerForJava {
             JakartaJavaFileInfo fileInfo = new JakartaJavaFileInfo();
             String packageName = unit.getParent() != null ? unit.getParent().getElementName() : "";
             fileInfo.setPackageName(packageName);
+            // The language server computes the snippet completion by itself when there is no
+            // completion participant
+            fileInfo.setJavaCompletionParticipants(!JavaFeaturesRegistry.getInstance().getJavaCompletionDefinitions().isEmpty());
             return fileInfo;
         }
         return null;
@@ -16,11 +16,10 @@ package org.eclipse.lsp4jakarta.jdt.core.java;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.internal.core.manipulation.dom.ASTResolving;
+import org.eclipse.lsp4jakarta.jdt.core.ASTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 
 /**
@@ -41,6 +40,8 @@ public abstract class AbstractJavaContext {
 
     private CompilationUnit fASTRoot;
 
+    private CompilationUnit fSyntaxASTRoot;
+
     public AbstractJavaContext(String uri, ITypeRoot typeRoot, IJDTUtils utils) {
         this.uri = uri;
         this.typeRoot = typeRoot;
@@ -92,13 +93,42 @@ public abstract class AbstractJavaContext {
         return cache.get(key);
     }
 
+    /**
+     * Returns the AST with resolved bindings of the compilation unit, computed
+     * once and shared by all the participants using this context. As with the
+     * quick fix AST, the statements and the bindings are recovered.
+     *
+     * @return the AST with resolved bindings of the compilation unit.
+     */
     public CompilationUnit getASTRoot() {
         if (fASTRoot == null) {
-            fASTRoot = ASTResolving.createQuickFixAST((ICompilationUnit) getTypeRoot(), null);
+            fASTRoot = ASTUtils.getAST(getTypeRoot(), true, null);
         }
         return fASTRoot;
     }
 
+    /**
+     * Returns the AST of the compilation unit.
+     *
+     * <p>
+     * When only the syntax is needed, the AST with resolved bindings is returned
+     * if it is already computed, otherwise an AST without bindings is parsed once.
+     * </p>
+     *
+     * @param resolveBindings true if the bindings must be resolved and false if
+     *            only the syntax is needed
+     * @return the AST of the compilation unit.
+     */
+    public CompilationUnit getASTRoot(boolean resolveBindings) {
+        if (resolveBindings || fASTRoot != null) {
+            return getASTRoot();
+        }
+        if (fSyntaxASTRoot == null) {
+            fSyntaxASTRoot = ASTUtils.getAST(getTypeRoot(), false, null);
+        }
+        return fSyntaxASTRoot;
+    }
+
     /**
      * @param root The ASTRoot to set.
      */
@@ -58,9 +58,32 @@ public interface IJavaDiagnosticsParticipant {
 
     }
 
+    /**
+     * Returns the visitor which collects the diagnostics while the compilation
+     * unit is walked once for all the participants, and null if the diagnostics
+     * must be collected with
+     * {@link #collectDiagnostics(JavaDiagnosticsContext, IProgressMonitor)}.
+     *
+     * @param context the java diagnostics context
+     * @param monitor the progress monitor
+     *
+     * @return the visitor which collects the diagnostics and null otherwise.
+     *
+     * @throws CoreException
+     */
+    default JavaDiagnosticsVisitor createDiagnosticsVisitor(JavaDiagnosticsContext context,
+                                                            IProgressMonitor monitor) throws CoreException {
+        return null;
+    }
+
     /**
      * Collect diagnostics according to the context.
      *
+     * <p>
+     * This method is not called when the participant provides a visitor with
+     * {@link #createDiagnosticsVisitor(JavaDiagnosticsContext, IProgressMonitor)}.
+     * </p>
+     *
      * @param context the java diagnostics context
      * @param monitor the progress monitor
      *
@@ -68,7 +91,9 @@ public interface IJavaDiagnosticsParticipant {
      *
      * @throws CoreException
      */
-    List<Diagnostic> collectDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException;
+    default List<Diagnostic> collectDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
+        return null;
+    }
 
     /**
      * End diagnostics collection.
@@ -15,7 +15,10 @@ package org.eclipse.lsp4jakarta.jdt.core.java.diagnostics;
 
 import java.util.Collections;
 
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
@@ -23,6 +26,7 @@ import org.eclipse.lsp4jakarta.commons.DocumentFormat;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsSettings;
 import org.eclipse.lsp4jakarta.jdt.core.java.AbstractJavaContext;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
 
 /**
  * Java diagnostics context for a given compilation unit.
@@ -36,6 +40,8 @@ public class JavaDiagnosticsContext extends AbstractJavaContext {
 
     private final JakartaJavaDiagnosticsSettings settings;
 
+    private JavaElementNameIndex nameIndex;
+
     public JavaDiagnosticsContext(String uri, ITypeRoot typeRoot, IJDTUtils utils, DocumentFormat documentFormat,
                                   JakartaJavaDiagnosticsSettings settings) {
         super(uri, typeRoot, utils);
@@ -62,6 +68,20 @@ public class JavaDiagnosticsContext extends AbstractJavaContext {
         return this.settings;
     }
 
+    /**
+     * Returns the index of the Java element names of the compilation unit, shared
+     * by all the participants of the validation pass.
+     *
+     * @return the index of the Java element names of the compilation unit.
+     */
+    public JavaElementNameIndex getNameIndex() {
+        if (nameIndex == null) {
+            ITypeRoot typeRoot = getTypeRoot();
+            nameIndex = new JavaElementNameIndex(typeRoot instanceof ICompilationUnit ? (ICompilationUnit) typeRoot : null);
+        }
+        return nameIndex;
+    }
+
     public Diagnostic createDiagnostic(String uri, String message, Range range, String source, IJavaErrorCode code) {
         return createDiagnostic(uri, message, range, source, code, DiagnosticSeverity.Warning);
     }
@@ -72,6 +92,29 @@ public class JavaDiagnosticsContext extends AbstractJavaContext {
 
     }
 
+    /**
+     * Creates a diagnostic on the name of the given Java element.
+     *
+     * <p>
+     * The name range of the Java element is converted to an LSP range only when
+     * the diagnostic is created, so participants don't compute the range of the
+     * Java elements which don't produce a diagnostic.
+     * </p>
+     *
+     * @param uri the document URI.
+     * @param message the diagnostic message.
+     * @param element the java field, type, method, annotation or local variable.
+     * @param source the diagnostic source.
+     * @param code the diagnostic code.
+     * @param severity the diagnostic severity.
+     * @return the diagnostic on the name of the given Java element.
+     * @throws JavaModelException
+     */
+    public Diagnostic createDiagnostic(String uri, String message, IJavaElement element, String source, IJavaErrorCode code,
+                                       DiagnosticSeverity severity) throws JavaModelException {
+        return createDiagnostic(uri, message, PositionUtils.toNameRange(element, getUtils()), source, null, code, severity);
+    }
+
     public Diagnostic createDiagnostic(String uri, String message, Range range, String source, Object data,
                                        IJavaErrorCode code,
                                        DiagnosticSeverity severity) {
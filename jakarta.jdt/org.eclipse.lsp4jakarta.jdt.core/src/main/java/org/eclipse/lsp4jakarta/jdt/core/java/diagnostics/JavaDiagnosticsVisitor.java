@@ -0,0 +1,160 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core.java.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IAnnotatable;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.lsp4j.Diagnostic;
+
+/**
+ * Java diagnostics visitor API.
+ *
+ * <p>
+ * A visitor is created by a {@link IJavaDiagnosticsParticipant} and is
+ * notified while the compilation unit is walked once for all the participants.
+ * For each type of the compilation unit the events are sent in this order:
+ * </p>
+ * <ul>
+ * <li>{@link #visit(IType)}</li>
+ * <li>{@link #visitAnnotation(IAnnotation, String, IAnnotatable)} for the
+ * annotations of the type</li>
+ * <li>{@link #visit(IMethod)} followed by the annotations of the method, if the
+ * visitor is interested in {@link IJavaElement#METHOD}</li>
+ * <li>{@link #visit(IField)} followed by the annotations of the field, if the
+ * visitor is interested in {@link IJavaElement#FIELD}</li>
+ * <li>{@link #endVisit(IType)}</li>
+ * </ul>
+ *
+ * <p>
+ * Only the annotations whose fully qualified name is returned by
+ * {@link #getAnnotationNames()} are sent to the visitor.
+ * </p>
+ */
+public abstract class JavaDiagnosticsVisitor {
+
+    private final JavaDiagnosticsContext context;
+
+    private final List<Diagnostic> diagnostics;
+
+    public JavaDiagnosticsVisitor(JavaDiagnosticsContext context) {
+        this.context = context;
+        this.diagnostics = new ArrayList<>();
+    }
+
+    /**
+     * Returns the java diagnostics context.
+     *
+     * @return the java diagnostics context.
+     */
+    public JavaDiagnosticsContext getContext() {
+        return context;
+    }
+
+    /**
+     * Returns the diagnostics collected by this visitor.
+     *
+     * @return the diagnostics collected by this visitor.
+     */
+    public List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Returns true if the members of the given kind must be sent to this visitor
+     * and false otherwise. Types are always sent.
+     *
+     * @param elementType {@link IJavaElement#METHOD} or {@link IJavaElement#FIELD}
+     * @return true if the members of the given kind must be sent to this visitor
+     *         and false otherwise.
+     */
+    public boolean isInterestedIn(int elementType) {
+        return false;
+    }
+
+    /**
+     * Returns the fully qualified names of the annotations which must be sent to
+     * this visitor.
+     *
+     * @return the fully qualified names of the annotations which must be sent to
+     *         this visitor.
+     */
+    public Set<String> getAnnotationNames() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Visit the given type.
+     *
+     * @param type the type
+     * @return true if the annotations and the members of the type must be visited
+     *         and false otherwise.
+     * @throws CoreException
+     */
+    public boolean visit(IType type) throws CoreException {
+        return true;
+    }
+
+    /**
+     * End visit of the given type, called once its annotations and members have
+     * been visited.
+     *
+     * @param type the type
+     * @throws CoreException
+     */
+    public void endVisit(IType type) throws CoreException {
+
+    }
+
+    /**
+     * Visit the given method.
+     *
+     * @param method the method
+     * @throws CoreException
+     */
+    public void visit(IMethod method) throws CoreException {
+
+    }
+
+    /**
+     * Visit the given field.
+     *
+     * @param field the field
+     * @throws CoreException
+     */
+    public void visit(IField field) throws CoreException {
+
+    }
+
+    /**
+     * Visit the given annotation.
+     *
+     * @param annotation the annotation
+     * @param annotationFQName the resolved fully qualified name of the annotation
+     * @param annotatable the annotated type, method or field
+     * @throws CoreException
+     */
+    public void visitAnnotation(IAnnotation annotation, String annotationFQName,
+                                IAnnotatable annotatable) throws CoreException {
+
+    }
+}
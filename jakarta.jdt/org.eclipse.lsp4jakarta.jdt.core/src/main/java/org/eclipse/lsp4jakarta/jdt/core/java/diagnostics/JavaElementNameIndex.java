@@ -0,0 +1,272 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core.java.diagnostics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
+
+/**
+ * Index of the Java element names of a compilation unit shared by all the
+ * diagnostics participants of a validation pass.
+ *
+ * <p>
+ * The imports of the compilation unit are read once and the results of
+ * {@link IType#resolveType(String)} are memoized, so matching a Java element
+ * name against a fully qualified name is done with hash lookups. The methods
+ * give the same results as the {@link DiagnosticUtils} methods of the same
+ * name, to which they delegate for types of other compilation units.
+ * </p>
+ *
+ * <p>
+ * The index also tells which packages (ex : "jakarta.websocket") the
+ * compilation unit can reference, so that the participants skip the
+ * compilation units which cannot use the annotations they validate.
+ * </p>
+ */
+@SuppressWarnings("restriction")
+public class JavaElementNameIndex {
+
+    private static final String UNRESOLVED = "";
+
+    private final ICompilationUnit unit;
+
+    // Fully qualified names of the single type imports
+    private Set<String> importedNames;
+
+    // Qualifiers of the on demand imports
+    private Set<String> importedQualifiers;
+
+    // Type handle and element name -> resolved fully qualified name
+    private final Map<String, String> resolvedNames;
+
+    // Package name -> true if the compilation unit references the package
+    private final Map<String, Boolean> referencedPackages;
+
+    public JavaElementNameIndex(ICompilationUnit unit) {
+        this.unit = unit;
+        this.resolvedNames = new HashMap<>();
+        this.referencedPackages = new HashMap<>();
+    }
+
+    /**
+     * Returns true if the compilation unit can reference a Java element of the
+     * given package or of one of its sub packages and false otherwise.
+     *
+     * <p>
+     * A Java element of another package is referenced through an import or a
+     * fully qualified name, so a package which doesn't appear in the source of
+     * the compilation unit is not referenced. The result is conservative: a
+     * package which appears in a comment is considered as referenced.
+     * </p>
+     *
+     * @param packageName the package name (ex : "jakarta.websocket").
+     * @return true if the compilation unit can reference a Java element of the
+     *         given package or of one of its sub packages and false otherwise.
+     */
+    public boolean isReferencedPackage(String packageName) throws JavaModelException {
+        if (unit == null) {
+            return true;
+        }
+        Boolean referenced = referencedPackages.get(packageName);
+        if (referenced == null) {
+            String source = unit.getSource();
+            referenced = source == null || containsPackageName(source, packageName);
+            referencedPackages.put(packageName, referenced);
+        }
+        return referenced;
+    }
+
+    private static boolean containsPackageName(String source, String packageName) {
+        int index = source.indexOf(packageName);
+        while (index != -1) {
+            int end = index + packageName.length();
+            if ((index == 0 || !isPackageNamePart(source.charAt(index - 1)))
+                && (end == source.length() || !Character.isJavaIdentifierPart(source.charAt(end)))) {
+                return true;
+            }
+            index = source.indexOf(packageName, end);
+        }
+        return false;
+    }
+
+    private static boolean isPackageNamePart(char c) {
+        return c == '.' || Character.isJavaIdentifierPart(c);
+    }
+
+    /**
+     * Returns true if the compilation unit imports the given Java element and
+     * false otherwise.
+     *
+     * @param javaElementFQName given Java element fully qualified name.
+     * @return true if the compilation unit imports the given Java element and
+     *         false otherwise.
+     */
+    public boolean isImportedJavaElement(String javaElementFQName) throws JavaModelException {
+        if (unit == null) {
+            return false;
+        }
+        if (importedNames == null) {
+            indexImports();
+        }
+        if (importedNames.contains(javaElementFQName)) {
+            return true;
+        }
+        int index = javaElementFQName.lastIndexOf('.');
+        return index != -1 && importedQualifiers.contains(javaElementFQName.substring(0, index));
+    }
+
+    /**
+     * Returns true if the java element name matches the given fully qualified java
+     * element name and false otherwise.
+     *
+     * @param type Java class.
+     * @param javaElementName Java element name.
+     * @param javaElementFQName the fully qualified Java element name.
+     * @return true if the java element name matches the given fully qualified java
+     *         element name and false otherwise.
+     */
+    public boolean isMatchedJavaElement(IType type, String javaElementName, String javaElementFQName) throws JavaModelException {
+        if (!isIndexed(type)) {
+            return DiagnosticUtils.isMatchedJavaElement(type, javaElementName, javaElementFQName);
+        }
+        if (DiagnosticUtils.nameEndsWith(javaElementFQName, javaElementName)) {
+            if (isImportedJavaElement(javaElementFQName)) {
+                return true;
+            }
+            // only check fully qualified java element
+            if (javaElementFQName.equals(javaElementName)) {
+                return javaElementFQName.equals(resolveType(type, javaElementName));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the given annotation matches the given annotation name and
+     * false otherwise.
+     *
+     * @param annotation given annotation object.
+     * @param annotationFQName the fully qualified annotation name.
+     * @return true if the given annotation matches the given annotation name and
+     *         false otherwise.
+     */
+    public boolean isMatchedAnnotation(IAnnotation annotation, String annotationFQName) throws JavaModelException {
+        String elementName = annotation.getElementName();
+        if (unit != null && DiagnosticUtils.nameEndsWith(annotationFQName, elementName)) {
+            if (isImportedJavaElement(annotationFQName)) {
+                return true;
+            }
+            // only check fully qualified annotations
+            if (annotationFQName.equals(elementName)) {
+                IJavaElement parent = annotation.getParent();
+                IType declaringType = (parent instanceof IType) ? (IType) parent : ((parent instanceof IMember) ? ((IMember) parent).getDeclaringType() : null);
+                if (declaringType != null) {
+                    return annotationFQName.equals(resolveType(declaringType, elementName));
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns matched Java element fully qualified name.
+     *
+     * @param type Java class.
+     * @param javaElementName Java element name
+     * @param javaElementFQNames given fully qualified name array.
+     * @return Matched fully qualified name and null otherwise.
+     */
+    public String getMatchedJavaElementName(IType type, String javaElementName, String[] javaElementFQNames) throws JavaModelException {
+        for (String fqName : javaElementFQNames) {
+            if (DiagnosticUtils.nameEndsWith(fqName, javaElementName)) {
+                // only check the first one for now
+                return isMatchedJavaElement(type, javaElementName, fqName) ? fqName : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns matched Java element fully qualified names.
+     *
+     * @param type the type representing the class
+     * @param javaElementNames Java element names
+     * @param javaElementFQNames given fully qualified name array
+     * @return matched Java element fully qualified names
+     */
+    public List<String> getMatchedJavaElementNames(IType type, String[] javaElementNames,
+                                                   String[] javaElementFQNames) {
+        List<String> matches = new ArrayList<>();
+        for (String fqName : javaElementFQNames) {
+            for (String name : javaElementNames) {
+                try {
+                    if (isMatchedJavaElement(type, name, fqName)) {
+                        matches.add(fqName);
+                        break;
+                    }
+                } catch (JavaModelException e) {
+                    JakartaCorePlugin.logException("Failed to get matched Java element FQ names", e);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private boolean isIndexed(IType type) {
+        return unit != null && unit.equals(type.getCompilationUnit());
+    }
+
+    private void indexImports() throws JavaModelException {
+        Set<String> names = new HashSet<>();
+        Set<String> qualifiers = new HashSet<>();
+        if (!unit.isOpen()) {
+            unit.open(null);
+        }
+        for (IImportDeclaration importDeclaration : unit.getImports()) {
+            String fqn = importDeclaration.getElementName();
+            if (importDeclaration.isOnDemand()) {
+                qualifiers.add(fqn.substring(0, fqn.lastIndexOf('.')));
+            } else {
+                names.add(fqn);
+            }
+        }
+        importedQualifiers = qualifiers;
+        importedNames = names;
+    }
+
+    private String resolveType(IType type, String javaElementName) throws JavaModelException {
+        String key = type.getHandleIdentifier() + '#' + javaElementName;
+        String resolvedName = resolvedNames.get(key);
+        if (resolvedName == null) {
+            String[][] fqName = type.resolveType(javaElementName); // the call could be expensive
+            resolvedName = fqName != null && fqName.length == 1 ? JavaModelUtil.concatenateName(fqName[0][0], fqName[0][1]) : UNRESOLVED;
+            resolvedNames.put(key, resolvedName);
+        }
+        return resolvedName;
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IBufferChangedListener;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Line start offsets of a buffer, used to convert an offset to a LSP position
+ * and a LSP position to an offset with a binary search.
+ *
+ * <p>
+ * The index is computed once per buffer content and shared by all the callers
+ * until the buffer changes. The conversions give the same results as the JDT LS
+ * <code>JsonRpcHelpers</code> and <code>JDTUtils.toRange</code> which copy the
+ * line information of the whole buffer on each call.
+ * </p>
+ */
+public class LineOffsetIndex {
+
+    private static final Map<IBuffer, LineOffsetIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Incremented when any indexed buffer changes
+    private static final AtomicLong BUFFER_CHANGES = new AtomicLong();
+
+    private static final IBufferChangedListener BUFFER_LISTENER = event -> {
+        BUFFER_CHANGES.incrementAndGet();
+        INDEXES.remove(event.getBuffer());
+    };
+
+    private final int[] lineStarts;
+
+    private final int length;
+
+    private LineOffsetIndex(int[] lineStarts, int length) {
+        this.lineStarts = lineStarts;
+        this.length = length;
+    }
+
+    /**
+     * Returns the line offset index of the buffer of the given openable and null
+     * if the openable has no buffer.
+     *
+     * @param openable the openable (compilation unit, class file).
+     * @return the line offset index of the buffer of the given openable and null
+     *         if the openable has no buffer.
+     * @throws JavaModelException
+     */
+    public static LineOffsetIndex getIndex(IOpenable openable) throws JavaModelException {
+        return getIndex(openable.getBuffer());
+    }
+
+    /**
+     * Returns the line offset index of the given buffer and null if the buffer is
+     * null.
+     *
+     * @param buffer the buffer.
+     * @return the line offset index of the given buffer and null if the buffer is
+     *         null.
+     */
+    public static LineOffsetIndex getIndex(IBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        LineOffsetIndex index = INDEXES.get(buffer);
+        if (index == null) {
+            long changes = BUFFER_CHANGES.get();
+            buffer.addBufferChangedListener(BUFFER_LISTENER);
+            String contents = buffer.getContents();
+            index = create(contents != null ? contents : "");
+            // Don't keep an index which may have been computed with the old content
+            if (changes == BUFFER_CHANGES.get() && !buffer.isClosed()) {
+                INDEXES.put(buffer, index);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the line offset index of the given text.
+     *
+     * @param text the text.
+     * @return the line offset index of the given text.
+     */
+    public static LineOffsetIndex create(String text) {
+        int[] lineStarts = new int[16];
+        int lines = 1;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                i++;
+            } else if (c != '\r' && c != '\n') {
+                continue;
+            }
+            if (lines == lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+            }
+            lineStarts[lines++] = i + 1;
+        }
+        return new LineOffsetIndex(Arrays.copyOf(lineStarts, lines), length);
+    }
+
+    /**
+     * Returns the number of lines.
+     *
+     * @return the number of lines.
+     */
+    public int getNumberOfLines() {
+        return lineStarts.length;
+    }
+
+    /**
+     * Returns the offset of the given line and column and -1 if the line doesn't
+     * exist.
+     *
+     * @param line the line.
+     * @param column the column.
+     * @return the offset of the given line and column and -1 if the line doesn't
+     *         exist.
+     */
+    public int toOffset(int line, int column) {
+        if (line < 0 || line >= lineStarts.length) {
+            return -1;
+        }
+        return lineStarts[line] + column;
+    }
+
+    /**
+     * Returns the line and the column of the given offset and null if the offset
+     * is outside of the text.
+     *
+     * @param offset the offset.
+     * @return the line and the column of the given offset and null if the offset
+     *         is outside of the text.
+     */
+    public int[] toLine(int offset) {
+        if (offset < 0 || offset > length) {
+            return null;
+        }
+        int line = Arrays.binarySearch(lineStarts, offset);
+        if (line < 0) {
+            // offset is inside the line which starts before the insertion point
+            line = -line - 2;
+        }
+        return new int[] { line, offset - lineStarts[line] };
+    }
+
+    /**
+     * Returns the LSP position of the given offset and null if the offset is
+     * outside of the text.
+     *
+     * @param offset the offset.
+     * @return the LSP position of the given offset and null if the offset is
+     *         outside of the text.
+     */
+    public Position toPosition(int offset) {
+        int[] loc = toLine(offset);
+        return loc != null ? new Position(loc[0], loc[1]) : null;
+    }
+
+    /**
+     * Returns the LSP range of the given offset and length.
+     *
+     * @param offset the offset.
+     * @param length the length.
+     * @return the LSP range of the given offset and length.
+     */
+    public Range toRange(int offset, int length) {
+        Range range = new Range(new Position(), new Position());
+        if (offset > 0 || length > 0) {
+            int[] loc = toLine(offset);
+            int[] endLoc = toLine(offset + length);
+            if (loc != null) {
+                range.getStart().setLine(loc[0]);
+                range.getStart().setCharacter(loc[1]);
+            }
+            if (endLoc != null) {
+                range.getEnd().setLine(endLoc[0]);
+                range.getEnd().setCharacter(endLoc[1]);
+            }
+        }
+        return range;
+    }
+}
@@ -15,10 +15,12 @@ package org.eclipse.lsp4jakarta.jdt.core.utils;
 
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Range;
@@ -100,4 +102,30 @@ public class PositionUtils {
         ISourceRange sourceRange = localVariable.getNameRange();
         return utils.toRange(openable, sourceRange.getOffset(), sourceRange.getLength());
     }
+
+    /**
+     * Returns the LSP range for the given Java element name.
+     *
+     * @param element the java field, type, method, annotation or local variable.
+     * @param utils the JDT utilities.
+     * @return the LSP range for the given Java element name.
+     * @throws JavaModelException
+     */
+    public static Range toNameRange(IJavaElement element, IJDTUtils utils) throws JavaModelException {
+        switch (element.getElementType()) {
+            case IJavaElement.FIELD:
+                return toNameRange((IField) element, utils);
+            case IJavaElement.TYPE:
+                return toNameRange((IType) element, utils);
+            case IJavaElement.METHOD:
+                return toNameRange((IMethod) element, utils);
+            case IJavaElement.ANNOTATION:
+                return toNameRange((IAnnotation) element, utils);
+            case IJavaElement.LOCAL_VARIABLE:
+                return toNameRange((ILocalVariable) element, utils);
+            default:
+                ISourceRange sourceRange = ((ISourceReference) element).getNameRange();
+                return utils.toRange(element.getOpenable(), sourceRange.getOffset(), sourceRange.getLength());
+        }
+    }
 }
@@ -18,7 +18,6 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
@@ -26,13 +25,15 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
-import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.lsp4jakarta.jdt.internal.core.TypeHierarchyCache;
 
 /**
  * This class provides type hierarchy utilities for checking the
  * type hierarchy of {@code IType}.
+ *
+ * The supertype hierarchies and the known type declarations are cached in
+ * {@link TypeHierarchyCache} until a Java element change invalidates them.
  */
-@SuppressWarnings("restriction")
 public class TypeHierarchyUtils {
 
     /**
@@ -52,11 +53,10 @@ public class TypeHierarchyUtils {
             return 1;
         }
 
-        ITypeHierarchy typeHierarchy = type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, null);
         int r = 0;
 
         // Check if the type's supertypes contain the superType
-        IType[] parents = typeHierarchy.getAllSupertypes(type);
+        IType[] parents = TypeHierarchyCache.getInstance().getAllSupertypes(type);
         for (IType parentType : parents) {
             if (parentType.getElementName().equals(superType)) {
                 r = 1;
@@ -71,7 +71,9 @@ public class TypeHierarchyUtils {
         if (r == 0) {
             boolean unknown = false;
             for (IType parentType : parents) {
-                if (!parentType.getFullyQualifiedName().startsWith("java.") && !hasKnownDeclaration(parentType)) {
+                if (!parentType.getFullyQualifiedName().startsWith("java.")
+                    && !TypeHierarchyCache.getInstance().hasKnownDeclaration(parentType.getJavaProject(), parentType.getElementName(),
+                                                                             TypeHierarchyUtils::hasKnownDeclaration)) {
                     unknown = true;
                     break;
                 }
@@ -83,14 +85,13 @@ public class TypeHierarchyUtils {
         return r;
     }
 
-    private static boolean hasKnownDeclaration(IType type) throws CoreException {
-        String typeName = type.getElementName();
+    private static boolean hasKnownDeclaration(IJavaProject javaProject, String typeName) throws CoreException {
         final AtomicInteger references = new AtomicInteger(0);
         SearchEngine engine = new SearchEngine();
         SearchPattern pattern = SearchPattern.createPattern(typeName, IJavaSearchConstants.CLASS,
                                                             IJavaSearchConstants.DECLARATIONS, SearchPattern.R_EXACT_MATCH);
         engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-                      createSearchScope(type.getJavaProject()), new SearchRequestor() {
+                      createSearchScope(javaProject), new SearchRequestor() {
 
                           @Override
                           public void acceptSearchMatch(SearchMatch match) throws CoreException {
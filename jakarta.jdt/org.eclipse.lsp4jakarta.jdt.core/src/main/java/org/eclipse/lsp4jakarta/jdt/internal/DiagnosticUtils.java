@@ -17,7 +17,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
@@ -27,10 +26,10 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
+import org.eclipse.lsp4jakarta.jdt.internal.core.TypeHierarchyCache;
 
 /**
  *
@@ -194,8 +193,7 @@ public class DiagnosticUtils {
 
         // check super hierarchy
         if (interfaceNames.length > 0) { // the type implements interface(s)
-            ITypeHierarchy typeHierarchy = type.newSupertypeHierarchy(new NullProgressMonitor());
-            IType[] interfaces = typeHierarchy.getAllInterfaces();
+            IType[] interfaces = TypeHierarchyCache.getInstance().getAllInterfaces(type);
             for (IType interfase : interfaces) {
                 String fqName = interfase.getFullyQualifiedName();
                 if (Stream.of(interfaceFQNames).anyMatch(name -> fqName.equals(name)) == true)
@@ -254,7 +252,7 @@ public class DiagnosticUtils {
      * @return true if the given fully qualified name ends with the given name and
      *         false otherwise
      */
-    protected static boolean nameEndsWith(String fqName, String name) {
+    public static boolean nameEndsWith(String fqName, String name) {
         // add a prefix '.' to simple name
         // e.g. 'jakarta.validation.constraints.DecimalMin' should NOT end with 'Min'
         // here
@@ -38,7 +38,6 @@ import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsPartici
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
-import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
@@ -122,7 +121,7 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                 IAnnotatable element = annotatable.getSecond();
 
                 // process Types? (class declarations)
-                if (DiagnosticUtils.isMatchedAnnotation(unit, annotation, Constants.GENERATED_FQ_NAME)) {
+                if (context.getNameIndex().isMatchedAnnotation(annotation, Constants.GENERATED_FQ_NAME)) {
                     for (IMemberValuePair pair : annotation.getMemberValuePairs()) {
                         // If date element exists and is non-empty, it must follow ISO 8601 format.
                         if (pair.getMemberName().equals("date")) {
@@ -145,11 +144,10 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                             }
                         }
                     }
-                } else if (DiagnosticUtils.isMatchedAnnotation(unit, annotation, Constants.RESOURCE_FQ_NAME)) {
+                } else if (context.getNameIndex().isMatchedAnnotation(annotation, Constants.RESOURCE_FQ_NAME)) {
                     if (element instanceof IType) {
                         IType type = (IType) element;
                         if (type.getElementType() == IJavaElement.TYPE && ((IType) type).isClass()) {
-                            Range annotationRange = PositionUtils.toNameRange(annotation, context.getUtils());
                             Boolean nameEmpty = true;
                             Boolean typeEmpty = true;
                             for (IMemberValuePair pair : annotation.getMemberValuePairs()) {
@@ -164,7 +162,7 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                             if (nameEmpty) {
                                 diagnosticMessage = Messages.getMessage("AnnotationMustDefineAttribute",
                                                                         "@Resource", "name");
-                                diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, annotationRange,
+                                diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, annotation,
                                                                          Constants.DIAGNOSTIC_SOURCE,
                                                                          ErrorCode.MissingResourceNameAttribute,
                                                                          DiagnosticSeverity.Error));
@@ -173,14 +171,14 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                             if (typeEmpty) {
                                 diagnosticMessage = Messages.getMessage("AnnotationMustDefineAttribute",
                                                                         "@Resource", "type");
-                                diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, annotationRange,
+                                diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, annotation,
                                                                          Constants.DIAGNOSTIC_SOURCE,
                                                                          ErrorCode.MissingResourceTypeAttribute,
                                                                          DiagnosticSeverity.Error));
                             }
                         }
                     }
-                } else if (DiagnosticUtils.isMatchedAnnotation(unit, annotation, Constants.RESOURCES_FQ_NAME)) {
+                } else if (context.getNameIndex().isMatchedAnnotation(annotation, Constants.RESOURCES_FQ_NAME)) {
                     if (element instanceof IType) {
                         for (IMemberValuePair internalAnnotation : annotation.getMemberValuePairs()) {
                             Object[] valuePairs = (Object[]) internalAnnotation.getValue();
@@ -199,8 +197,8 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                             for (Object childAnnotationObj : valuePairs) {
                                 if (objKind == IMemberValuePair.K_ANNOTATION) {
                                     IAnnotation childAnnotation = (IAnnotation) childAnnotationObj;
-                                    if (DiagnosticUtils.isMatchedAnnotation(unit, childAnnotation,
-                                                                            Constants.RESOURCE_FQ_NAME)) {
+                                    if (context.getNameIndex().isMatchedAnnotation(childAnnotation,
+                                                                                   Constants.RESOURCE_FQ_NAME)) {
                                         if (element instanceof IType) {
                                             IType type = (IType) element;
                                             if (type.getElementType() == IJavaElement.TYPE
@@ -248,16 +246,15 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                 }
 
                 // process methods now?
-                if (DiagnosticUtils.isMatchedAnnotation(unit, annotation, Constants.POST_CONSTRUCT_FQ_NAME)) {
+                if (context.getNameIndex().isMatchedAnnotation(annotation, Constants.POST_CONSTRUCT_FQ_NAME)) {
                     if (element instanceof IMethod) {
                         IMethod method = (IMethod) element;
-                        Range methodRange = PositionUtils.toNameRange(method, context.getUtils());
 
                         if (method.getNumberOfParameters() != 0) {
 
                             String diagnosticMessage = Messages.getMessage("MethodMustNotHaveParameters",
                                                                            "@PostConstruct");
-                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, methodRange,
+                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, method,
                                                                      Constants.DIAGNOSTIC_SOURCE,
                                                                      ErrorCode.PostConstructParams,
                                                                      DiagnosticSeverity.Error));
@@ -266,7 +263,7 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                         if (!method.getReturnType().equals("V")) {
                             String diagnosticMessage = Messages.getMessage("MethodMustBeVoid",
                                                                            "@PostConstruct");
-                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, methodRange,
+                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, method,
                                                                      Constants.DIAGNOSTIC_SOURCE,
                                                                      ErrorCode.PostConstructReturnType,
                                                                      DiagnosticSeverity.Error));
@@ -275,22 +272,21 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                         if (method.getExceptionTypes().length != 0) {
                             String diagnosticMessage = Messages.getMessage("MethodMustNotThrow",
                                                                            "@PostConstruct");
-                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, methodRange,
+                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, method,
                                                                      Constants.DIAGNOSTIC_SOURCE,
                                                                      ErrorCode.PostConstructException,
                                                                      DiagnosticSeverity.Warning));
                         }
                     }
-                } else if (DiagnosticUtils.isMatchedAnnotation(unit, annotation,
-                                                               Constants.PRE_DESTROY_FQ_NAME)) {
+                } else if (context.getNameIndex().isMatchedAnnotation(annotation,
+                                                                      Constants.PRE_DESTROY_FQ_NAME)) {
                     if (element instanceof IMethod) {
                         IMethod method = (IMethod) element;
-                        Range methodRange = PositionUtils.toNameRange(method, context.getUtils());
 
                         if (method.getNumberOfParameters() != 0) {
                             String diagnosticMessage = Messages.getMessage("MethodMustNotHaveParameters",
                                                                            "@PreDestroy");
-                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, methodRange,
+                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, method,
                                                                      Constants.DIAGNOSTIC_SOURCE,
                                                                      ErrorCode.PreDestroyParams,
                                                                      DiagnosticSeverity.Error));
@@ -299,7 +295,7 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                         if (Flags.isStatic(method.getFlags())) {
                             String diagnosticMessage = Messages.getMessage("MethodMustNotBeStatic",
                                                                            "@PreDestroy");
-                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, methodRange,
+                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, method,
                                                                      Constants.DIAGNOSTIC_SOURCE,
                                                                      ErrorCode.PreDestroyStatic,
                                                                      DiagnosticSeverity.Error));
@@ -308,7 +304,7 @@ public class AnnotationDiagnosticsParticipant implements IJavaDiagnosticsPartici
                         if (method.getExceptionTypes().length != 0) {
                             String diagnosticMessage = Messages.getMessage("MethodMustNotThrow",
                                                                            "@PreDestroy");
-                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, methodRange,
+                            diagnostics.add(context.createDiagnostic(uri, diagnosticMessage, method,
                                                                      Constants.DIAGNOSTIC_SOURCE,
                                                                      ErrorCode.PreDestroyException,
                                                                      DiagnosticSeverity.Warning));
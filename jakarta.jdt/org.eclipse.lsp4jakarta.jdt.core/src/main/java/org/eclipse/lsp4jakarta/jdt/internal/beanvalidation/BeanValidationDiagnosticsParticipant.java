@@ -66,7 +66,6 @@ import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsPartici
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
-import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
@@ -101,9 +100,9 @@ public class BeanValidationDiagnosticsParticipant implements IJavaDiagnosticsPar
             for (IField field : allFields) {
                 annotations = field.getAnnotations();
                 for (IAnnotation annotation : annotations) {
-                    String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                         annotation.getElementName(),
-                                                                                         SET_OF_ANNOTATIONS.toArray(new String[0]));
+                    String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                annotation.getElementName(),
+                                                                                                SET_OF_ANNOTATIONS.toArray(new String[0]));
                     if (matchedAnnotation != null) {
                         Range range = PositionUtils.toNameRange(field, context.getUtils());
                         validAnnotation(context, uri, field, range, annotation, matchedAnnotation, diagnostics);
@@ -114,9 +113,9 @@ public class BeanValidationDiagnosticsParticipant implements IJavaDiagnosticsPar
             for (IMethod method : allMethods) {
                 annotations = method.getAnnotations();
                 for (IAnnotation annotation : annotations) {
-                    String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                         annotation.getElementName(),
-                                                                                         SET_OF_ANNOTATIONS.toArray(new String[0]));
+                    String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                annotation.getElementName(),
+                                                                                                SET_OF_ANNOTATIONS.toArray(new String[0]));
                     if (matchedAnnotation != null) {
                         Range range = PositionUtils.toNameRange(method, context.getUtils());
                         validAnnotation(context, uri, method, range, annotation, matchedAnnotation, diagnostics);
@@ -182,8 +181,8 @@ public class BeanValidationDiagnosticsParticipant implements IJavaDiagnosticsPar
                 } else if (matchedAnnotation.equals(FUTURE) || matchedAnnotation.equals(FUTURE_OR_PRESENT)
                            || matchedAnnotation.equals(PAST) || matchedAnnotation.equals(PAST_OR_PRESENT)) {
                     String dataType = getDataTypeName(type);
-                    String dataTypeFQName = DiagnosticUtils.getMatchedJavaElementName(declaringType, dataType,
-                                                                                      SET_OF_DATE_TYPES.toArray(new String[0]));
+                    String dataTypeFQName = context.getNameIndex().getMatchedJavaElementName(declaringType, dataType,
+                                                                                             SET_OF_DATE_TYPES.toArray(new String[0]));
                     if (dataTypeFQName == null) {
                         String message = isMethod ? Messages.getMessage("AnnotationDateMethods", "@" + annotationName) : Messages.getMessage("AnnotationDateFields",
                                                                                                                                              "@" + annotationName);
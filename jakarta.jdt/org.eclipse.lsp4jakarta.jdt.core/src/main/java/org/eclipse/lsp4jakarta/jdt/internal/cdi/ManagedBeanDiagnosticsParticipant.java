@@ -62,9 +62,9 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
         IType[] types = unit.getAllTypes();
         String[] scopeFQNames = Constants.SCOPE_FQ_NAMES.toArray(String[]::new);
         for (IType type : types) {
-            List<String> managedBeanAnnotations = DiagnosticUtils.getMatchedJavaElementNames(type,
-                                                                                             Stream.of(type.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
-                                                                                             scopeFQNames);
+            List<String> managedBeanAnnotations = context.getNameIndex().getMatchedJavaElementNames(type,
+                                                                                                    Stream.of(type.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
+                                                                                                    scopeFQNames);
             boolean isManagedBean = managedBeanAnnotations.size() > 0;
 
             if (managedBeanAnnotations.size() > 1) {
@@ -83,8 +83,8 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
             for (IField field : fields) {
                 int fieldFlags = field.getFlags();
                 String[] annotationNames = Stream.of(field.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new);
-                List<String> fieldScopes = DiagnosticUtils.getMatchedJavaElementNames(type, annotationNames,
-                                                                                      scopeFQNames);
+                List<String> fieldScopes = context.getNameIndex().getMatchedJavaElementNames(type, annotationNames,
+                                                                                             scopeFQNames);
 
                 // If a managed bean has a non-static public field, it must have
                 // scope @Dependent. If a managed bean with a non-static public field declares
@@ -108,8 +108,8 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
                 // treats it as a definition error.
                 //
                 // Here we only look at the fields.
-                List<String> fieldInjects = DiagnosticUtils.getMatchedJavaElementNames(type, annotationNames,
-                                                                                       injectAnnotations);
+                List<String> fieldInjects = context.getNameIndex().getMatchedJavaElementNames(type, annotationNames,
+                                                                                              injectAnnotations);
                 boolean isProducerField = false, isInjectField = false;
                 for (String annotation : fieldInjects) {
                     if (Constants.PRODUCES_FQ_NAME.equals(annotation))
@@ -172,10 +172,10 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
                 //
                 // Here we only look at the methods.
                 String[] annotationNames = Stream.of(method.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new);
-                List<String> methodScopes = DiagnosticUtils.getMatchedJavaElementNames(type, annotationNames,
-                                                                                       scopeFQNames);
-                List<String> methodInjects = DiagnosticUtils.getMatchedJavaElementNames(type, annotationNames,
-                                                                                        injectAnnotations);
+                List<String> methodScopes = context.getNameIndex().getMatchedJavaElementNames(type, annotationNames,
+                                                                                              scopeFQNames);
+                List<String> methodInjects = context.getNameIndex().getMatchedJavaElementNames(type, annotationNames,
+                                                                                               injectAnnotations);
                 boolean isProducerMethod = false, isInjectMethod = false;
                 for (String annotation : methodInjects) {
                     if (Constants.PRODUCES_FQ_NAME.equals(annotation))
@@ -240,8 +240,8 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
                     boolean hasParameterizedInjectConstructor = false;
                     // look up '@Inject' annotation
                     for (IAnnotation annotation : annotations) {
-                        if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                                 Constants.INJECT_FQ_NAME)) {
+                        if (context.getNameIndex().isMatchedJavaElement(type, annotation.getElementName(),
+                                                                        Constants.INJECT_FQ_NAME)) {
                             hasParameterizedInjectConstructor = true;
                             break;
                         }
@@ -314,9 +314,9 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
                     for (ILocalVariable param : params) {
                         IAnnotation[] annotations = param.getAnnotations();
                         for (IAnnotation annotation : annotations) {
-                            String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                                 annotation.getElementName(),
-                                                                                                 Constants.INVALID_PRODUCER_PARAMS_FQ);
+                            String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                        annotation.getElementName(),
+                                                                                                        Constants.INVALID_PRODUCER_PARAMS_FQ);
                             if (Constants.DISPOSES_FQ_NAME.equals(matchedAnnotation)) {
                                 numDisposes++;
                             } else if (Constants.OBSERVES_FQ_NAME.equals(matchedAnnotation)
@@ -358,7 +358,7 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
             IAnnotation targetAnnotation = null;
 
             for (IAnnotation annotation : method.getAnnotations()) {
-                if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(), target)) {
+                if (context.getNameIndex().isMatchedJavaElement(type, annotation.getElementName(), target)) {
                     targetAnnotation = annotation;
                     break;
                 }
@@ -374,13 +374,13 @@ public class ManagedBeanDiagnosticsParticipant implements IJavaDiagnosticsPartic
                 List<String> paramScopes;
                 // look at the params of any method annotated @Produces - check for invalid parameter annotations
                 if (Constants.PRODUCES_FQ_NAME.equals(target)) {
-                    paramScopes = DiagnosticUtils.getMatchedJavaElementNames(type,
-                                                                             Stream.of(param.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
-                                                                             Constants.INVALID_PRODUCER_PARAMS_FQ);
+                    paramScopes = context.getNameIndex().getMatchedJavaElementNames(type,
+                                                                                    Stream.of(param.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
+                                                                                    Constants.INVALID_PRODUCER_PARAMS_FQ);
                 } else { // look at the params of any method annotated @Inject - check for invalid parameter annotations
-                    paramScopes = DiagnosticUtils.getMatchedJavaElementNames(type,
-                                                                             Stream.of(param.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
-                                                                             Constants.INVALID_INITIALIZER_PARAMS_FQ);
+                    paramScopes = context.getNameIndex().getMatchedJavaElementNames(type,
+                                                                                    Stream.of(param.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
+                                                                                    Constants.INVALID_INITIALIZER_PARAMS_FQ);
                 }
                 for (String annotation : paramScopes) {
                     invalidAnnotations.add("@" + DiagnosticUtils.getSimpleName(annotation));
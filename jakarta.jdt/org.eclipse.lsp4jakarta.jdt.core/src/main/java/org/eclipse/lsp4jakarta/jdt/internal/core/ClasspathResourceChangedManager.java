@@ -0,0 +1,244 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4jakarta.commons.JakartaClasspathChangedEvent;
+import org.eclipse.lsp4jakarta.jdt.core.IClasspathChangedListener;
+import org.eclipse.lsp4jakarta.jdt.core.utils.JDTJakartaUtils;
+
+/**
+ * Tracks classpath and build file (pom.xml, build.gradle) changes of the
+ * workspace projects.
+ *
+ * Each change increments a classpath generation stamp which is stored in the
+ * computed project labels, and the impacted project URIs are sent to the
+ * registered {@link IClasspathChangedListener} to evict the stale project
+ * labels cached on the language server side.
+ *
+ * Based on:
+ * https://github.com/eclipse/lsp4mp/blob/0.9.0/microprofile.jdt/org.eclipse.lsp4mp.jdt.core/src/main/java/org/eclipse/lsp4mp/jdt/internal/core/ClasspathResourceChangedManager.java
+ */
+public class ClasspathResourceChangedManager {
+
+    private static final Logger LOGGER = Logger.getLogger(ClasspathResourceChangedManager.class.getName());
+
+    private static final ClasspathResourceChangedManager INSTANCE = new ClasspathResourceChangedManager();
+
+    private static final Set<String> BUILD_FILE_NAMES = Set.of("pom.xml", "build.gradle", "build.gradle.kts");
+
+    private static final long NOTIFICATION_DELAY_MS = 200;
+
+    public static ClasspathResourceChangedManager getInstance() {
+        return INSTANCE;
+    }
+
+    private final AtomicLong generation;
+
+    private final ListenerList<IClasspathChangedListener> listeners;
+
+    private final ClasspathChangedListener classpathChangedListener;
+
+    private final ClasspathChangedNotifier notifier;
+
+    private boolean initialized;
+
+    private ClasspathResourceChangedManager() {
+        generation = new AtomicLong();
+        listeners = new ListenerList<>();
+        classpathChangedListener = new ClasspathChangedListener();
+        notifier = new ClasspathChangedNotifier();
+    }
+
+    /**
+     * Listener which collects projects whose classpath or build file changed.
+     */
+    private class ClasspathChangedListener implements IElementChangedListener, IResourceChangeListener {
+
+        @Override
+        public void elementChanged(ElementChangedEvent event) {
+            Set<IProject> projects = new HashSet<>();
+            collectProjects(event.getDelta(), projects);
+            if (!projects.isEmpty()) {
+                notifier.addProjects(projects);
+            }
+        }
+
+        private void collectProjects(IJavaElementDelta delta, Set<IProject> projects) {
+            IJavaElement element = delta.getElement();
+            switch (element.getElementType()) {
+                case IJavaElement.JAVA_MODEL:
+                    for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                        collectProjects(child, projects);
+                    }
+                    break;
+                case IJavaElement.JAVA_PROJECT:
+                    if (delta.getKind() != IJavaElementDelta.CHANGED
+                        || (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED
+                                                | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+                        projects.add(element.getJavaProject().getProject());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void resourceChanged(IResourceChangeEvent event) {
+            IResourceDelta delta = event.getDelta();
+            if (delta == null) {
+                return;
+            }
+            Set<IProject> projects = new HashSet<>();
+            try {
+                delta.accept(resourceDelta -> {
+                    IResource resource = resourceDelta.getResource();
+                    switch (resource.getType()) {
+                        case IResource.ROOT:
+                        case IResource.PROJECT:
+                            return true;
+                        case IResource.FILE:
+                            if (BUILD_FILE_NAMES.contains(resource.getName())
+                                && resource.getParent().getType() == IResource.PROJECT) {
+                                projects.add(resource.getProject());
+                            }
+                            return false;
+                        default:
+                            return false;
+                    }
+                });
+            } catch (CoreException e) {
+                LOGGER.log(Level.SEVERE, "Error while processing build file changes", e);
+            }
+            if (!projects.isEmpty()) {
+                notifier.addProjects(projects);
+            }
+        }
+    }
+
+    /**
+     * Job which coalesces the classpath changes received in a short period of
+     * time, increments the classpath generation and notifies the listeners.
+     */
+    private class ClasspathChangedNotifier extends Job {
+
+        private final Set<IProject> pendingProjects;
+
+        public ClasspathChangedNotifier() {
+            super("Jakarta classpath changed notifier");
+            setSystem(true);
+            pendingProjects = new HashSet<>();
+        }
+
+        public void addProjects(Set<IProject> projects) {
+            synchronized (pendingProjects) {
+                pendingProjects.addAll(projects);
+            }
+            // Update the generation immediately to mark project labels computed
+            // concurrently with this change as stale.
+            generation.incrementAndGet();
+            schedule(NOTIFICATION_DELAY_MS);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            Set<String> projectURIs = new HashSet<>();
+            synchronized (pendingProjects) {
+                for (IProject project : pendingProjects) {
+                    if (project.getLocation() != null) {
+                        projectURIs.add(JDTJakartaUtils.getProjectURI(project));
+                    }
+                }
+                pendingProjects.clear();
+            }
+            if (projectURIs.isEmpty()) {
+                return Status.OK_STATUS;
+            }
+            JakartaClasspathChangedEvent event = new JakartaClasspathChangedEvent(projectURIs, generation.get());
+            for (IClasspathChangedListener listener : listeners) {
+                try {
+                    listener.classpathChanged(event);
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error while sending the Jakarta classpath changed event", e);
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    /**
+     * Start tracking the classpath and build file changes.
+     */
+    public synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        JavaCore.addElementChangedListener(classpathChangedListener, ElementChangedEvent.POST_CHANGE);
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(classpathChangedListener,
+                                                                 IResourceChangeEvent.POST_CHANGE);
+        initialized = true;
+    }
+
+    /**
+     * Stop tracking the classpath and build file changes.
+     */
+    public synchronized void destroy() {
+        if (!initialized) {
+            return;
+        }
+        JavaCore.removeElementChangedListener(classpathChangedListener);
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(classpathChangedListener);
+        notifier.cancel();
+        initialized = false;
+    }
+
+    /**
+     * Returns the current classpath generation stamp.
+     *
+     * @return the current classpath generation stamp.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public void addClasspathChangedListener(IClasspathChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeClasspathChangedListener(IClasspathChangedListener listener) {
+        listeners.remove(listener);
+    }
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core;
+
+/**
+ * Listener notified with the kinds of the Java model changes classified by
+ * {@link JavaModelChangeManager}.
+ */
+public interface IJavaModelChangedListener {
+
+    /**
+     * Notifies the kinds of a Java model change.
+     *
+     * @param kinds the change kinds, a combination of
+     *            {@link JavaModelChangeManager#CLASSPATH},
+     *            {@link JavaModelChangeManager#TYPES},
+     *            {@link JavaModelChangeManager#MEMBERS} and
+     *            {@link JavaModelChangeManager#BODIES}.
+     */
+    void javaModelChanged(int kinds);
+}
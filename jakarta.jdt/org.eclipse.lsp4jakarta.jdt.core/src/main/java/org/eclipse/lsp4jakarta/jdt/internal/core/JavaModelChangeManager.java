@@ -0,0 +1,394 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Tracks the Java element changes for the caches of the Java model (type
+ * hierarchies, bean types, diagnostics...).
+ *
+ * <p>
+ * Each Java element delta is classified once into change kinds
+ * ({@link #CLASSPATH}, {@link #TYPES}, {@link #MEMBERS}, {@link #BODIES}). The
+ * kinds are sent to the registered {@link IJavaModelChangedListener}, which
+ * clear the caches depending on them, and are counted with generation stamps
+ * for all the projects and per project. The structural changes of a project
+ * also increment the generations of the projects which require it.
+ * </p>
+ */
+public class JavaModelChangeManager {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaModelChangeManager.class.getName());
+
+    private static final JavaModelChangeManager INSTANCE = new JavaModelChangeManager();
+
+    /**
+     * The classpath of a project changed, or a project was opened or closed.
+     */
+    public static final int CLASSPATH = 1;
+
+    /**
+     * Types or compilation units added or removed, super types or modifiers of a
+     * type changed, imports or package declarations changed, or changes of a
+     * compilation unit which are unknown (coarse grained delta).
+     */
+    public static final int TYPES = 1 << 1;
+
+    /**
+     * Members added or removed, or annotations or modifiers of a member changed,
+     * or annotations of a type or a package changed.
+     */
+    public static final int MEMBERS = 1 << 2;
+
+    /**
+     * Changes which stay in method bodies, field initializers, initializers or
+     * comments.
+     */
+    public static final int BODIES = 1 << 3;
+
+    public static final int ALL = CLASSPATH | TYPES | MEMBERS | BODIES;
+
+    private static final int KIND_COUNT = 4;
+
+    private static final int PROJECT_CHANGED_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED
+                                                     | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+                                                     | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+                                                     | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+                                                     | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+                                                     | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+    private static final String PACKAGE_INFO_JAVA = "package-info.java";
+
+    public static JavaModelChangeManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Change kinds collected from a Java element delta tree.
+     */
+    private static class ChangeCollector {
+
+        // Changes of the Java model itself, they affect all the projects
+        private int modelKinds;
+
+        // Java project name -> change kinds
+        private final Map<String, Integer> projectKinds = new HashMap<>();
+
+        private int getKinds() {
+            int kinds = modelKinds;
+            for (int projectKind : projectKinds.values()) {
+                kinds |= projectKind;
+            }
+            return kinds;
+        }
+    }
+
+    // change kind index -> generation for all the projects
+    private final AtomicLongArray generations;
+
+    // Java project name -> change kind index -> generation
+    private final Map<String, AtomicLongArray> projectGenerations;
+
+    private final ListenerList<IJavaModelChangedListener> listeners;
+
+    private final IElementChangedListener listener;
+
+    private volatile boolean initialized;
+
+    private JavaModelChangeManager() {
+        generations = new AtomicLongArray(KIND_COUNT);
+        projectGenerations = new ConcurrentHashMap<>();
+        listeners = new ListenerList<>();
+        listener = this::elementChanged;
+    }
+
+    /**
+     * Start tracking the Java element changes.
+     */
+    public synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        JavaCore.addElementChangedListener(listener,
+                                           ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+        initialized = true;
+    }
+
+    /**
+     * Stop tracking the Java element changes. The listeners are notified that
+     * everything changed, so that they clear their caches.
+     */
+    public synchronized void destroy() {
+        if (!initialized) {
+            return;
+        }
+        JavaCore.removeElementChangedListener(listener);
+        initialized = false;
+        increment(generations, ALL);
+        projectGenerations.values().forEach(projectGeneration -> increment(projectGeneration, ALL));
+        fireJavaModelChanged(ALL);
+    }
+
+    /**
+     * Returns true if the Java element changes are tracked and false otherwise.
+     * The caches must not store anything when the changes are not tracked.
+     *
+     * @return true if the Java element changes are tracked and false otherwise.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Add the given Java model changed listener.
+     *
+     * @param listener the listener to add
+     */
+    public void addJavaModelChangedListener(IJavaModelChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove the given Java model changed listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeJavaModelChangedListener(IJavaModelChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the generation of the given change kinds for all the projects. It
+     * changes each time a change of one of the given kinds happens in a project.
+     *
+     * @param kinds the change kinds.
+     * @return the generation of the given change kinds for all the projects.
+     */
+    public long getGeneration(int kinds) {
+        return sum(generations, kinds);
+    }
+
+    /**
+     * Returns the generation of the given change kinds for the given project. It
+     * changes each time a change of one of the given kinds happens in the project,
+     * or a structural change (all the kinds but {@link #BODIES}) happens in a
+     * project it requires.
+     *
+     * @param javaProject the Java project.
+     * @param kinds the change kinds.
+     * @return the generation of the given change kinds for the given project.
+     */
+    public long getGeneration(IJavaProject javaProject, int kinds) {
+        return sum(getProjectGeneration(javaProject.getElementName()), kinds);
+    }
+
+    private void elementChanged(ElementChangedEvent event) {
+        ChangeCollector collector = new ChangeCollector();
+        collect(event.getDelta(), collector);
+        int kinds = collector.getKinds();
+        if (kinds == 0) {
+            return;
+        }
+        increment(generations, kinds);
+        if (collector.modelKinds != 0) {
+            projectGenerations.values().forEach(projectGeneration -> increment(projectGeneration, collector.modelKinds));
+        }
+        for (Map.Entry<String, Integer> projectKind : collector.projectKinds.entrySet()) {
+            increment(getProjectGeneration(projectKind.getKey()), projectKind.getValue());
+            // Only the structure of a project is visible from the projects which require it
+            int structureKinds = projectKind.getValue() & ~BODIES;
+            if (structureKinds != 0) {
+                for (String dependentProject : getDependentProjects(projectKind.getKey())) {
+                    increment(getProjectGeneration(dependentProject), structureKinds);
+                }
+            }
+        }
+        fireJavaModelChanged(kinds);
+    }
+
+    private void fireJavaModelChanged(int kinds) {
+        for (IJavaModelChangedListener l : listeners) {
+            try {
+                l.javaModelChanged(kinds);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error while notifying a Java model change", e);
+            }
+        }
+    }
+
+    private AtomicLongArray getProjectGeneration(String projectName) {
+        return projectGenerations.computeIfAbsent(projectName, name -> new AtomicLongArray(KIND_COUNT));
+    }
+
+    /**
+     * Returns the names of the projects which require the given project, directly
+     * or not.
+     */
+    private Set<String> getDependentProjects(String projectName) {
+        Set<String> dependents = new HashSet<>();
+        try {
+            IJavaProject[] javaProjects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+            Deque<String> required = new ArrayDeque<>();
+            required.add(projectName);
+            while (!required.isEmpty()) {
+                String requiredProject = required.poll();
+                for (IJavaProject javaProject : javaProjects) {
+                    String name = javaProject.getElementName();
+                    if (!dependents.contains(name)
+                        && Arrays.asList(javaProject.getRequiredProjectNames()).contains(requiredProject)) {
+                        dependents.add(name);
+                        required.add(name);
+                    }
+                }
+            }
+        } catch (JavaModelException e) {
+            LOGGER.log(Level.WARNING, "Error while collecting the projects which require " + projectName, e);
+            // The dependent projects are unknown, consider that they all depend on it
+            dependents.addAll(projectGenerations.keySet());
+        }
+        return dependents;
+    }
+
+    private static void collect(IJavaElementDelta delta, ChangeCollector collector) {
+        int kinds = getOwnKinds(delta);
+        if (kinds != 0) {
+            IJavaProject javaProject = delta.getElement().getJavaProject();
+            if (javaProject == null) {
+                collector.modelKinds |= kinds;
+            } else {
+                collector.projectKinds.merge(javaProject.getElementName(), kinds, (k1, k2) -> k1 | k2);
+            }
+        }
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            collect(child, collector);
+        }
+    }
+
+    /**
+     * Returns the change kinds of the given delta, without its children.
+     */
+    private static int getOwnKinds(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        if (delta.getKind() != IJavaElementDelta.CHANGED) {
+            switch (element.getElementType()) {
+                case IJavaElement.METHOD:
+                case IJavaElement.FIELD:
+                case IJavaElement.INITIALIZER:
+                case IJavaElement.ANNOTATION:
+                    return MEMBERS;
+                case IJavaElement.JAVA_PROJECT:
+                    return CLASSPATH | TYPES;
+                default:
+                    return TYPES;
+            }
+        }
+        int flags = delta.getFlags();
+        int kinds = 0;
+        switch (element.getElementType()) {
+            case IJavaElement.JAVA_MODEL:
+            case IJavaElement.JAVA_PROJECT:
+            case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+            case IJavaElement.PACKAGE_FRAGMENT:
+                if ((flags & PROJECT_CHANGED_FLAGS) != 0) {
+                    kinds |= CLASSPATH;
+                }
+                break;
+            case IJavaElement.COMPILATION_UNIT:
+            case IJavaElement.CLASS_FILE:
+                // Saving or opening a working copy doesn't change the content
+                if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+                    if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+                        // Coarse grained delta: the changes are unknown
+                        kinds |= TYPES;
+                    } else if (PACKAGE_INFO_JAVA.equals(element.getElementName())) {
+                        // Package annotations (ex : @Vetoed)
+                        kinds |= MEMBERS;
+                    } else {
+                        kinds |= BODIES;
+                    }
+                }
+                break;
+            case IJavaElement.TYPE:
+                if ((flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0) {
+                    kinds |= TYPES;
+                }
+                if ((flags & IJavaElementDelta.F_ANNOTATIONS) != 0) {
+                    kinds |= MEMBERS;
+                }
+                if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+                    kinds |= BODIES;
+                }
+                break;
+            case IJavaElement.METHOD:
+            case IJavaElement.FIELD:
+            case IJavaElement.INITIALIZER:
+                if ((flags & (IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_ANNOTATIONS)) != 0) {
+                    kinds |= MEMBERS;
+                }
+                if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+                    kinds |= BODIES;
+                }
+                break;
+            case IJavaElement.ANNOTATION:
+                kinds |= MEMBERS;
+                break;
+            case IJavaElement.IMPORT_CONTAINER:
+            case IJavaElement.IMPORT_DECLARATION:
+            case IJavaElement.PACKAGE_DECLARATION:
+                kinds |= TYPES;
+                break;
+            default:
+                break;
+        }
+        return kinds;
+    }
+
+    private static void increment(AtomicLongArray generation, int kinds) {
+        for (int i = 0; i < KIND_COUNT; i++) {
+            if ((kinds & (1 << i)) != 0) {
+                generation.incrementAndGet(i);
+            }
+        }
+    }
+
+    private static long sum(AtomicLongArray generation, int kinds) {
+        long sum = 0;
+        for (int i = 0; i < KIND_COUNT; i++) {
+            if ((kinds & (1 << i)) != 0) {
+                sum += generation.get(i);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+
+/**
+ * Workspace cache of the supertype hierarchies and of the source type
+ * declarations known by the projects.
+ *
+ * <p>
+ * Each entry is stamped with the generation of the {@link #HIERARCHY_CHANGES}
+ * at the time it was computed. A change which may change a type hierarchy
+ * (type added or removed, super types or imports changed, classpath
+ * changed...) makes all the entries stale. Edits inside method bodies or field
+ * initializers keep the cached entries.
+ * </p>
+ *
+ * @see JavaModelChangeManager
+ */
+@SuppressWarnings("restriction")
+public class TypeHierarchyCache {
+
+    private static final TypeHierarchyCache INSTANCE = new TypeHierarchyCache();
+
+    private static final int HIERARCHY_CHANGES = JavaModelChangeManager.CLASSPATH | JavaModelChangeManager.TYPES;
+
+    public static TypeHierarchyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Supertypes of a type computed for a given hierarchy generation.
+     */
+    private static class SupertypesEntry {
+
+        private final long generation;
+
+        private final IType[] allSupertypes;
+
+        private final IType[] allInterfaces;
+
+        public SupertypesEntry(long generation, IType[] allSupertypes, IType[] allInterfaces) {
+            this.generation = generation;
+            this.allSupertypes = allSupertypes;
+            this.allInterfaces = allInterfaces;
+        }
+    }
+
+    /**
+     * Known source type declarations of a project computed for a given hierarchy
+     * generation.
+     */
+    private static class DeclarationsEntry {
+
+        private final long generation;
+
+        // Type simple name -> true if the project declares a source type with this
+        // name
+        private final Map<String, Boolean> declarations;
+
+        public DeclarationsEntry(long generation) {
+            this.generation = generation;
+            this.declarations = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Computes whether a project declares a source type with a given simple name.
+     */
+    public interface DeclarationSearch {
+
+        boolean hasKnownDeclaration(IJavaProject javaProject, String typeName) throws CoreException;
+    }
+
+    // IType handle identifier -> supertypes
+    private final Map<String, SupertypesEntry> supertypes;
+
+    // IJavaProject handle identifier -> known source type declarations
+    private final Map<String, DeclarationsEntry> declarations;
+
+    private TypeHierarchyCache() {
+        supertypes = new ConcurrentHashMap<>();
+        declarations = new ConcurrentHashMap<>();
+        JavaModelChangeManager.getInstance().addJavaModelChangedListener(kinds -> {
+            if ((kinds & HIERARCHY_CHANGES) != 0) {
+                supertypes.clear();
+                declarations.clear();
+            }
+        });
+    }
+
+    /**
+     * Returns all the supertypes of the given type.
+     *
+     * @param type the type.
+     * @return all the supertypes of the given type.
+     * @throws JavaModelException
+     */
+    public IType[] getAllSupertypes(IType type) throws JavaModelException {
+        return getSupertypes(type).allSupertypes;
+    }
+
+    /**
+     * Returns all the interfaces implemented by the given type.
+     *
+     * @param type the type.
+     * @return all the interfaces implemented by the given type.
+     * @throws JavaModelException
+     */
+    public IType[] getAllInterfaces(IType type) throws JavaModelException {
+        return getSupertypes(type).allInterfaces;
+    }
+
+    /**
+     * Returns true if the given project declares a source type with the given
+     * simple name and false otherwise.
+     *
+     * @param javaProject the Java project.
+     * @param typeName the type simple name.
+     * @param search the search to use when the result is not cached.
+     * @return true if the given project declares a source type with the given
+     *         simple name and false otherwise.
+     * @throws CoreException
+     */
+    public boolean hasKnownDeclaration(IJavaProject javaProject, String typeName, DeclarationSearch search) throws CoreException {
+        JavaModelChangeManager changeManager = JavaModelChangeManager.getInstance();
+        if (!changeManager.isInitialized()) {
+            return search.hasKnownDeclaration(javaProject, typeName);
+        }
+        long currentGeneration = changeManager.getGeneration(HIERARCHY_CHANGES);
+        DeclarationsEntry entry = declarations.get(javaProject.getHandleIdentifier());
+        if (entry == null || entry.generation != currentGeneration) {
+            entry = new DeclarationsEntry(currentGeneration);
+            declarations.put(javaProject.getHandleIdentifier(), entry);
+        }
+        Boolean known = entry.declarations.get(typeName);
+        if (known == null) {
+            known = search.hasKnownDeclaration(javaProject, typeName);
+            entry.declarations.put(typeName, known);
+        }
+        return known;
+    }
+
+    private SupertypesEntry getSupertypes(IType type) throws JavaModelException {
+        JavaModelChangeManager changeManager = JavaModelChangeManager.getInstance();
+        boolean initialized = changeManager.isInitialized();
+        long currentGeneration = changeManager.getGeneration(HIERARCHY_CHANGES);
+        String key = type.getHandleIdentifier();
+        SupertypesEntry entry = initialized ? supertypes.get(key) : null;
+        if (entry == null || entry.generation != currentGeneration) {
+            ITypeHierarchy typeHierarchy = type.newSupertypeHierarchy(DefaultWorkingCopyOwner.PRIMARY, null);
+            entry = new SupertypesEntry(currentGeneration, typeHierarchy.getAllSupertypes(type), typeHierarchy.getAllInterfaces());
+            if (initialized) {
+                supertypes.put(key, entry);
+            }
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core.java;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The {@link ManagedBean} classification of a type used as an injection point.
+ *
+ * <p>
+ * Each fact is computed with {@link ManagedBean} the first time it is asked
+ * and is kept for the next injection points of the same type, until the
+ * {@link BeanTypeFactsCache} is invalidated by a Java element change.
+ * </p>
+ */
+public class BeanTypeFacts {
+
+    private final IType type;
+
+    private final long generation;
+
+    private volatile Boolean innerClass;
+
+    private volatile Boolean abstractClass;
+
+    private volatile Boolean decorator;
+
+    private volatile Boolean extension;
+
+    private volatile Boolean vetoed;
+
+    private volatile Boolean validConstructor;
+
+    BeanTypeFacts(IType type, long generation) {
+        this.type = type;
+        this.generation = generation;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns true if the type is an inner class and false otherwise.
+     *
+     * @return true if the type is an inner class and false otherwise.
+     * @throws JavaModelException
+     * @see ManagedBean#isInnerClass(IType)
+     */
+    public boolean isInnerClass() throws JavaModelException {
+        Boolean result = innerClass;
+        if (result == null) {
+            result = innerClass = ManagedBean.isInnerClass(type);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the type is an abstract class and false otherwise.
+     *
+     * @return true if the type is an abstract class and false otherwise.
+     * @throws JavaModelException
+     * @see ManagedBean#isAbstractClass(IType)
+     */
+    public boolean isAbstractClass() throws JavaModelException {
+        Boolean result = abstractClass;
+        if (result == null) {
+            result = abstractClass = ManagedBean.isAbstractClass(type);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the type is annotated with @Decorator and false otherwise.
+     *
+     * @return true if the type is annotated with @Decorator and false otherwise.
+     * @throws JavaModelException
+     */
+    public boolean isDecorator() throws JavaModelException {
+        Boolean result = decorator;
+        if (result == null) {
+            result = decorator = ManagedBean.isAnnotatedClass(type, ManagedBean.DECORATOR_ANNOTATION);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the type implements jakarta.enterprise.inject.spi.Extension
+     * and false otherwise.
+     *
+     * @return true if the type implements jakarta.enterprise.inject.spi.Extension
+     *         and false otherwise.
+     * @throws JavaModelException
+     */
+    public boolean isExtension() throws JavaModelException {
+        Boolean result = extension;
+        if (result == null) {
+            result = extension = ManagedBean.implementsExtends(type, ManagedBean.EXTENSION_SERVICE_IFACE);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the type is annotated with @Vetoed or is in a package
+     * annotated with @Vetoed and false otherwise.
+     *
+     * @return true if the type is annotated with @Vetoed or is in a package
+     *         annotated with @Vetoed and false otherwise.
+     * @throws JavaModelException
+     */
+    public boolean isVetoed() throws JavaModelException {
+        Boolean result = vetoed;
+        if (result == null) {
+            result = vetoed = ManagedBean.isAnnotatedClass(type, ManagedBean.VETOED_ANNOTATION)
+                              || ManagedBean.isPackageMetadataAnnotated(type, ManagedBean.VETOED_ANNOTATION);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the type has a constructor without parameters or a
+     * constructor annotated with @Inject and false otherwise.
+     *
+     * @return true if the type has a constructor without parameters or a
+     *         constructor annotated with @Inject and false otherwise.
+     * @throws JavaModelException
+     * @see ManagedBean#containsValidConstructor(IType)
+     */
+    public boolean hasValidConstructor() throws JavaModelException {
+        Boolean result = validConstructor;
+        if (result == null) {
+            result = validConstructor = ManagedBean.containsValidConstructor(type);
+        }
+        return result;
+    }
+}
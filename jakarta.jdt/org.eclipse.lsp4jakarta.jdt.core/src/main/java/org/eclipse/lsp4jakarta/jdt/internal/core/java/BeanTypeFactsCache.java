@@ -0,0 +1,128 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core.java;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.lsp4jakarta.jdt.internal.core.JavaModelChangeManager;
+
+/**
+ * Workspace cache of the {@link BeanTypeFacts} of the types used as injection
+ * points.
+ *
+ * <p>
+ * The same bean types are injected in many classes: the type of an injection
+ * point is resolved and classified once per generation instead of once per
+ * injection point. The generation is the one of the
+ * {@link #BEAN_TYPE_CHANGES} tracked by {@link JavaModelChangeManager}: it
+ * changes when a type, a member, an annotation, an import or the classpath
+ * changes. Edits inside method bodies, field initializers or initializers keep
+ * the cached entries.
+ * </p>
+ */
+public class BeanTypeFactsCache {
+
+    private static final BeanTypeFactsCache INSTANCE = new BeanTypeFactsCache();
+
+    private static final int BEAN_TYPE_CHANGES = JavaModelChangeManager.CLASSPATH | JavaModelChangeManager.TYPES
+                                                 | JavaModelChangeManager.MEMBERS;
+
+    public static BeanTypeFactsCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Type of an injection point resolved for a given generation.
+     */
+    private static class ResolvedTypeEntry {
+
+        private final long generation;
+
+        private final IType type;
+
+        public ResolvedTypeEntry(long generation, IType type) {
+            this.generation = generation;
+            this.type = type;
+        }
+    }
+
+    // Declaring type handle identifier + '#' + type signature -> resolved type
+    private final Map<String, ResolvedTypeEntry> resolvedTypes;
+
+    // IType handle identifier -> bean type facts
+    private final Map<String, BeanTypeFacts> facts;
+
+    private BeanTypeFactsCache() {
+        resolvedTypes = new ConcurrentHashMap<>();
+        facts = new ConcurrentHashMap<>();
+        // The entries of the previous generations are never used again
+        JavaModelChangeManager.getInstance().addJavaModelChangedListener(kinds -> {
+            if ((kinds & BEAN_TYPE_CHANGES) != 0) {
+                resolvedTypes.clear();
+                facts.clear();
+            }
+        });
+    }
+
+    /**
+     * Returns the type of the given injection point variable.
+     *
+     * @param variable the method/initializer parameter.
+     * @return the type of the given injection point variable.
+     * @see ManagedBean#variableSignatureToType(ILocalVariable)
+     */
+    public IType getVariableType(ILocalVariable variable) {
+        JavaModelChangeManager changeManager = JavaModelChangeManager.getInstance();
+        IMember declaringMember = variable.getDeclaringMember();
+        if (!changeManager.isInitialized() || declaringMember == null || declaringMember.getDeclaringType() == null) {
+            return ManagedBean.variableSignatureToType(variable);
+        }
+        long currentGeneration = changeManager.getGeneration(BEAN_TYPE_CHANGES);
+        String key = declaringMember.getDeclaringType().getHandleIdentifier() + '#' + variable.getTypeSignature();
+        ResolvedTypeEntry entry = resolvedTypes.get(key);
+        if (entry == null || entry.generation != currentGeneration) {
+            IType type = ManagedBean.variableSignatureToType(variable);
+            if (type == null) {
+                return null;
+            }
+            entry = new ResolvedTypeEntry(currentGeneration, type);
+            resolvedTypes.put(key, entry);
+        }
+        return entry.type;
+    }
+
+    /**
+     * Returns the bean classification facts of the given type.
+     *
+     * @param type the type used as an injection point.
+     * @return the bean classification facts of the given type.
+     */
+    public BeanTypeFacts getFacts(IType type) {
+        JavaModelChangeManager changeManager = JavaModelChangeManager.getInstance();
+        long currentGeneration = changeManager.getGeneration(BEAN_TYPE_CHANGES);
+        if (!changeManager.isInitialized() || type == null) {
+            return new BeanTypeFacts(type, currentGeneration);
+        }
+        String key = type.getHandleIdentifier();
+        BeanTypeFacts typeFacts = facts.get(key);
+        if (typeFacts == null || typeFacts.getGeneration() != currentGeneration) {
+            typeFacts = new BeanTypeFacts(type, currentGeneration);
+            facts.put(key, typeFacts);
+        }
+        return typeFacts;
+    }
+}
@@ -15,6 +15,8 @@ package org.eclipse.lsp4jakarta.jdt.internal.core.java;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -25,6 +27,7 @@ import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.codeaction.JavaCodeActionDefinition;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.codeaction.JavaCodeActionDispatchTable;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.completion.JavaCompletionDefinition;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics.JavaDiagnosticsDefinition;
 
@@ -54,6 +57,9 @@ public class JavaFeaturesRegistry {
 
     private final List<JavaCodeActionDefinition> javaCodeActionDefinitions;
 
+    // Code action dispatch tables by code action kind
+    private final Map<String, JavaCodeActionDispatchTable> javaCodeActionDispatchTables;
+
     private boolean javaFeatureDefinitionsLoaded;
 
     public static JavaFeaturesRegistry getInstance() {
@@ -66,6 +72,7 @@ public class JavaFeaturesRegistry {
         javaCompletionDefinitions = new ArrayList<>();
         javaDiagnosticsDefinitions = new ArrayList<>();
         javaCodeActionDefinitions = new ArrayList<>();
+        javaCodeActionDispatchTables = new ConcurrentHashMap<>();
     }
 
     /**
@@ -149,4 +156,17 @@ public class JavaFeaturesRegistry {
         return javaCodeActionDefinitions.stream().filter(definition -> codeActionKind.startsWith(definition.getKind())).collect(Collectors.toList());
     }
 
+    /**
+     * Returns the code action definitions for the given code action kind grouped
+     * by the diagnostic they fix. The table is computed once per code action kind.
+     *
+     * @param codeActionKind the code action kind.
+     * @return the code action definitions for the given code action kind grouped
+     *         by the diagnostic they fix.
+     */
+    public JavaCodeActionDispatchTable getJavaCodeActionDispatchTable(String codeActionKind) {
+        return javaCodeActionDispatchTables.computeIfAbsent(codeActionKind,
+                                                            kind -> new JavaCodeActionDispatchTable(getJavaCodeActionDefinitions(kind)));
+    }
+
 }
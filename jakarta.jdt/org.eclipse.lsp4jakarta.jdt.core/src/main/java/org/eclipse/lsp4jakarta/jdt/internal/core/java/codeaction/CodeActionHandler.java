@@ -13,7 +13,6 @@
 *******************************************************************************/
 package org.eclipse.lsp4jakarta.jdt.internal.core.java.codeaction;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -91,51 +90,42 @@ public class CodeActionHandler {
         }
 
         List<CodeAction> codeActions = new ArrayList<>();
-        Map<String, List<JavaCodeActionDefinition>> forDiagnostics = new HashMap<>();
+        List<JavaCodeActionDispatchTable> dispatchTables = new ArrayList<>();
+        // isAdaptedForCodeAction is called at most once per definition
+        Map<JavaCodeActionDefinition, Boolean> adaptedDefinitions = new HashMap<>();
 
         // Loop for each code action kinds to process the proper code actions
         for (String codeActionKind : codeActionKinds) {
-            // Get list of code action definition for the given kind
-            List<JavaCodeActionDefinition> codeActionDefinitions = JavaFeaturesRegistry.getInstance().getJavaCodeActionDefinitions(codeActionKind).stream().filter(definition -> definition.isAdaptedForCodeAction(context,
-                                                                                                                                                                                                                   monitor)).collect(Collectors.toList());
-            if (codeActionDefinitions != null) {
-                // Loop for each code action definition
-                for (JavaCodeActionDefinition definition : codeActionDefinitions) {
-                    String forDiagnostic = definition.getTargetDiagnostic();
-                    if (forDiagnostic != null) {
-                        // The code action definition is for a given diagnostic code (QuickFix), store
-                        // it
-                        List<JavaCodeActionDefinition> definitionsFor = forDiagnostics.get(forDiagnostic);
-                        if (definitionsFor == null) {
-                            definitionsFor = new ArrayList<>();
-                            forDiagnostics.put(forDiagnostic, definitionsFor);
-                        }
-                        definitionsFor.add(definition);
-                    } else {
-                        // Collect the code actions
-                        codeActions.addAll(definition.getCodeActions(context, null, monitor));
-                    }
+            // Get the code action definitions for the given kind
+            JavaCodeActionDispatchTable dispatchTable = JavaFeaturesRegistry.getInstance().getJavaCodeActionDispatchTable(codeActionKind);
+            // Loop for each code action definition which doesn't target a diagnostic
+            for (JavaCodeActionDefinition definition : dispatchTable.getDefinitions()) {
+                if (isAdaptedForCodeAction(definition, context, adaptedDefinitions, monitor)) {
+                    // Collect the code actions
+                    codeActions.addAll(definition.getCodeActions(context, null, monitor));
                 }
             }
+            if (dispatchTable.hasDefinitionsForDiagnostics()) {
+                dispatchTables.add(dispatchTable);
+            }
         }
 
-        if (!forDiagnostics.isEmpty()) {
+        if (!dispatchTables.isEmpty()) {
             // It exists code action to fix diagnostics, loop for each diagnostics
             params.getContext().getDiagnostics().forEach(diagnostic -> {
                 String code = getCode(diagnostic);
                 if (code != null) {
                     // Try to get code action definition registered with the "for" source#code
                     String key = diagnostic.getSource() + "#" + code;
-                    List<JavaCodeActionDefinition> definitionsFor = forDiagnostics.get(key);
-                    if (definitionsFor == null) {
+                    List<JavaCodeActionDefinition> definitionsFor = getDefinitionsFor(dispatchTables, key, context,
+                                                                                      adaptedDefinitions, monitor);
+                    if (definitionsFor.isEmpty()) {
                         // Try to get code action definition registered with the "for" code
-                        definitionsFor = forDiagnostics.get(code);
+                        definitionsFor = getDefinitionsFor(dispatchTables, code, context, adaptedDefinitions, monitor);
                     }
-                    if (definitionsFor != null) {
-                        for (JavaCodeActionDefinition definition : definitionsFor) {
-                            // Collect the code actions to fix the given diagnostic
-                            codeActions.addAll(definition.getCodeActions(context, diagnostic, monitor));
-                        }
+                    for (JavaCodeActionDefinition definition : definitionsFor) {
+                        // Collect the code actions to fix the given diagnostic
+                        codeActions.addAll(definition.getCodeActions(context, diagnostic, monitor));
                     }
                 }
             });
@@ -197,24 +187,33 @@ public class CodeActionHandler {
         return CoreASTProvider.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
     }
 
-    private static String getCode(Diagnostic diagnostic) {
-        Object code = null;
-        try {
-            Field f = diagnostic.getClass().getDeclaredField("code");
-            f.setAccessible(true);
-            code = f.get(diagnostic);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return getCodeString(code);
+    private static boolean isAdaptedForCodeAction(JavaCodeActionDefinition definition, JavaCodeActionContext context,
+                                                  Map<JavaCodeActionDefinition, Boolean> adaptedDefinitions,
+                                                  IProgressMonitor monitor) {
+        return adaptedDefinitions.computeIfAbsent(definition, d -> d.isAdaptedForCodeAction(context, monitor));
     }
 
-    private static String getCodeString(Object codeObject) {
-        if (codeObject instanceof String) {
-            return ((String) codeObject);
+    /**
+     * Returns the code action definitions adapted for the given context which
+     * target the given diagnostic "for" key.
+     */
+    private static List<JavaCodeActionDefinition> getDefinitionsFor(List<JavaCodeActionDispatchTable> dispatchTables,
+                                                                    String forDiagnostic, JavaCodeActionContext context,
+                                                                    Map<JavaCodeActionDefinition, Boolean> adaptedDefinitions,
+                                                                    IProgressMonitor monitor) {
+        List<JavaCodeActionDefinition> definitionsFor = new ArrayList<>();
+        for (JavaCodeActionDispatchTable dispatchTable : dispatchTables) {
+            for (JavaCodeActionDefinition definition : dispatchTable.getDefinitionsFor(forDiagnostic)) {
+                if (isAdaptedForCodeAction(definition, context, adaptedDefinitions, monitor)) {
+                    definitionsFor.add(definition);
+                }
+            }
         }
-        @SuppressWarnings("unchecked")
-        Either<String, Number> code = (Either<String, Number>) codeObject;
+        return definitionsFor;
+    }
+
+    private static String getCode(Diagnostic diagnostic) {
+        Either<String, Integer> code = diagnostic.getCode();
         if (code == null || code.isRight()) {
             return null;
         }
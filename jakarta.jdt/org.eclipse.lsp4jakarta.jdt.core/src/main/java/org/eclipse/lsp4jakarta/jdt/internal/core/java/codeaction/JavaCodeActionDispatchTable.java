@@ -0,0 +1,93 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core.java.codeaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The code action definitions of a code action kind, grouped by the diagnostic
+ * they fix.
+ *
+ * <p>
+ * The table is computed once per code action kind by the
+ * {@link org.eclipse.lsp4jakarta.jdt.internal.core.java.JavaFeaturesRegistry},
+ * so that a code action request only looks up the definitions of the
+ * diagnostics of the request.
+ * </p>
+ */
+public class JavaCodeActionDispatchTable {
+
+    private final List<JavaCodeActionDefinition> definitions;
+
+    private final Map<String, List<JavaCodeActionDefinition>> definitionsForDiagnostic;
+
+    /**
+     * Creates the dispatch table of the given code action definitions.
+     *
+     * @param codeActionDefinitions the code action definitions of a code action
+     *            kind.
+     */
+    public JavaCodeActionDispatchTable(List<JavaCodeActionDefinition> codeActionDefinitions) {
+        List<JavaCodeActionDefinition> definitions = new ArrayList<>();
+        Map<String, List<JavaCodeActionDefinition>> definitionsForDiagnostic = new HashMap<>();
+        for (JavaCodeActionDefinition definition : codeActionDefinitions) {
+            String forDiagnostic = definition.getTargetDiagnostic();
+            if (forDiagnostic != null) {
+                definitionsForDiagnostic.computeIfAbsent(forDiagnostic, k -> new ArrayList<>()).add(definition);
+            } else {
+                definitions.add(definition);
+            }
+        }
+        this.definitions = List.copyOf(definitions);
+        Map<String, List<JavaCodeActionDefinition>> copy = new HashMap<>();
+        definitionsForDiagnostic.forEach((forDiagnostic, definitionsFor) -> copy.put(forDiagnostic, List.copyOf(definitionsFor)));
+        this.definitionsForDiagnostic = Map.copyOf(copy);
+    }
+
+    /**
+     * Returns the code action definitions which don't target a diagnostic.
+     *
+     * @return the code action definitions which don't target a diagnostic.
+     */
+    public List<JavaCodeActionDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * Returns true if some code action definitions target a diagnostic and false
+     * otherwise.
+     *
+     * @return true if some code action definitions target a diagnostic and false
+     *         otherwise.
+     */
+    public boolean hasDefinitionsForDiagnostics() {
+        return !definitionsForDiagnostic.isEmpty();
+    }
+
+    /**
+     * Returns the code action definitions which target the given diagnostic
+     * "for" key (ex : "jakarta-jaxrs#NonPublicResourceMethod" or
+     * "NonPublicResourceMethod").
+     *
+     * @param forDiagnostic the diagnostic "for" key.
+     * @return the code action definitions which target the given diagnostic
+     *         "for" key.
+     */
+    public List<JavaCodeActionDefinition> getDefinitionsFor(String forDiagnostic) {
+        return definitionsForDiagnostic.getOrDefault(forDiagnostic, Collections.emptyList());
+    }
+}
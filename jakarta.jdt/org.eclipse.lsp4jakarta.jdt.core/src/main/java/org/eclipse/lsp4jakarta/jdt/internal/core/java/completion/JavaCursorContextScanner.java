@@ -0,0 +1,547 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core.java.completion;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
+
+/**
+ * Computes the cursor context of a Java file with the tokens of the JDT
+ * scanner, without building an AST.
+ *
+ * <p>
+ * The tokens before the cursor are used to know the block where the cursor is
+ * (type body or code block) and if the cursor is within the annotations of a
+ * declaration, and the tokens after the cursor are used to know the kind of the
+ * next declaration. When the tokens are ambiguous (the cursor is within a
+ * declaration header, an enum body, an incomplete annotation...), the context
+ * is unknown and must be computed with the AST.
+ * </p>
+ */
+public class JavaCursorContextScanner {
+
+    // Kinds of the declaration which follows the cursor
+    private static final int NEXT_TYPE = 1;
+    private static final int NEXT_METHOD = 2;
+    private static final int NEXT_FIELD = 3;
+    private static final int NEXT_END_OF_TYPE = 4;
+    private static final int NEXT_END_OF_FILE = 5;
+
+    // Kinds of the blocks delimited by braces
+    private static final int TYPE_BODY = 1;
+    private static final int ENUM_BODY = 2;
+    private static final int CODE_BLOCK = 3;
+    private static final int LOCAL_TYPE_BODY = 4;
+    private static final int INITIALIZER_BLOCK = 5;
+
+    // States of an annotation
+    private static final int NO_ANNOTATION = 0;
+    private static final int ANNOTATION_AT = 1;
+    private static final int ANNOTATION_NAME = 2;
+    private static final int ANNOTATION_DOT = 3;
+    private static final int ANNOTATION_ARGUMENTS = 4;
+
+    private static final char[] RECORD = "record".toCharArray();
+
+    /**
+     * A block delimited by braces and the state of the enclosing declaration.
+     */
+    private static class Block {
+
+        private final int kind;
+
+        private final int parenDepth;
+
+        private final boolean inExpression;
+
+        public Block(int kind, int parenDepth, boolean inExpression) {
+            this.kind = kind;
+            this.parenDepth = parenDepth;
+            this.inExpression = inExpression;
+        }
+    }
+
+    private final IScanner scanner;
+
+    private final int offset;
+
+    private final Deque<Block> blocks;
+
+    // State of the declaration of the current type body, before the cursor
+    private int parenDepth;
+
+    private int annotationState;
+
+    private int annotationParenDepth;
+
+    private boolean annotated;
+
+    private boolean hasAnnotations;
+
+    private boolean declarationStarted;
+
+    private boolean typeDeclaration;
+
+    private boolean enumDeclaration;
+
+    private boolean inExpression;
+
+    private boolean parameters;
+
+    private boolean afterRecord;
+
+    // True if the declaration after the cursor has modifiers
+    private boolean nextHasModifiers;
+
+    // State of a code block, before the cursor
+    private int previousCodeToken;
+
+    private boolean localTypeDeclaration;
+
+    private JavaCursorContextScanner(IScanner scanner, int offset) {
+        this.scanner = scanner;
+        this.offset = offset;
+        this.blocks = new ArrayDeque<>();
+    }
+
+    /**
+     * Returns the cursor context of the given Java file and offset and null if it
+     * cannot be computed without the AST.
+     *
+     * @param typeRoot the Java file.
+     * @param offset the cursor offset.
+     * @return the cursor context of the given Java file and offset and null if it
+     *         cannot be computed without the AST.
+     * @throws JavaModelException
+     */
+    public static JavaCursorContextKind getCursorContextKind(ITypeRoot typeRoot, int offset) throws JavaModelException {
+        IBuffer buffer = typeRoot.getBuffer();
+        char[] source = buffer != null ? buffer.getCharacters() : null;
+        if (source == null) {
+            return null;
+        }
+        IJavaProject javaProject = typeRoot.getJavaProject();
+        return getCursorContextKind(source, offset, javaProject.getOption(JavaCore.COMPILER_SOURCE, true),
+                                    javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true));
+    }
+
+    /**
+     * Returns the cursor context of the given Java source and offset and null if
+     * it cannot be computed without the AST.
+     *
+     * @param source the Java source.
+     * @param offset the cursor offset.
+     * @param sourceLevel the Java source level.
+     * @param complianceLevel the Java compliance level.
+     * @return the cursor context of the given Java source and offset and null if
+     *         it cannot be computed without the AST.
+     */
+    public static JavaCursorContextKind getCursorContextKind(char[] source, int offset, String sourceLevel,
+                                                             String complianceLevel) {
+        if (offset < 0 || offset > source.length) {
+            return null;
+        }
+        IScanner scanner = ToolFactory.createScanner(true, false, false, sourceLevel, complianceLevel);
+        scanner.setSource(source);
+        try {
+            return new JavaCursorContextScanner(scanner, offset).scan();
+        } catch (InvalidInputException e) {
+            return null;
+        }
+    }
+
+    private JavaCursorContextKind scan() throws InvalidInputException {
+        int token = scanner.getNextToken();
+        while (token != ITerminalSymbols.TokenNameEOF && scanner.getCurrentTokenStartPosition() < offset) {
+            if (token == ITerminalSymbols.TokenNameRBRACE && scanner.getCurrentTokenEndPosition() + 1 == offset) {
+                // The cursor just after a closing brace is still in the block, like in the AST
+                break;
+            }
+            boolean containsCursor = scanner.getCurrentTokenEndPosition() + 1 > offset
+                                     || (token == ITerminalSymbols.TokenNameCOMMENT_JAVADOC
+                                         && scanner.getCurrentTokenEndPosition() + 1 == offset);
+            if (containsCursor && !isCodeBlock(blocks.peek()) && !(token == ITerminalSymbols.TokenNameIdentifier
+                                                                   && (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT))) {
+                // The cursor is within (or just after a Javadoc) a token which is not an
+                // annotation name
+                return null;
+            }
+            if (!acceptToken(token)) {
+                return null;
+            }
+            token = scanner.getNextToken();
+        }
+
+        for (Block enclosingBlock : blocks) {
+            if (enclosingBlock.kind == LOCAL_TYPE_BODY || enclosingBlock.kind == INITIALIZER_BLOCK) {
+                // The members of a local type and the code of an initializer have a context
+                return null;
+            }
+        }
+        Block block = blocks.peek();
+        if (block != null && block.kind == CODE_BLOCK) {
+            return JavaCursorContextKind.NONE;
+        }
+        if ((block != null && block.kind == ENUM_BODY) || declarationStarted || parenDepth > 0
+            || (annotationState != NO_ANNOTATION && annotationState != ANNOTATION_NAME)) {
+            return null;
+        }
+
+        int next = scanNextDeclaration(token);
+        if (annotated && !hasAnnotations && !nextHasModifiers) {
+            // The AST of a declaration without modifiers starts with its Javadoc
+            return null;
+        }
+        if (block == null) {
+            // Root of the file
+            if (next == NEXT_TYPE) {
+                return annotated ? JavaCursorContextKind.IN_CLASS_ANNOTATIONS : JavaCursorContextKind.BEFORE_CLASS;
+            }
+            return next == NEXT_END_OF_FILE && !annotated ? JavaCursorContextKind.NONE : null;
+        }
+        switch (next) {
+            case NEXT_TYPE:
+                return annotated ? JavaCursorContextKind.IN_CLASS_ANNOTATIONS : JavaCursorContextKind.BEFORE_CLASS;
+            case NEXT_METHOD:
+                return annotated ? JavaCursorContextKind.IN_METHOD_ANNOTATIONS : JavaCursorContextKind.BEFORE_METHOD;
+            case NEXT_FIELD:
+                return annotated ? JavaCursorContextKind.IN_FIELD_ANNOTATIONS : JavaCursorContextKind.BEFORE_FIELD;
+            case NEXT_END_OF_TYPE:
+                return annotated ? null : JavaCursorContextKind.IN_CLASS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Updates the state with the given token before the cursor and returns false
+     * if the token cannot be handled.
+     */
+    private boolean acceptToken(int token) {
+        Block block = blocks.peek();
+        if (isCodeBlock(block)) {
+            // Only the braces and the local types are meaningful in a code block
+            switch (token) {
+                case ITerminalSymbols.TokenNameCOMMENT_LINE:
+                case ITerminalSymbols.TokenNameCOMMENT_BLOCK:
+                case ITerminalSymbols.TokenNameCOMMENT_JAVADOC:
+                    return true;
+                case ITerminalSymbols.TokenNameclass:
+                case ITerminalSymbols.TokenNameinterface:
+                case ITerminalSymbols.TokenNameenum:
+                    // Foo.class is an expression
+                    localTypeDeclaration |= previousCodeToken != ITerminalSymbols.TokenNameDOT;
+                    break;
+                case ITerminalSymbols.TokenNameIdentifier:
+                    localTypeDeclaration |= afterRecord;
+                    afterRecord = previousCodeToken != ITerminalSymbols.TokenNameDOT
+                                  && CharOperation.equals(RECORD, scanner.getCurrentTokenSource());
+                    break;
+                case ITerminalSymbols.TokenNameLBRACE:
+                    blocks.push(new Block(localTypeDeclaration ? LOCAL_TYPE_BODY : CODE_BLOCK, 0, false));
+                    localTypeDeclaration = false;
+                    break;
+                case ITerminalSymbols.TokenNameRBRACE:
+                    popBlock();
+                    break;
+                case ITerminalSymbols.TokenNameSEMICOLON:
+                    localTypeDeclaration = false;
+                    break;
+                default:
+                    break;
+            }
+            if (token != ITerminalSymbols.TokenNameIdentifier) {
+                afterRecord = false;
+            }
+            previousCodeToken = token;
+            return true;
+        }
+
+        if (annotationState == ANNOTATION_ARGUMENTS) {
+            // Annotation arguments can't contain code blocks
+            if (token == ITerminalSymbols.TokenNameLPAREN) {
+                parenDepth++;
+            } else if (token == ITerminalSymbols.TokenNameRPAREN && --parenDepth == annotationParenDepth) {
+                annotationState = NO_ANNOTATION;
+            }
+            return true;
+        }
+
+        switch (token) {
+            case ITerminalSymbols.TokenNameCOMMENT_LINE:
+            case ITerminalSymbols.TokenNameCOMMENT_BLOCK:
+                return true;
+            case ITerminalSymbols.TokenNameCOMMENT_JAVADOC:
+                // The Javadoc belongs to the next declaration like its annotations
+                annotated |= !declarationStarted;
+                return true;
+            case ITerminalSymbols.TokenNameAT:
+                if (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT) {
+                    return false;
+                }
+                annotationState = ANNOTATION_AT;
+                annotated |= !declarationStarted;
+                hasAnnotations |= !declarationStarted;
+                return true;
+            case ITerminalSymbols.TokenNameIdentifier:
+                if (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT) {
+                    annotationState = ANNOTATION_NAME;
+                    return true;
+                }
+                boolean record = afterRecord;
+                startDeclaration();
+                if (record && parenDepth == 0 && !inExpression) {
+                    typeDeclaration = true;
+                }
+                afterRecord = CharOperation.equals(RECORD, scanner.getCurrentTokenSource());
+                return true;
+            case ITerminalSymbols.TokenNameDOT:
+                if (annotationState == ANNOTATION_NAME) {
+                    annotationState = ANNOTATION_DOT;
+                    return true;
+                }
+                break;
+            case ITerminalSymbols.TokenNameLPAREN:
+                if (annotationState == ANNOTATION_NAME) {
+                    annotationState = ANNOTATION_ARGUMENTS;
+                    annotationParenDepth = parenDepth++;
+                    return true;
+                }
+                startDeclaration();
+                parameters = true;
+                parenDepth++;
+                return true;
+            case ITerminalSymbols.TokenNameRPAREN:
+                startDeclaration();
+                parenDepth--;
+                return parenDepth >= 0;
+            case ITerminalSymbols.TokenNameinterface:
+                startDeclaration();
+                typeDeclaration = true;
+                return true;
+            case ITerminalSymbols.TokenNameclass:
+                startDeclaration();
+                // Foo.class is an expression
+                typeDeclaration |= !inExpression;
+                return true;
+            case ITerminalSymbols.TokenNameenum:
+                startDeclaration();
+                typeDeclaration = true;
+                enumDeclaration = true;
+                return true;
+            case ITerminalSymbols.TokenNameEQUAL:
+                startDeclaration();
+                inExpression = true;
+                return true;
+            case ITerminalSymbols.TokenNameSEMICOLON:
+                if (parenDepth == 0) {
+                    endDeclaration();
+                } else {
+                    startDeclaration();
+                }
+                return true;
+            case ITerminalSymbols.TokenNameLBRACE:
+                startDeclaration();
+                int kind = CODE_BLOCK;
+                if (parenDepth == 0 && !inExpression) {
+                    if (typeDeclaration) {
+                        kind = enumDeclaration ? ENUM_BODY : TYPE_BODY;
+                    } else if (!parameters) {
+                        // static or instance initializer
+                        kind = INITIALIZER_BLOCK;
+                    }
+                }
+                blocks.push(new Block(kind, parenDepth, inExpression || parenDepth > 0));
+                endDeclaration();
+                parenDepth = 0;
+                return true;
+            case ITerminalSymbols.TokenNameRBRACE:
+                return popBlock();
+            default:
+                break;
+        }
+        if (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT) {
+            return false;
+        }
+        startDeclaration();
+        return true;
+    }
+
+    /**
+     * A token which is not an annotation or a comment starts the declaration.
+     */
+    private void startDeclaration() {
+        annotationState = NO_ANNOTATION;
+        declarationStarted = true;
+        afterRecord = false;
+    }
+
+    private void endDeclaration() {
+        annotationState = NO_ANNOTATION;
+        annotated = false;
+        hasAnnotations = false;
+        declarationStarted = false;
+        typeDeclaration = false;
+        enumDeclaration = false;
+        inExpression = false;
+        parameters = false;
+        afterRecord = false;
+    }
+
+    private boolean popBlock() {
+        Block block = blocks.poll();
+        if (block == null) {
+            return false;
+        }
+        if (isCodeBlock(blocks.peek())) {
+            return true;
+        }
+        // Back in a type body or at the root of the file
+        endDeclaration();
+        parenDepth = block.parenDepth;
+        if (block.inExpression) {
+            // The block was in the initializer of a field (array, anonymous class...)
+            declarationStarted = true;
+            inExpression = true;
+        }
+        return true;
+    }
+
+    private static boolean isCodeBlock(Block block) {
+        return block != null
+               && (block.kind == CODE_BLOCK || block.kind == LOCAL_TYPE_BODY || block.kind == INITIALIZER_BLOCK);
+    }
+
+    /**
+     * Returns the kind of the declaration which starts with the given token.
+     */
+    private int scanNextDeclaration(int token) throws InvalidInputException {
+        int state = annotationState;
+        int depth = 0;
+        int angleDepth = 0;
+        boolean started = false;
+        boolean record = false;
+        nextHasModifiers = state != NO_ANNOTATION;
+        while (true) {
+            if (state == ANNOTATION_ARGUMENTS) {
+                if (token == ITerminalSymbols.TokenNameLPAREN) {
+                    depth++;
+                } else if (token == ITerminalSymbols.TokenNameRPAREN && --depth == 0) {
+                    state = NO_ANNOTATION;
+                } else if (token == ITerminalSymbols.TokenNameEOF) {
+                    // Unterminated annotation arguments
+                    return 0;
+                }
+            } else if (state == ANNOTATION_AT || state == ANNOTATION_DOT) {
+                if (token == ITerminalSymbols.TokenNameinterface) {
+                    return NEXT_TYPE;
+                }
+                if (token != ITerminalSymbols.TokenNameIdentifier) {
+                    return 0;
+                }
+                state = ANNOTATION_NAME;
+            } else if (state == ANNOTATION_NAME && token == ITerminalSymbols.TokenNameDOT) {
+                state = ANNOTATION_DOT;
+            } else if (state == ANNOTATION_NAME && token == ITerminalSymbols.TokenNameLPAREN) {
+                state = ANNOTATION_ARGUMENTS;
+                depth = 1;
+            } else {
+                state = NO_ANNOTATION;
+                switch (token) {
+                    case ITerminalSymbols.TokenNameEOF:
+                        return started ? 0 : NEXT_END_OF_FILE;
+                    case ITerminalSymbols.TokenNameCOMMENT_LINE:
+                    case ITerminalSymbols.TokenNameCOMMENT_BLOCK:
+                    case ITerminalSymbols.TokenNameCOMMENT_JAVADOC:
+                        break;
+                    case ITerminalSymbols.TokenNameAT:
+                        state = ANNOTATION_AT;
+                        nextHasModifiers = true;
+                        break;
+                    case ITerminalSymbols.TokenNamepublic:
+                    case ITerminalSymbols.TokenNameprotected:
+                    case ITerminalSymbols.TokenNameprivate:
+                    case ITerminalSymbols.TokenNamestatic:
+                    case ITerminalSymbols.TokenNamefinal:
+                    case ITerminalSymbols.TokenNameabstract:
+                    case ITerminalSymbols.TokenNamesynchronized:
+                    case ITerminalSymbols.TokenNamenative:
+                    case ITerminalSymbols.TokenNametransient:
+                    case ITerminalSymbols.TokenNamevolatile:
+                    case ITerminalSymbols.TokenNamestrictfp:
+                    case ITerminalSymbols.TokenNamedefault:
+                        nextHasModifiers |= !started;
+                        started = true;
+                        break;
+                    case ITerminalSymbols.TokenNameclass:
+                    case ITerminalSymbols.TokenNameinterface:
+                    case ITerminalSymbols.TokenNameenum:
+                        return NEXT_TYPE;
+                    case ITerminalSymbols.TokenNameRBRACE:
+                        return started ? 0 : NEXT_END_OF_TYPE;
+                    case ITerminalSymbols.TokenNameLPAREN:
+                        return angleDepth == 0 ? NEXT_METHOD : 0;
+                    case ITerminalSymbols.TokenNameEQUAL:
+                    case ITerminalSymbols.TokenNameSEMICOLON:
+                        return started && angleDepth == 0 ? NEXT_FIELD : 0;
+                    case ITerminalSymbols.TokenNameCOMMA:
+                        if (angleDepth == 0) {
+                            return started ? NEXT_FIELD : 0;
+                        }
+                        break;
+                    case ITerminalSymbols.TokenNameLBRACE:
+                        // Initializer
+                        return 0;
+                    case ITerminalSymbols.TokenNameLESS:
+                        angleDepth++;
+                        break;
+                    case ITerminalSymbols.TokenNameGREATER:
+                        angleDepth--;
+                        break;
+                    case ITerminalSymbols.TokenNameRIGHT_SHIFT:
+                        angleDepth -= 2;
+                        break;
+                    case ITerminalSymbols.TokenNameUNSIGNED_RIGHT_SHIFT:
+                        angleDepth -= 3;
+                        break;
+                    case ITerminalSymbols.TokenNameIdentifier:
+                        if (record && angleDepth == 0) {
+                            return NEXT_TYPE;
+                        }
+                        record = CharOperation.equals(RECORD, scanner.getCurrentTokenSource());
+                        started = true;
+                        break;
+                    default:
+                        started = true;
+                        break;
+                }
+                if (token != ITerminalSymbols.TokenNameIdentifier) {
+                    record = false;
+                }
+            }
+            token = scanner.getNextToken();
+        }
+    }
+}
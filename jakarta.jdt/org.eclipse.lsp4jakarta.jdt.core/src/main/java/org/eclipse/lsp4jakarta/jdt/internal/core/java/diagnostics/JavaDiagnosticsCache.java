@@ -0,0 +1,239 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4jakarta.commons.DocumentFormat;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsSettings;
+import org.eclipse.lsp4jakarta.jdt.internal.core.ClasspathResourceChangedManager;
+import org.eclipse.lsp4jakarta.jdt.internal.core.JavaModelChangeManager;
+
+/**
+ * Bounded LRU cache of the diagnostics computed for a Java file.
+ *
+ * <p>
+ * An entry is reused when the Java file has the same source content, the same
+ * document format and settings, and when the structure visible from its
+ * project didn't change since it was computed. The diagnostics of a file can
+ * depend on the other types of its project and of the projects it requires, so
+ * the fingerprint contains the generation of the {@link #STRUCTURE_CHANGES} of
+ * the project. Edits inside the method bodies of the other files, and the
+ * changes of the unrelated projects, keep the entries.
+ * </p>
+ *
+ * <p>
+ * The hit, miss and eviction counts of the cache are exposed to measure its
+ * efficiency.
+ * </p>
+ *
+ * @see JavaModelChangeManager
+ */
+public class JavaDiagnosticsCache {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaDiagnosticsCache.class.getName());
+
+    private static final JavaDiagnosticsCache INSTANCE = new JavaDiagnosticsCache();
+
+    private static final int MAX_ENTRIES = 500;
+
+    private static final int STRUCTURE_CHANGES = JavaModelChangeManager.CLASSPATH | JavaModelChangeManager.TYPES
+                                                 | JavaModelChangeManager.MEMBERS;
+
+    public static JavaDiagnosticsCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Diagnostics computed for a given fingerprint.
+     */
+    private static class CacheEntry {
+
+        private final String fingerprint;
+
+        private final List<Diagnostic> diagnostics;
+
+        public CacheEntry(String fingerprint, List<Diagnostic> diagnostics) {
+            this.fingerprint = fingerprint;
+            this.diagnostics = diagnostics;
+        }
+    }
+
+    // Java file uri -> last computed diagnostics, in access order
+    private final Map<String, CacheEntry> entries;
+
+    private final AtomicLong hitCount;
+
+    private final AtomicLong missCount;
+
+    private final AtomicLong evictionCount;
+
+    private JavaDiagnosticsCache() {
+        hitCount = new AtomicLong();
+        missCount = new AtomicLong();
+        evictionCount = new AtomicLong();
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > MAX_ENTRIES) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        JavaModelChangeManager.getInstance().addJavaModelChangedListener(kinds -> {
+            if ((kinds & JavaModelChangeManager.CLASSPATH) != 0) {
+                // Release the entries which depend on the previous classpath
+                clear();
+            }
+        });
+    }
+
+    /**
+     * Returns the fingerprint of the given Java file, used to store and retrieve
+     * its diagnostics, and null if the diagnostics must not be cached.
+     *
+     * @param typeRoot the Java file.
+     * @param documentFormat the document format.
+     * @param settings the diagnostics settings.
+     * @return the fingerprint of the given Java file and null if the diagnostics
+     *         must not be cached.
+     */
+    public String getFingerprint(ITypeRoot typeRoot, DocumentFormat documentFormat,
+                                 JakartaJavaDiagnosticsSettings settings) {
+        JavaModelChangeManager changeManager = JavaModelChangeManager.getInstance();
+        IJavaProject javaProject = typeRoot.getJavaProject();
+        if (!changeManager.isInitialized() || javaProject == null) {
+            return null;
+        }
+        try {
+            IBuffer buffer = typeRoot.getBuffer();
+            String contents = buffer != null ? buffer.getContents() : null;
+            if (contents == null) {
+                return null;
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String contentHash = Base64.getEncoder().encodeToString(digest.digest(contents.getBytes(StandardCharsets.UTF_8)));
+            return contentHash + '|' + changeManager.getGeneration(javaProject, STRUCTURE_CHANGES) + '|' + ClasspathResourceChangedManager.getInstance().getGeneration()
+                   + '|' + documentFormat + '|' + (settings != null ? settings.getPatterns() : null);
+        } catch (JavaModelException | NoSuchAlgorithmException e) {
+            LOGGER.log(Level.WARNING, "Error while computing the diagnostics fingerprint of " + typeRoot.getElementName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a copy of the diagnostics stored for the given uri and fingerprint
+     * and null otherwise.
+     *
+     * @param uri the Java file uri.
+     * @param fingerprint the fingerprint of the Java file.
+     * @return a copy of the diagnostics stored for the given uri and fingerprint
+     *         and null otherwise.
+     */
+    public List<Diagnostic> get(String uri, String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(uri);
+        }
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return new ArrayList<>(entry.diagnostics);
+    }
+
+    /**
+     * Store the diagnostics computed for the given uri and fingerprint.
+     *
+     * @param uri the Java file uri.
+     * @param fingerprint the fingerprint of the Java file when the diagnostics
+     *            computation started.
+     * @param diagnostics the computed diagnostics.
+     */
+    public void put(String uri, String fingerprint, List<Diagnostic> diagnostics) {
+        if (fingerprint == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(uri, new CacheEntry(fingerprint, new ArrayList<>(diagnostics)));
+        }
+    }
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return the number of cached entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of lookups which reused cached diagnostics.
+     *
+     * @return the number of lookups which reused cached diagnostics.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups which required to compute the diagnostics.
+     *
+     * @return the number of lookups which required to compute the diagnostics.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of entries removed because the cache was full.
+     *
+     * @return the number of entries removed because the cache was full.
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
@@ -13,15 +13,21 @@
 *******************************************************************************/
 package org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.InvalidRegistryObjectException;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsParticipant;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsVisitor;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.AbstractJavaFeatureDefinition;
 
 /**
@@ -32,9 +38,21 @@ import org.eclipse.lsp4jakarta.jdt.internal.core.java.AbstractJavaFeatureDefinit
  */
 public class JavaDiagnosticsDefinition extends AbstractJavaFeatureDefinition<IJavaDiagnosticsParticipant> implements IJavaDiagnosticsParticipant {
     private static final Logger LOGGER = Logger.getLogger(JavaDiagnosticsDefinition.class.getName());
+    private static final String PACKAGES_ATTR = "packages";
+
+    private final List<String> packages;
 
     public JavaDiagnosticsDefinition(IConfigurationElement element) {
         super(element);
+        this.packages = getPackages(element);
+    }
+
+    private static List<String> getPackages(IConfigurationElement element) throws InvalidRegistryObjectException {
+        String packages = element.getAttribute(PACKAGES_ATTR);
+        if (StringUtils.isBlank(packages)) {
+            return null;
+        }
+        return Arrays.stream(packages.split(",")).map(String::trim).filter(p -> !p.isEmpty()).collect(Collectors.toList());
     }
 
     // -------------- Diagnostics
@@ -42,6 +60,11 @@ public class JavaDiagnosticsDefinition extends AbstractJavaFeatureDefinition<IJa
     @Override
     public boolean isAdaptedForDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) {
         try {
+            // Skip the participant (without loading it) when the Java file doesn't
+            // reference the packages it validates
+            if (packages != null && !isReferencingPackages(context)) {
+                return false;
+            }
             return getParticipant().isAdaptedForDiagnostics(context, monitor);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error while calling isAdaptedForDiagnostics", e);
@@ -49,6 +72,15 @@ public class JavaDiagnosticsDefinition extends AbstractJavaFeatureDefinition<IJa
         }
     }
 
+    private boolean isReferencingPackages(JavaDiagnosticsContext context) throws JavaModelException {
+        for (String packageName : packages) {
+            if (context.getNameIndex().isReferencedPackage(packageName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void beginDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) {
         try {
@@ -58,6 +90,16 @@ public class JavaDiagnosticsDefinition extends AbstractJavaFeatureDefinition<IJa
         }
     }
 
+    @Override
+    public JavaDiagnosticsVisitor createDiagnosticsVisitor(JavaDiagnosticsContext context, IProgressMonitor monitor) {
+        try {
+            return getParticipant().createDiagnosticsVisitor(context, monitor);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error while calling createDiagnosticsVisitor", e);
+            return null;
+        }
+    }
+
     @Override
     public List<Diagnostic> collectDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) {
         try {
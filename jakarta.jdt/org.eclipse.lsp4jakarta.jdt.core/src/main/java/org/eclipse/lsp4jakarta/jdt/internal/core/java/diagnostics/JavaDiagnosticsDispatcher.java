@@ -0,0 +1,223 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IAnnotatable;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsVisitor;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaElementNameIndex;
+
+/**
+ * Walks the types, methods, fields and annotations of a compilation unit once
+ * and sends the events to all the registered {@link JavaDiagnosticsVisitor}.
+ *
+ * The annotations are resolved once per type and annotation name, and only
+ * sent to the visitors which registered the resolved fully qualified name.
+ */
+public class JavaDiagnosticsDispatcher {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaDiagnosticsDispatcher.class.getName());
+
+    private final List<JavaDiagnosticsVisitor> visitors;
+
+    private final Set<JavaDiagnosticsVisitor> failedVisitors;
+
+    public JavaDiagnosticsDispatcher() {
+        this.visitors = new ArrayList<>();
+        this.failedVisitors = new HashSet<>();
+    }
+
+    /**
+     * Register the given visitor.
+     *
+     * @param visitor the visitor to register.
+     */
+    public void addVisitor(JavaDiagnosticsVisitor visitor) {
+        visitors.add(visitor);
+    }
+
+    /**
+     * Returns the diagnostics collected by the given visitor and null if the
+     * visitor failed.
+     *
+     * @param visitor the visitor.
+     * @return the diagnostics collected by the given visitor and null if the
+     *         visitor failed.
+     */
+    public List<Diagnostic> getDiagnostics(JavaDiagnosticsVisitor visitor) {
+        return failedVisitors.contains(visitor) ? null : visitor.getDiagnostics();
+    }
+
+    /**
+     * Walk the compilation unit of the given context and notify the registered
+     * visitors.
+     *
+     * @param context the java diagnostics context.
+     * @param monitor the progress monitor.
+     */
+    public void dispatch(JavaDiagnosticsContext context, IProgressMonitor monitor) {
+        ITypeRoot typeRoot = context.getTypeRoot();
+        if (visitors.isEmpty() || !(typeRoot instanceof ICompilationUnit)) {
+            return;
+        }
+        try {
+            for (IType type : ((ICompilationUnit) typeRoot).getAllTypes()) {
+                if (monitor.isCanceled()) {
+                    return;
+                }
+                dispatch(type, context.getNameIndex());
+            }
+        } catch (JavaModelException e) {
+            LOGGER.log(Level.SEVERE, "Error while walking the compilation unit for diagnostics", e);
+            failedVisitors.addAll(visitors);
+        }
+    }
+
+    private void dispatch(IType type, JavaElementNameIndex nameIndex) throws JavaModelException {
+        List<JavaDiagnosticsVisitor> typeVisitors = new ArrayList<>();
+        for (JavaDiagnosticsVisitor visitor : visitors) {
+            if (failedVisitors.contains(visitor)) {
+                continue;
+            }
+            try {
+                if (visitor.visit(type)) {
+                    typeVisitors.add(visitor);
+                }
+            } catch (Exception e) {
+                fail(visitor, e);
+            }
+        }
+        if (typeVisitors.isEmpty()) {
+            return;
+        }
+
+        // The annotations are resolved against the names of all the visitors of the
+        // type, so that the resolution cache is valid for the member visitors too
+        Set<String> annotationNames = new HashSet<>();
+        for (JavaDiagnosticsVisitor visitor : typeVisitors) {
+            annotationNames.addAll(visitor.getAnnotationNames());
+        }
+        // Annotation simple or qualified name -> resolved fully qualified names
+        Map<String, List<String>> resolvedAnnotations = new HashMap<>();
+        dispatchAnnotations(type, type, typeVisitors, nameIndex, annotationNames, resolvedAnnotations);
+
+        List<JavaDiagnosticsVisitor> methodVisitors = getInterestedVisitors(typeVisitors, IJavaElement.METHOD);
+        if (!methodVisitors.isEmpty()) {
+            for (IMethod method : type.getMethods()) {
+                for (JavaDiagnosticsVisitor visitor : methodVisitors) {
+                    if (!failedVisitors.contains(visitor)) {
+                        try {
+                            visitor.visit(method);
+                        } catch (Exception e) {
+                            fail(visitor, e);
+                        }
+                    }
+                }
+                dispatchAnnotations(type, method, methodVisitors, nameIndex, annotationNames, resolvedAnnotations);
+            }
+        }
+
+        List<JavaDiagnosticsVisitor> fieldVisitors = getInterestedVisitors(typeVisitors, IJavaElement.FIELD);
+        if (!fieldVisitors.isEmpty()) {
+            for (IField field : type.getFields()) {
+                for (JavaDiagnosticsVisitor visitor : fieldVisitors) {
+                    if (!failedVisitors.contains(visitor)) {
+                        try {
+                            visitor.visit(field);
+                        } catch (Exception e) {
+                            fail(visitor, e);
+                        }
+                    }
+                }
+                dispatchAnnotations(type, field, fieldVisitors, nameIndex, annotationNames, resolvedAnnotations);
+            }
+        }
+
+        for (JavaDiagnosticsVisitor visitor : typeVisitors) {
+            if (!failedVisitors.contains(visitor)) {
+                try {
+                    visitor.endVisit(type);
+                } catch (Exception e) {
+                    fail(visitor, e);
+                }
+            }
+        }
+    }
+
+    private void dispatchAnnotations(IType type, IAnnotatable annotatable, List<JavaDiagnosticsVisitor> candidates,
+                                     JavaElementNameIndex nameIndex, Set<String> annotationNames,
+                                     Map<String, List<String>> resolvedAnnotations) throws JavaModelException {
+        if (annotationNames.isEmpty()) {
+            return;
+        }
+        for (IAnnotation annotation : annotatable.getAnnotations()) {
+            String elementName = annotation.getElementName();
+            List<String> annotationFQNames = resolvedAnnotations.get(elementName);
+            if (annotationFQNames == null) {
+                annotationFQNames = new ArrayList<>();
+                for (String annotationFQName : annotationNames) {
+                    if (nameIndex.isMatchedJavaElement(type, elementName, annotationFQName)) {
+                        annotationFQNames.add(annotationFQName);
+                    }
+                }
+                resolvedAnnotations.put(elementName, annotationFQNames);
+            }
+            for (String annotationFQName : annotationFQNames) {
+                for (JavaDiagnosticsVisitor visitor : candidates) {
+                    if (!failedVisitors.contains(visitor) && visitor.getAnnotationNames().contains(annotationFQName)) {
+                        try {
+                            visitor.visitAnnotation(annotation, annotationFQName, annotatable);
+                        } catch (Exception e) {
+                            fail(visitor, e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<JavaDiagnosticsVisitor> getInterestedVisitors(List<JavaDiagnosticsVisitor> visitors,
+                                                                      int elementType) {
+        List<JavaDiagnosticsVisitor> interestedVisitors = new ArrayList<>();
+        for (JavaDiagnosticsVisitor visitor : visitors) {
+            if (visitor.isInterestedIn(elementType)) {
+                interestedVisitors.add(visitor);
+            }
+        }
+        return interestedVisitors;
+    }
+
+    private void fail(JavaDiagnosticsVisitor visitor, Exception e) {
+        LOGGER.log(Level.SEVERE, "Error while collecting diagnostics with " + visitor.getClass().getName(), e);
+        failedVisitors.add(visitor);
+    }
+}
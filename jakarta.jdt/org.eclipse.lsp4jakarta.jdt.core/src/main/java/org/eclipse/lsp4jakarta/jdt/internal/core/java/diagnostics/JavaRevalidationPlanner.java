@@ -0,0 +1,192 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.internal.core.TypeHierarchyCache;
+
+/**
+ * Computes the Java files whose diagnostics can depend on a saved Java file.
+ *
+ * <p>
+ * A candidate file is affected when it is the saved file, when it belongs to
+ * the same package (package-info annotations), when one of its types is a
+ * subtype of a type of the saved file (supertype checks of servlets,
+ * websockets...) or when it references a type of the saved file. When the
+ * saved file is not a Java file of the workspace, all the candidates are
+ * affected.
+ * </p>
+ *
+ * <p>
+ * The references to a type which was renamed or removed by the save can't be
+ * searched anymore, so the type names of the saved file are recorded at each
+ * save and all the candidates are affected when the type names of the saved
+ * file are unknown (first save) or have changed since its previous save. Only
+ * the saved state is recorded: the unsaved edits of the other files are
+ * ignored.
+ * </p>
+ */
+public class JavaRevalidationPlanner {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaRevalidationPlanner.class.getName());
+
+    /**
+     * Saved uri -> fully qualified names of its types, as known by its last save.
+     */
+    private final Map<String, Set<String>> knownTypeNames = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the candidate uris whose diagnostics can depend on the saved uri, in
+     * the order of the candidates.
+     *
+     * @param savedUri the uri of the saved Java file.
+     * @param candidateUris the candidate Java file uris.
+     * @param utils the JDT utilities.
+     * @param monitor the progress monitor.
+     * @return the candidate uris whose diagnostics can depend on the saved uri.
+     */
+    public List<String> getAffectedUris(String savedUri, List<String> candidateUris, IJDTUtils utils,
+                                        IProgressMonitor monitor) {
+        ICompilationUnit savedUnit = savedUri != null ? utils.resolveCompilationUnit(savedUri) : null;
+        if (savedUnit == null || !savedUnit.exists()) {
+            return candidateUris;
+        }
+        try {
+            IType[] savedTypes = savedUnit.getAllTypes();
+            Set<String> previousTypeNames = knownTypeNames.get(savedUri);
+            Set<String> savedTypeNames = getTypeNames(savedTypes);
+            // Forget the closed files
+            knownTypeNames.keySet().retainAll(candidateUris);
+            knownTypeNames.put(savedUri, savedTypeNames);
+            if (!savedTypeNames.equals(previousTypeNames)) {
+                // The types before the save are unknown or were renamed, added or removed:
+                // the files which reference them can't be searched.
+                return candidateUris;
+            }
+
+            String packageName = savedUnit.getParent().getElementName();
+
+            Set<String> affectedUris = new HashSet<>();
+            // Compilation unit -> uri of the candidates which are not affected yet
+            Map<ICompilationUnit, String> remainingUnits = new LinkedHashMap<>();
+            for (String uri : candidateUris) {
+                if (monitor.isCanceled()) {
+                    return candidateUris;
+                }
+                if (uri.equals(savedUri)) {
+                    affectedUris.add(uri);
+                    continue;
+                }
+                ICompilationUnit unit = utils.resolveCompilationUnit(uri);
+                if (unit == null || !unit.exists()) {
+                    continue;
+                }
+                if (packageName.equals(unit.getParent().getElementName()) || isSubtype(unit, savedTypes)) {
+                    affectedUris.add(uri);
+                } else {
+                    remainingUnits.put(unit, uri);
+                }
+            }
+
+            if (savedTypes.length > 0 && !remainingUnits.isEmpty()) {
+                // Search the references to the saved types only in the remaining units
+                affectedUris.addAll(searchReferences(savedTypes, remainingUnits, monitor));
+            }
+
+            List<String> result = new ArrayList<>();
+            for (String uri : candidateUris) {
+                if (affectedUris.contains(uri)) {
+                    result.add(uri);
+                }
+            }
+            return result;
+        } catch (CoreException e) {
+            LOGGER.log(Level.WARNING, "Error while computing the Java files affected by " + savedUri, e);
+            return candidateUris;
+        }
+    }
+
+    private static Set<String> getTypeNames(IType[] types) {
+        Set<String> typeNames = new HashSet<>();
+        for (IType type : types) {
+            typeNames.add(type.getFullyQualifiedName());
+        }
+        return typeNames;
+    }
+
+    private static boolean isSubtype(ICompilationUnit unit, IType[] savedTypes) throws JavaModelException {
+        if (savedTypes.length == 0) {
+            return false;
+        }
+        Set<IType> types = new HashSet<>(Arrays.asList(savedTypes));
+        for (IType type : unit.getAllTypes()) {
+            for (IType supertype : TypeHierarchyCache.getInstance().getAllSupertypes(type)) {
+                if (types.contains(supertype)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> searchReferences(IType[] savedTypes, Map<ICompilationUnit, String> units,
+                                                IProgressMonitor monitor) throws CoreException {
+        SearchPattern pattern = null;
+        for (IType type : savedTypes) {
+            SearchPattern typePattern = SearchPattern.createPattern(type, IJavaSearchConstants.REFERENCES);
+            pattern = pattern == null ? typePattern : SearchPattern.createOrPattern(pattern, typePattern);
+        }
+        Set<String> referencingUris = new HashSet<>();
+        SearchEngine engine = new SearchEngine();
+        engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+                      SearchEngine.createJavaSearchScope(units.keySet().toArray(new IJavaElement[units.size()])),
+                      new SearchRequestor() {
+
+                          @Override
+                          public void acceptSearchMatch(SearchMatch match) throws CoreException {
+                              Object element = match.getElement();
+                              if (element instanceof IJavaElement) {
+                                  IJavaElement unit = ((IJavaElement) element).getAncestor(IJavaElement.COMPILATION_UNIT);
+                                  String uri = units.get(unit);
+                                  if (uri != null) {
+                                      referencingUris.add(uri);
+                                  }
+                              }
+                          }
+                      }, monitor);
+        return referencingUris;
+    }
+}
@@ -13,9 +13,15 @@
 *******************************************************************************/
 package org.eclipse.lsp4jakarta.jdt.internal.core.ls;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.eclipse.jdt.ls.core.internal.IDelegateCommandHandler;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.lsp4jakarta.jdt.core.IClasspathChangedListener;
+import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
 
 /**
  * Abstract class for MicroProfile JDT LS command handler
@@ -27,6 +33,18 @@ public abstract class AbstractJakartaDelegateCommandHandler implements IDelegate
 
     private static final Logger LOGGER = Logger.getLogger(AbstractJakartaDelegateCommandHandler.class.getName());
 
+    private static final String CLASSPATH_CHANGED_COMMAND = "jakarta/classpathChanged";
+
+    private static final IClasspathChangedListener LISTENER = (event) -> {
+        try {
+            // Execute client command with a timeout of 5 seconds to avoid blocking jobs.
+            JavaLanguageServerPlugin.getInstance().getClientConnection().executeClientCommand(Duration.of(5, ChronoUnit.SECONDS),
+                                                                                              CLASSPATH_CHANGED_COMMAND, event);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error while sending '" + CLASSPATH_CHANGED_COMMAND + "' event to the client", e);
+        }
+    };
+
     private static boolean initialized;
 
     public AbstractJakartaDelegateCommandHandler() {
@@ -34,12 +52,15 @@ public abstract class AbstractJakartaDelegateCommandHandler implements IDelegate
     }
 
     /**
-     * Add MicroProfile properties changed listener if needed.
+     * Add classpath changed listener if needed.
      */
     private static synchronized void initialize() {
         if (initialized) {
             return;
         }
+        // Add a classpath changed listener to execute client command
+        // "jakarta/classpathChanged"
+        JakartaCorePlugin.getDefault().addClasspathChangedListener(LISTENER);
         initialized = true;
     }
 }
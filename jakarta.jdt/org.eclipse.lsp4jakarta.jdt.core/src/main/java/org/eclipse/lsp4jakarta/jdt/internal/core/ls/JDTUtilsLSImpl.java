@@ -38,6 +38,7 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.commons.DocumentFormat;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.utils.LineOffsetIndex;
 
 /**
  * {@link IJDTUtils} implementation with JDT S {@link JDTUtils}.
@@ -91,7 +92,11 @@ public class JDTUtilsLSImpl implements IJDTUtils {
 
     @Override
     public Range toRange(IOpenable openable, int offset, int length) throws JavaModelException {
-        return JDTUtils.toRange(openable, offset, length);
+        LineOffsetIndex index = LineOffsetIndex.getIndex(openable);
+        if (index == null) {
+            return JDTUtils.toRange(openable, offset, length);
+        }
+        return index.toRange(offset, length);
     }
 
     @Override
@@ -117,7 +122,11 @@ public class JDTUtilsLSImpl implements IJDTUtils {
 
     @Override
     public int toOffset(IBuffer buffer, int line, int column) {
-        return JsonRpcHelpers.toOffset(buffer, line, column);
+        LineOffsetIndex index = LineOffsetIndex.getIndex(buffer);
+        if (index == null) {
+            return JsonRpcHelpers.toOffset(buffer, line, column);
+        }
+        return index.toOffset(line, column);
     }
 
     @Override
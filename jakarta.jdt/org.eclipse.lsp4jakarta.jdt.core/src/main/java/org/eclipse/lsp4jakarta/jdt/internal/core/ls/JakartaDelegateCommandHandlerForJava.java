@@ -34,11 +34,11 @@ import org.eclipse.jdt.ls.core.internal.IDelegateCommandHandler;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionContext;
-import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaAffectedUrisParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionResult;
@@ -46,7 +46,6 @@ import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsSettings;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfo;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfoParams;
-import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.commons.codeaction.CodeActionResolveData;
 import org.eclipse.lsp4jakarta.commons.utils.JSONUtility;
 import org.eclipse.lsp4jakarta.jdt.core.PropertiesManagerForJava;
@@ -61,6 +60,7 @@ public class JakartaDelegateCommandHandlerForJava extends AbstractJakartaDelegat
     private static final String JAVA_CODEACTION_RESOLVE_COMMAND_ID = "jakarta/java/codeActionResolve";
     private static final String JAVA_COMPLETION_COMMAND_ID = "jakarta/java/completion";
     private static final String JAVA_DIAGNOSTICS_COMMAND_ID = "jakarta/java/diagnostics";
+    private static final String JAVA_AFFECTED_URIS_COMMAND_ID = "jakarta/java/affectedUris";
 
     public JakartaDelegateCommandHandlerForJava() {}
 
@@ -87,6 +87,8 @@ public class JakartaDelegateCommandHandlerForJava extends AbstractJakartaDelegat
                 return getCompletionForJava(arguments, commandId, monitor);
             case JAVA_DIAGNOSTICS_COMMAND_ID:
                 return getDiagnosticsForJava(arguments, commandId, monitor);
+            case JAVA_AFFECTED_URIS_COMMAND_ID:
+                return getAffectedUrisForJava(arguments, commandId, monitor);
             default:
                 throw new UnsupportedOperationException(String.format("Unsupported command '%s'!", commandId));
         }
@@ -148,11 +150,7 @@ public class JakartaDelegateCommandHandlerForJava extends AbstractJakartaDelegat
     private static JakartaJavaCompletionResult getCompletionForJava(List<Object> arguments, String commandId,
                                                                     IProgressMonitor monitor) throws JavaModelException, CoreException {
         JakartaJavaCompletionParams params = createJakartaJavaCompletionParams(arguments, commandId);
-        CompletionList completionList = PropertiesManagerForJava.getInstance().completion(params,
-                                                                                          JDTUtilsLSImpl.getInstance(), monitor);
-        JavaCursorContextResult cursorContext = PropertiesManagerForJava.getInstance().javaCursorContext(params,
-                                                                                                         JDTUtilsLSImpl.getInstance(), monitor);
-        return new JakartaJavaCompletionResult(completionList, cursorContext);
+        return PropertiesManagerForJava.getInstance().javaCompletion(params, JDTUtilsLSImpl.getInstance(), monitor);
     }
 
     /**
@@ -332,4 +330,47 @@ public class JakartaDelegateCommandHandlerForJava extends AbstractJakartaDelegat
         }
         return new JakartaJavaDiagnosticsParams(javaFileUri, settings);
     }
+
+    /**
+     * Returns the java file URIs whose diagnostics can depend on the saved java
+     * file URI in arguments map.
+     *
+     * @param arguments JakartaJavaAffectedUrisParams
+     * @param commandId String name of command message
+     * @param monitor
+     * @return the affected java file URIs.
+     */
+    private static List<String> getAffectedUrisForJava(List<Object> arguments, String commandId,
+                                                       IProgressMonitor monitor) {
+        // Create java affected uris parameter
+        JakartaJavaAffectedUrisParams params = createJakartaJavaAffectedUrisParams(arguments, commandId);
+        // Return affected uris from parameter
+        return PropertiesManagerForJava.getInstance().affectedUris(params, JDTUtilsLSImpl.getInstance(), monitor);
+    }
+
+    /**
+     * Returns the java affected uris parameters from the given arguments map.
+     *
+     * @param arguments JakartaJavaAffectedUrisParams @see
+     *            org.eclipse.lsp4jakarta.commons.JakartaJavaAffectedUrisParams
+     * @param commandId String name of command message
+     *
+     * @return the java affected uris parameters
+     */
+    private static JakartaJavaAffectedUrisParams createJakartaJavaAffectedUrisParams(List<Object> arguments,
+                                                                                     String commandId) {
+        Map<String, Object> obj = getFirst(arguments);
+        if (obj == null) {
+            throw new UnsupportedOperationException(String.format(
+                                                                  "Command '%s' must be called with one JakartaJavaAffectedUrisParams argument!", commandId));
+        }
+        String javaFileUri = getString(obj, "uri");
+        List<String> javaFileUris = getStringList(obj, "uris");
+        if (javaFileUri == null || javaFileUris == null) {
+            throw new UnsupportedOperationException(String.format(
+                                                                  "Command '%s' must be called with required JakartaJavaAffectedUrisParams.uri and JakartaJavaAffectedUrisParams.uris (java URIs)!",
+                                                                  commandId));
+        }
+        return new JakartaJavaAffectedUrisParams(javaFileUri, javaFileUris);
+    }
 }
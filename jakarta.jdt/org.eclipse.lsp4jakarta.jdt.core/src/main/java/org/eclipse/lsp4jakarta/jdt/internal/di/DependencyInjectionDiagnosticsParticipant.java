@@ -40,7 +40,8 @@ import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
-import org.eclipse.lsp4jakarta.jdt.internal.core.java.ManagedBean;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.BeanTypeFacts;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.BeanTypeFactsCache;
 import org.eclipse.lsp4jakarta.jdt.internal.core.java.Primitive;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
@@ -71,7 +72,7 @@ public class DependencyInjectionDiagnosticsParticipant implements IJavaDiagnosti
             IField[] allFields = type.getFields();
             for (IField field : allFields) {
                 if (Flags.isFinal(field.getFlags())
-                    && containsAnnotation(type, field.getAnnotations(), INJECT_FQ_NAME)) {
+                    && containsAnnotation(context, type, field.getAnnotations(), INJECT_FQ_NAME)) {
                     String msg = Messages.getMessage("InjectNoFinalField");
                     Range range = PositionUtils.toNameRange(field,
                                                             context.getUtils());
@@ -86,36 +87,35 @@ public class DependencyInjectionDiagnosticsParticipant implements IJavaDiagnosti
             IMethod[] allMethods = type.getMethods();
             for (IMethod method : allMethods) {
 
-                Range range = PositionUtils.toNameRange(method, context.getUtils());
                 int methodFlag = method.getFlags();
-                if (containsAnnotation(type, method.getAnnotations(), INJECT_FQ_NAME)) {
+                if (containsAnnotation(context, type, method.getAnnotations(), INJECT_FQ_NAME)) {
                     if (DiagnosticUtils.isConstructorMethod(method))
                         injectedConstructors.add(method);
                     if (Flags.isFinal(methodFlag)) {
                         String msg = Messages.getMessage("InjectNoFinalMethod");
 
-                        diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                        diagnostics.add(context.createDiagnostic(uri, msg, method, Constants.DIAGNOSTIC_SOURCE,
                                                                  ErrorCode.InvalidInjectAnnotationOnFinalMethod,
                                                                  DiagnosticSeverity.Error));
                     }
 
                     if (Flags.isAbstract(methodFlag)) {
                         String msg = Messages.getMessage("InjectNoAbstractMethod");
-                        diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                        diagnostics.add(context.createDiagnostic(uri, msg, method, Constants.DIAGNOSTIC_SOURCE,
                                                                  ErrorCode.InvalidInjectAnnotationOnAbstractMethod,
                                                                  DiagnosticSeverity.Error));
                     }
 
                     if (Flags.isStatic(methodFlag)) {
                         String msg = Messages.getMessage("InjectNoStaticMethod");
-                        diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                        diagnostics.add(context.createDiagnostic(uri, msg, method, Constants.DIAGNOSTIC_SOURCE,
                                                                  ErrorCode.InvalidInjectAnnotationOnStaticMethod,
                                                                  DiagnosticSeverity.Error));
                     }
 
                     if (method.getTypeParameters().length != 0) {
                         String msg = Messages.getMessage("InjectNoGenericMethod");
-                        diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                        diagnostics.add(context.createDiagnostic(uri, msg, method, Constants.DIAGNOSTIC_SOURCE,
                                                                  ErrorCode.InvalidInjectAnnotationOnGenericMethod,
                                                                  DiagnosticSeverity.Error));
                     }
@@ -153,10 +153,10 @@ public class DependencyInjectionDiagnosticsParticipant implements IJavaDiagnosti
         return diagnostics;
     }
 
-    private boolean containsAnnotation(IType type, IAnnotation[] annotations, String annotationFQName) {
+    private boolean containsAnnotation(JavaDiagnosticsContext context, IType type, IAnnotation[] annotations, String annotationFQName) {
         return Stream.of(annotations).anyMatch(annotation -> {
             try {
-                return DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(), annotationFQName);
+                return context.getNameIndex().isMatchedJavaElement(type, annotation.getElementName(), annotationFQName);
             } catch (JavaModelException e) {
                 JakartaCorePlugin.logException("Cannot validate annotations", e);
                 return false;
@@ -179,13 +179,12 @@ public class DependencyInjectionDiagnosticsParticipant implements IJavaDiagnosti
             // Note: Although, these checks apply to all managed bean parameters that are injections points,
             // some of these checks may not apply to other non-managed beans that are injectable.
             // Further consideration is required.
-            Range range = PositionUtils.toNameRange(variable, context.getUtils());
-            IType variableType = ManagedBean.variableSignatureToType(variable);
+            IType variableType = BeanTypeFactsCache.getInstance().getVariableType(variable);
 
             // Check if the type is a primitive.
             if (Primitive.isPrimitive(variable)) {
                 String msg = Messages.getMessage("InjectionPointInvalidPrimitiveBean");
-                diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                diagnostics.add(context.createDiagnostic(uri, msg, variable, Constants.DIAGNOSTIC_SOURCE,
                                                          ErrorCode.InjectionPointInvalidPrimitiveBean,
                                                          DiagnosticSeverity.Warning));
 
@@ -193,42 +192,45 @@ public class DependencyInjectionDiagnosticsParticipant implements IJavaDiagnosti
                 return;
             }
 
+            // The classification of the type is shared by all its injection points.
+            BeanTypeFacts variableTypeFacts = BeanTypeFactsCache.getInstance().getFacts(variableType);
+
             // Check if the type is an inner class.
-            if (ManagedBean.isInnerClass(variableType)) {
+            if (variableTypeFacts.isInnerClass()) {
                 String msg = Messages.getMessage("InjectionPointInvalidInnerClassBean");
-                diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                diagnostics.add(context.createDiagnostic(uri, msg, variable, Constants.DIAGNOSTIC_SOURCE,
                                                          ErrorCode.InjectionPointInvalidInnerClassBean,
                                                          DiagnosticSeverity.Warning));
             }
 
             // Check if the type is an abstract class or is not annotated with @Decorator.
-            if (ManagedBean.isAbstractClass(variableType) && !ManagedBean.isAnnotatedClass(variableType, ManagedBean.DECORATOR_ANNOTATION)) {
+            if (variableTypeFacts.isAbstractClass() && !variableTypeFacts.isDecorator()) {
                 String msg = Messages.getMessage("InjectionPointInvalidAbstractClassBean");
-                diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                diagnostics.add(context.createDiagnostic(uri, msg, variable, Constants.DIAGNOSTIC_SOURCE,
                                                          ErrorCode.InjectionPointInvalidAbstractClassBean,
                                                          DiagnosticSeverity.Warning));
             }
 
             // Check if the type implements jakarta.enterprise.inject.spi.Extension
-            if (ManagedBean.implementsExtends(variableType, ManagedBean.EXTENSION_SERVICE_IFACE)) {
+            if (variableTypeFacts.isExtension()) {
                 String msg = Messages.getMessage("InjectionPointInvalidExtensionProviderBean");
-                diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                diagnostics.add(context.createDiagnostic(uri, msg, variable, Constants.DIAGNOSTIC_SOURCE,
                                                          ErrorCode.InjectionPointInvalidExtensionProviderBean,
                                                          DiagnosticSeverity.Warning));
             }
 
             // Check if the type is annotated @Vetoed or in a package annotated @Vetoed.
-            if (ManagedBean.isAnnotatedClass(variableType, ManagedBean.VETOED_ANNOTATION) || ManagedBean.isPackageMetadataAnnotated(variableType, ManagedBean.VETOED_ANNOTATION)) {
+            if (variableTypeFacts.isVetoed()) {
                 String msg = Messages.getMessage("InjectionPointInvalidVetoedClassBean");
-                diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                diagnostics.add(context.createDiagnostic(uri, msg, variable, Constants.DIAGNOSTIC_SOURCE,
                                                          ErrorCode.InjectionPointInvalidVetoedClassBean,
                                                          DiagnosticSeverity.Warning));
             }
 
             // Check if the type does not have a constructor with no parameters or the class declares a constructor that is not annotated @Inject.
-            if (!ManagedBean.containsValidConstructor(variableType)) {
+            if (!variableTypeFacts.hasValidConstructor()) {
                 String msg = Messages.getMessage("InjectionPointInvalidConstructorBean");
-                diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
+                diagnostics.add(context.createDiagnostic(uri, msg, variable, Constants.DIAGNOSTIC_SOURCE,
                                                          ErrorCode.InjectionPointInvalidConstructorBean,
                                                          DiagnosticSeverity.Warning));
             }
@@ -61,9 +61,9 @@ public class ClassConstructorDiagnosticsParticipant implements IJavaDiagnosticsP
                 IAnnotation[] annotationList = type.getAnnotations();
 
                 for (IAnnotation annotation : annotationList) {
-                    String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                         annotation.getElementName(),
-                                                                                         Constants.SET_OF_JAXRS_ANNOTATIONS1);
+                    String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                annotation.getElementName(),
+                                                                                                Constants.SET_OF_JAXRS_ANNOTATIONS1);
                     if (matchedAnnotation != null) {
                         if (Constants.PATH_ANNOTATION.equals(matchedAnnotation)) {
                             isRootResource = true;
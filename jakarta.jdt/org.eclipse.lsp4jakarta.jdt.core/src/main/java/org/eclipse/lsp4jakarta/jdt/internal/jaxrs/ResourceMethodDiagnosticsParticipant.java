@@ -29,11 +29,8 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
-import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsParticipant;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
-import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
-import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
 
 /**
@@ -71,11 +68,10 @@ public class ResourceMethodDiagnosticsParticipant implements IJavaDiagnosticsPar
                     boolean isValid = true;
                     boolean isPublic = Flags.isPublic(method.getFlags());
                     boolean usesDfltAccessModifier = Flags.isPackageDefault(method.getFlags());
-                    Range methodRange = PositionUtils.toNameRange(method, context.getUtils());
 
                     for (IAnnotation annotation : methodAnnotations) {
-                        String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                             annotation.getElementName(), methodDesignators);
+                        String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                    annotation.getElementName(), methodDesignators);
                         if (matchedAnnotation != null) {
                             if (isValid && !isPublic && !(usesDfltAccessModifier && isInterface))
                                 isValid = false;
@@ -87,7 +83,7 @@ public class ResourceMethodDiagnosticsParticipant implements IJavaDiagnosticsPar
                     }
                     if (!isValid) {
                         diagnostics.add(context.createDiagnostic(uri, Messages.getMessage("OnlyPublicMethods"),
-                                                                 methodRange, Constants.DIAGNOSTIC_SOURCE, ErrorCode.NonPublicResourceMethod,
+                                                                 method, Constants.DIAGNOSTIC_SOURCE, ErrorCode.NonPublicResourceMethod,
                                                                  DiagnosticSeverity.Error));
                     }
                     if (isResourceMethod) {
@@ -97,8 +93,9 @@ public class ResourceMethodDiagnosticsParticipant implements IJavaDiagnosticsPar
                             boolean isEntityParam = true;
                             IAnnotation[] annotations = param.getAnnotations();
                             for (IAnnotation annotation : annotations) {
-                                String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                                     annotation.getElementName(), Constants.SET_OF_NON_ENTITY_PARAM_ANNOTATIONS);
+                                String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                            annotation.getElementName(),
+                                                                                                            Constants.SET_OF_NON_ENTITY_PARAM_ANNOTATIONS);
                                 if (matchedAnnotation != null) {
                                     isEntityParam = false;
                                     break;
@@ -110,7 +107,7 @@ public class ResourceMethodDiagnosticsParticipant implements IJavaDiagnosticsPar
                         if (numEntityParams > 1) {
                             diagnostics.add(
                                             context.createDiagnostic(uri, Messages.getMessage("ResourceMethodsEntityParameter"),
-                                                                     methodRange, Constants.DIAGNOSTIC_SOURCE,
+                                                                     method, Constants.DIAGNOSTIC_SOURCE,
                                                                      ErrorCode.ResourceMethodMultipleEntityParams, DiagnosticSeverity.Error));
                         }
                     }
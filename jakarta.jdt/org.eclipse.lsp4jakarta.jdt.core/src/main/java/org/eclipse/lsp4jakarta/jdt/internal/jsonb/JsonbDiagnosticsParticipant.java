@@ -71,8 +71,8 @@ public class JsonbDiagnosticsParticipant implements IJavaDiagnosticsParticipant
                 if (DiagnosticUtils.isConstructorMethod(method) || Flags.isStatic(method.getFlags())) {
                     allAnnotations = method.getAnnotations();
                     for (IAnnotation annotation : allAnnotations) {
-                        if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                                 Constants.JSONB_CREATOR))
+                        if (context.getNameIndex().isMatchedJavaElement(type, annotation.getElementName(),
+                                                                        Constants.JSONB_CREATOR))
                             jonbMethods.add(method);
                     }
                 }
@@ -96,14 +96,14 @@ public class JsonbDiagnosticsParticipant implements IJavaDiagnosticsParticipant
 
     private void collectJsonbTransientFieldDiagnostics(JavaDiagnosticsContext context, String uri,
                                                        ICompilationUnit unit, IType type, List<Diagnostic> diagnostics, IField field) throws JavaModelException {
-        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(type, field);
+        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(context, type, field);
         if (jsonbAnnotationsForField.contains(Constants.JSONB_TRANSIENT_FQ_NAME)) {
             boolean hasAccessorConflict = false;
             // Diagnostics on the accessors of the field are created when they are
             // annotated with Jsonb annotations other than JsonbTransient.
             List<IMethod> accessors = DiagnosticUtils.getFieldAccessors(unit, field);
             for (IMethod accessor : accessors) {
-                List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(type, accessor);
+                List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(context, type, accessor);
                 if (hasJsonbAnnotationOtherThanTransient(jsonbAnnotationsForAccessor)) {
                     Range range = PositionUtils.toNameRange(accessor, context.getUtils());
                     createJsonbTransientDiagnostic(context, uri, range, unit, diagnostics, accessor,
@@ -127,10 +127,10 @@ public class JsonbDiagnosticsParticipant implements IJavaDiagnosticsParticipant
                                                           ICompilationUnit unit, IType type,
                                                           List<Diagnostic> diagnostics, IField field) throws JavaModelException {
         boolean createDiagnosticForField = false;
-        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(type, field);
+        List<String> jsonbAnnotationsForField = getJsonbAnnotationNames(context, type, field);
         List<IMethod> accessors = DiagnosticUtils.getFieldAccessors(unit, field);
         for (IMethod accessor : accessors) {
-            List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(type, accessor);
+            List<String> jsonbAnnotationsForAccessor = getJsonbAnnotationNames(context, type, accessor);
             boolean hasFieldConflict = false;
             if (jsonbAnnotationsForAccessor.contains(Constants.JSONB_TRANSIENT_FQ_NAME)) {
                 // Diagnostic is created if the field of this accessor has a annotation other
@@ -180,12 +180,12 @@ public class JsonbDiagnosticsParticipant implements IJavaDiagnosticsParticipant
         return true;
     }
 
-    private List<String> getJsonbAnnotationNames(IType type, IAnnotatable annotable) throws JavaModelException {
+    private List<String> getJsonbAnnotationNames(JavaDiagnosticsContext context, IType type, IAnnotatable annotable) throws JavaModelException {
         List<String> jsonbAnnotationNames = new ArrayList<String>();
         IAnnotation annotations[] = annotable.getAnnotations();
         for (IAnnotation annotation : annotations) {
-            String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type, annotation.getElementName(),
-                                                                                 Constants.JSONB_ANNOTATIONS.toArray(String[]::new));
+            String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type, annotation.getElementName(),
+                                                                                        Constants.JSONB_ANNOTATIONS.toArray(String[]::new));
             if (matchedAnnotation != null) {
                 jsonbAnnotationNames.add(matchedAnnotation);
             }
@@ -24,7 +24,6 @@ import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.MethodInvocation;
 import org.eclipse.jdt.core.dom.StringLiteral;
-import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
@@ -32,8 +31,8 @@ import org.eclipse.lsp4jakarta.jdt.core.ASTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsParticipant;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaElementNameIndex;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
-import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
@@ -53,10 +52,12 @@ public class JsonpDiagnosticParticipant implements IJavaDiagnosticsParticipant {
             return diagnostics;
         }
 
-        List<MethodInvocation> allMethodInvocations = ASTUtils.getMethodInvocations(unit);
+        // The shared AST recovers the statements of the method bodies with syntax
+        // errors, so their invocations are checked too.
+        List<MethodInvocation> allMethodInvocations = ASTUtils.getMethodInvocations(context.getASTRoot());
         List<MethodInvocation> createPointerInvocations = allMethodInvocations.stream().filter(mi -> {
             try {
-                return isMatchedJsonCreatePointer(unit, mi);
+                return isMatchedJsonCreatePointer(context.getNameIndex(), mi);
             } catch (JavaModelException e) {
                 return false;
             }
@@ -70,7 +71,7 @@ public class JsonpDiagnosticParticipant implements IJavaDiagnosticsParticipant {
                 // argument is created.
                 try {
                     String msg = Messages.getMessage("CreatePointerErrorMessage");
-                    Range range = JDTUtils.toRange(unit, arg.getStartPosition(), arg.getLength());
+                    Range range = utils.toRange(unit, arg.getStartPosition(), arg.getLength());
                     diagnostics.add(context.createDiagnostic(uri, msg, range, Constants.DIAGNOSTIC_SOURCE,
                                                              ErrorCode.InvalidJsonCreatePointerTarget, DiagnosticSeverity.Error));
                 } catch (JavaModelException e) {
@@ -93,7 +94,7 @@ public class JsonpDiagnosticParticipant implements IJavaDiagnosticsParticipant {
         return false;
     }
 
-    private boolean isMatchedJsonCreatePointer(ICompilationUnit unit, MethodInvocation mi) throws JavaModelException {
+    private boolean isMatchedJsonCreatePointer(JavaElementNameIndex nameIndex, MethodInvocation mi) throws JavaModelException {
         if (mi.arguments().size() == 1 && Constants.CREATE_POINTER.equals(mi.getName().getIdentifier())
             && mi.getExpression() != null) {
             Expression ex = mi.getExpression();
@@ -101,7 +102,7 @@ public class JsonpDiagnosticParticipant implements IJavaDiagnosticsParticipant {
             if (Constants.JSON_FQ_NAME.endsWith(qualifier)) {
                 // For performance reason, we check if the import of Java element name is
                 // declared
-                if (DiagnosticUtils.isImportedJavaElement(unit, Constants.JSON_FQ_NAME) == true)
+                if (nameIndex.isImportedJavaElement(Constants.JSON_FQ_NAME) == true)
                     return true;
                 // only check fully qualified java element
                 if (Constants.JSON_FQ_NAME.equals(qualifier)) {
@@ -15,6 +15,7 @@ package org.eclipse.lsp4jakarta.jdt.internal.persistence;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -26,9 +27,10 @@ import org.eclipse.jdt.core.Flags;
  */
 
 // Imports
+import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.lsp4j.Diagnostic;
@@ -36,11 +38,10 @@ import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsParticipant;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
-import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsVisitor;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
-import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
 /**
  * Persistence diagnostic participant that manages the use of @Entity
@@ -48,106 +49,139 @@ import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
  */
 public class PersistenceEntityDiagnosticsParticipant implements IJavaDiagnosticsParticipant {
 
+    private static final Set<String> ENTITY_ANNOTATION_NAMES = Set.of(Constants.ENTITY);
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Diagnostic> collectDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
-        String uri = context.getUri();
-        IJDTUtils utils = JDTUtilsLSImpl.getInstance();
-        ICompilationUnit unit = utils.resolveCompilationUnit(uri);
-        List<Diagnostic> diagnostics = new ArrayList<>();
-
-        if (unit == null) {
-            return diagnostics;
+    public JavaDiagnosticsVisitor createDiagnosticsVisitor(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
+        return new EntityDiagnosticsVisitor(context);
+    }
+
+    /**
+     * Collects the diagnostics of the classes annotated with @Entity.
+     */
+    private class EntityDiagnosticsVisitor extends JavaDiagnosticsVisitor {
+
+        private boolean isEntityAnnotated;
+
+        // Define boolean requirements for the diagnostics
+        private boolean hasPublicOrProtectedNoArgConstructor;
+        private boolean hasArgConstructor;
+
+        private final List<IMethod> finalMethods = new ArrayList<>();
+        private final List<IField> finalFields = new ArrayList<>();
+
+        public EntityDiagnosticsVisitor(JavaDiagnosticsContext context) {
+            super(context);
         }
 
-        IType[] alltypes;
-        IAnnotation[] allAnnotations;
+        @Override
+        public boolean isInterestedIn(int elementType) {
+            return elementType == IJavaElement.METHOD || elementType == IJavaElement.FIELD;
+        }
 
-        alltypes = unit.getAllTypes();
-        for (IType type : alltypes) {
-            allAnnotations = type.getAnnotations();
+        @Override
+        public Set<String> getAnnotationNames() {
+            return ENTITY_ANNOTATION_NAMES;
+        }
 
-            IAnnotation EntityAnnotation = null;
-            for (IAnnotation annotation : allAnnotations) {
-                if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                         Constants.ENTITY)) {
-                    EntityAnnotation = annotation;
-                }
+        @Override
+        public boolean visit(IType type) throws CoreException {
+            isEntityAnnotated = false;
+            hasPublicOrProtectedNoArgConstructor = false;
+            hasArgConstructor = false;
+            finalMethods.clear();
+            finalFields.clear();
+            return true;
+        }
+
+        @Override
+        public void visitAnnotation(IAnnotation annotation, String annotationFQName,
+                                    IAnnotatable annotatable) throws CoreException {
+            if (annotatable instanceof IType) {
+                isEntityAnnotated = true;
             }
+        }
 
-            if (EntityAnnotation != null) {
-                // Define boolean requirements for the diagnostics
-                boolean hasPublicOrProtectedNoArgConstructor = false;
-                boolean hasArgConstructor = false;
-                boolean isEntityClassFinal = false;
-
-                // Get the Methods of the annotated Class
-                for (IMethod method : type.getMethods()) {
-                    if (DiagnosticUtils.isConstructorMethod(method)) {
-                        // We have found a method that is a constructor
-                        if (method.getNumberOfParameters() > 0) {
-                            hasArgConstructor = true;
-                            continue;
-                        }
-                        // Don't need to perform subtractions to check flags because eclipse notifies on
-                        // illegal constructor modifiers
-                        if (method.getFlags() != Flags.AccPublic && method.getFlags() != Flags.AccProtected)
-                            continue;
-                        hasPublicOrProtectedNoArgConstructor = true;
-                    }
-                    // All Methods of this class should not be final
-                    if (isFinal(method.getFlags())) {
-                        Range range = PositionUtils.toNameRange(method, context.getUtils());
-                        diagnostics.add(context.createDiagnostic(uri,
-                                                                 Messages.getMessage("EntityNoFinalMethods"), range,
-                                                                 Constants.DIAGNOSTIC_SOURCE, method.getElementType(),
-                                                                 ErrorCode.InvalidFinalMethodInEntityAnnotatedClass, DiagnosticSeverity.Error));
-                    }
+        @Override
+        public void visit(IMethod method) throws CoreException {
+            if (!isEntityAnnotated) {
+                return;
+            }
+            if (DiagnosticUtils.isConstructorMethod(method)) {
+                // We have found a method that is a constructor
+                if (method.getNumberOfParameters() > 0) {
+                    hasArgConstructor = true;
+                    return;
                 }
+                // Don't need to perform subtractions to check flags because eclipse notifies on
+                // illegal constructor modifiers
+                if (method.getFlags() != Flags.AccPublic && method.getFlags() != Flags.AccProtected)
+                    return;
+                hasPublicOrProtectedNoArgConstructor = true;
+            }
+            // All Methods of this class should not be final
+            if (isFinal(method.getFlags())) {
+                finalMethods.add(method);
+            }
+        }
 
-                // Go through the instance variables and make sure no instance vars are final
-                for (IField field : type.getFields()) {
-                    // If a field is static, we do not care about it, we care about all other field
-                    if (isStatic(field.getFlags())) {
-                        continue;
-                    }
-                    // If we find a non-static variable that is final, this is a problem
-                    if (isFinal(field.getFlags())) {
-                        Range range = PositionUtils.toNameRange(field, context.getUtils());
-                        diagnostics.add(context.createDiagnostic(uri,
-                                                                 Messages.getMessage("EntityNoFinalVariables"), range,
-                                                                 Constants.DIAGNOSTIC_SOURCE, field.getElementType(),
-                                                                 ErrorCode.InvalidPersistentFieldInEntityAnnotatedClass, DiagnosticSeverity.Error));
-                    }
-                }
+        @Override
+        public void visit(IField field) throws CoreException {
+            // Go through the instance variables and make sure no instance vars are final
+            // If a field is static, we do not care about it, we care about all other field
+            if (isEntityAnnotated && !isStatic(field.getFlags()) && isFinal(field.getFlags())) {
+                finalFields.add(field);
+            }
+        }
 
-                // Ensure that the Entity class is not given a final modifier
-                if (isFinal(type.getFlags()))
-                    isEntityClassFinal = true;
+        @Override
+        public void endVisit(IType type) throws CoreException {
+            if (!isEntityAnnotated) {
+                return;
+            }
+            JavaDiagnosticsContext context = getContext();
+            String uri = context.getUri();
+            List<Diagnostic> diagnostics = getDiagnostics();
+
+            for (IMethod method : finalMethods) {
+                Range range = PositionUtils.toNameRange(method, context.getUtils());
+                diagnostics.add(context.createDiagnostic(uri,
+                                                         Messages.getMessage("EntityNoFinalMethods"), range,
+                                                         Constants.DIAGNOSTIC_SOURCE, method.getElementType(),
+                                                         ErrorCode.InvalidFinalMethodInEntityAnnotatedClass, DiagnosticSeverity.Error));
+            }
 
-                // Create Diagnostics if needed
-                if (!hasPublicOrProtectedNoArgConstructor && hasArgConstructor) {
-                    Range range = PositionUtils.toNameRange(type, context.getUtils());
-                    diagnostics.add(context.createDiagnostic(uri,
-                                                             Messages.getMessage("EntityNoArgConstructor"), range,
-                                                             Constants.DIAGNOSTIC_SOURCE, null,
-                                                             ErrorCode.InvalidConstructorInEntityAnnotatedClass, DiagnosticSeverity.Error));
+            // If we find a non-static variable that is final, this is a problem
+            for (IField field : finalFields) {
+                Range range = PositionUtils.toNameRange(field, context.getUtils());
+                diagnostics.add(context.createDiagnostic(uri,
+                                                         Messages.getMessage("EntityNoFinalVariables"), range,
+                                                         Constants.DIAGNOSTIC_SOURCE, field.getElementType(),
+                                                         ErrorCode.InvalidPersistentFieldInEntityAnnotatedClass, DiagnosticSeverity.Error));
+            }
 
-                }
+            // Create Diagnostics if needed
+            if (!hasPublicOrProtectedNoArgConstructor && hasArgConstructor) {
+                Range range = PositionUtils.toNameRange(type, context.getUtils());
+                diagnostics.add(context.createDiagnostic(uri,
+                                                         Messages.getMessage("EntityNoArgConstructor"), range,
+                                                         Constants.DIAGNOSTIC_SOURCE, null,
+                                                         ErrorCode.InvalidConstructorInEntityAnnotatedClass, DiagnosticSeverity.Error));
 
-                if (isEntityClassFinal) {
-                    Range range = PositionUtils.toNameRange(type, context.getUtils());
-                    diagnostics.add(context.createDiagnostic(uri,
-                                                             Messages.getMessage("EntityNoFinalClass"), range,
-                                                             Constants.DIAGNOSTIC_SOURCE, type.getElementType(),
-                                                             ErrorCode.InvalidFinalModifierOnEntityAnnotatedClass, DiagnosticSeverity.Error));
-                }
             }
-        }
 
-        return diagnostics;
+            // Ensure that the Entity class is not given a final modifier
+            if (isFinal(type.getFlags())) {
+                Range range = PositionUtils.toNameRange(type, context.getUtils());
+                diagnostics.add(context.createDiagnostic(uri,
+                                                         Messages.getMessage("EntityNoFinalClass"), range,
+                                                         Constants.DIAGNOSTIC_SOURCE, type.getElementType(),
+                                                         ErrorCode.InvalidFinalModifierOnEntityAnnotatedClass, DiagnosticSeverity.Error));
+            }
+        }
     }
 
     /**
@@ -34,7 +34,6 @@ import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsPartici
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
-import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
@@ -73,9 +72,9 @@ public class PersistenceMapKeyDiagnosticsParticipant implements IJavaDiagnostics
                 boolean hasMapKeyClassAnnotation = false;
                 allAnnotations = method.getAnnotations();
                 for (IAnnotation annotation : allAnnotations) {
-                    String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                         annotation.getElementName(),
-                                                                                         Constants.SET_OF_PERSISTENCE_ANNOTATIONS);
+                    String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                annotation.getElementName(),
+                                                                                                Constants.SET_OF_PERSISTENCE_ANNOTATIONS);
                     if (matchedAnnotation != null) {
                         if (Constants.MAPKEY.equals(matchedAnnotation))
                             hasMapKeyAnnotation = true;
@@ -110,9 +109,9 @@ public class PersistenceMapKeyDiagnosticsParticipant implements IJavaDiagnostics
                 boolean hasMapKeyClassAnnotation = false;
                 allAnnotations = field.getAnnotations();
                 for (IAnnotation annotation : allAnnotations) {
-                    String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type,
-                                                                                         annotation.getElementName(),
-                                                                                         Constants.SET_OF_PERSISTENCE_ANNOTATIONS);
+                    String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type,
+                                                                                                annotation.getElementName(),
+                                                                                                Constants.SET_OF_PERSISTENCE_ANNOTATIONS);
                     if (matchedAnnotation != null) {
                         if (Constants.MAPKEY.equals(matchedAnnotation))
                             hasMapKeyAnnotation = true;
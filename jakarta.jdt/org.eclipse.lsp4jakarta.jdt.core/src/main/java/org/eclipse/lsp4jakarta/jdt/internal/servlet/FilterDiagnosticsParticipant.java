@@ -13,13 +13,13 @@
 
 package org.eclipse.lsp4jakarta.jdt.internal.servlet;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.lsp4j.Diagnostic;
@@ -27,58 +27,63 @@ import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsParticipant;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
-import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsVisitor;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
-import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
 /**
  * @WebFilter annotation diagnostic participant.
  */
 public class FilterDiagnosticsParticipant implements IJavaDiagnosticsParticipant {
 
+    private static final Set<String> WEBFILTER_ANNOTATION_NAMES = Set.of(Constants.WEBFILTER_FQ_NAME);
+
+    private static final String[] FILTER_INTERFACES = { Constants.FILTER_FQ_NAME };
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Diagnostic> collectDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
-        String uri = context.getUri();
-        IJDTUtils utils = JDTUtilsLSImpl.getInstance();
-        ICompilationUnit unit = utils.resolveCompilationUnit(uri);
-        List<Diagnostic> diagnostics = new ArrayList<>();
+    public JavaDiagnosticsVisitor createDiagnosticsVisitor(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
+        return new JavaDiagnosticsVisitor(context) {
 
-        if (unit == null) {
-            return diagnostics;
-        }
+            private IAnnotation webFilterAnnotation;
 
-        IAnnotation[] allAnnotations;
+            @Override
+            public Set<String> getAnnotationNames() {
+                return WEBFILTER_ANNOTATION_NAMES;
+            }
 
-        IType[] alltypes = unit.getAllTypes();
-        for (IType type : alltypes) {
-            allAnnotations = type.getAnnotations();
-            IAnnotation webFilterAnnotation = null;
+            @Override
+            public boolean visit(IType type) throws CoreException {
+                webFilterAnnotation = null;
+                return true;
+            }
 
-            for (IAnnotation annotation : allAnnotations) {
-                if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                         Constants.WEBFILTER_FQ_NAME)) {
-                    webFilterAnnotation = annotation;
-                }
+            @Override
+            public void visitAnnotation(IAnnotation annotation, String annotationFQName,
+                                        IAnnotatable annotatable) throws CoreException {
+                webFilterAnnotation = annotation;
             }
 
-            String[] interfaces = { Constants.FILTER_FQ_NAME };
-            boolean isFilterImplemented = DiagnosticUtils.doesImplementInterfaces(type, interfaces);
+            @Override
+            public void endVisit(IType type) throws CoreException {
+                if (webFilterAnnotation == null) {
+                    return;
+                }
+                String uri = context.getUri();
+                List<Diagnostic> diagnostics = getDiagnostics();
 
-            if (webFilterAnnotation != null && !isFilterImplemented) {
-                Range range = PositionUtils.toNameRange(type, context.getUtils());
-                diagnostics.add(context.createDiagnostic(uri,
-                                                         Messages.getMessage("WebFilterMustImplement"), range,
-                                                         Constants.DIAGNOSTIC_SOURCE, null,
-                                                         ErrorCode.ClassWebFilterAnnotatedNoFilterInterfaceImpl, DiagnosticSeverity.Error));
-            }
+                if (!DiagnosticUtils.doesImplementInterfaces(type, FILTER_INTERFACES)) {
+                    Range range = PositionUtils.toNameRange(type, context.getUtils());
+                    diagnostics.add(context.createDiagnostic(uri,
+                                                             Messages.getMessage("WebFilterMustImplement"), range,
+                                                             Constants.DIAGNOSTIC_SOURCE, null,
+                                                             ErrorCode.ClassWebFilterAnnotatedNoFilterInterfaceImpl, DiagnosticSeverity.Error));
+                }
 
-            /* URL pattern diagnostic check */
-            if (webFilterAnnotation != null) {
+                /* URL pattern diagnostic check */
                 IMemberValuePair[] memberValues = webFilterAnnotation.getMemberValuePairs();
 
                 boolean isUrlpatternSpecified = false;
@@ -112,8 +117,6 @@ public class FilterDiagnosticsParticipant implements IJavaDiagnosticsParticipant
                                                              ErrorCode.WebFilterAnnotationAttributeConflict, DiagnosticSeverity.Error));
                 }
             }
-        }
-
-        return diagnostics;
+        };
     }
 }
@@ -13,77 +13,73 @@
 
 package org.eclipse.lsp4jakarta.jdt.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsParticipant;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
-import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsVisitor;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
-import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
 /**
  * Servlet and HTTP session listener diagnostic participant.
  */
 public class ListenerDiagnosticsParticipant implements IJavaDiagnosticsParticipant {
 
+    private static final Set<String> WEB_LISTENER_ANNOTATION_NAMES = Set.of(Constants.WEB_LISTENER_FQ_NAME);
+
+    private static final String[] LISTENER_INTERFACES = { Constants.SERVLET_CONTEXT_LISTENER_FQ_NAME,
+                                                          Constants.SERVLET_CONTEXT_ATTRIBUTE_LISTENER_FQ_NAME,
+                                                          Constants.SERVLET_REQUEST_LISTENER_FQ_NAME,
+                                                          Constants.SERVLET_REQUEST_ATTRIBUTE_LISTENER_FQ_NAME,
+                                                          Constants.HTTP_SESSION_LISTENER_FQ_NAME,
+                                                          Constants.HTTP_SESSION_ATTRIBUTE_LISTENER_FQ_NAME,
+                                                          Constants.HTTP_SESSION_ID_LISTENER_FQ_NAME };
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Diagnostic> collectDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
-        String uri = context.getUri();
-        IJDTUtils utils = JDTUtilsLSImpl.getInstance();
-        ICompilationUnit unit = utils.resolveCompilationUnit(uri);
-        List<Diagnostic> diagnostics = new ArrayList<>();
+    public JavaDiagnosticsVisitor createDiagnosticsVisitor(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
+        return new JavaDiagnosticsVisitor(context) {
 
-        if (unit == null) {
-            return diagnostics;
-        }
+            private boolean isWebListenerAnnotated;
 
-        IType[] alltypes;
-        IAnnotation[] allAnnotations;
-
-        alltypes = unit.getAllTypes();
-        for (IType type : alltypes) {
-            allAnnotations = type.getAnnotations();
-            boolean isWebListenerAnnotated = false;
-            for (IAnnotation annotation : allAnnotations) {
-                if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                         Constants.WEB_LISTENER_FQ_NAME)) {
-                    isWebListenerAnnotated = true;
-                    break;
-                }
+            @Override
+            public Set<String> getAnnotationNames() {
+                return WEB_LISTENER_ANNOTATION_NAMES;
             }
 
-            String[] interfaces = { Constants.SERVLET_CONTEXT_LISTENER_FQ_NAME,
-                                    Constants.SERVLET_CONTEXT_ATTRIBUTE_LISTENER_FQ_NAME,
-                                    Constants.SERVLET_REQUEST_LISTENER_FQ_NAME,
-                                    Constants.SERVLET_REQUEST_ATTRIBUTE_LISTENER_FQ_NAME,
-                                    Constants.HTTP_SESSION_LISTENER_FQ_NAME,
-                                    Constants.HTTP_SESSION_ATTRIBUTE_LISTENER_FQ_NAME,
-                                    Constants.HTTP_SESSION_ID_LISTENER_FQ_NAME };
-            boolean isImplemented = DiagnosticUtils.doesImplementInterfaces(type, interfaces);
+            @Override
+            public boolean visit(IType type) throws CoreException {
+                isWebListenerAnnotated = false;
+                return true;
+            }
 
-            if (isWebListenerAnnotated && !isImplemented) {
-                Range range = PositionUtils.toNameRange(type, context.getUtils());
-                diagnostics.add(context.createDiagnostic(uri,
-                                                         Messages.getMessage("AnnotatedWithWebListenerMustImplement"), range,
-                                                         Constants.DIAGNOSTIC_SOURCE, null,
-                                                         ErrorCode.WebFilterAnnotatedClassReqIfaceNoImpl, DiagnosticSeverity.Error));
+            @Override
+            public void visitAnnotation(IAnnotation annotation, String annotationFQName,
+                                        IAnnotatable annotatable) throws CoreException {
+                isWebListenerAnnotated = true;
             }
-        }
 
-        return diagnostics;
+            @Override
+            public void endVisit(IType type) throws CoreException {
+                if (isWebListenerAnnotated && !DiagnosticUtils.doesImplementInterfaces(type, LISTENER_INTERFACES)) {
+                    Range range = PositionUtils.toNameRange(type, context.getUtils());
+                    getDiagnostics().add(context.createDiagnostic(context.getUri(),
+                                                                  Messages.getMessage("AnnotatedWithWebListenerMustImplement"), range,
+                                                                  Constants.DIAGNOSTIC_SOURCE, null,
+                                                                  ErrorCode.WebFilterAnnotatedClassReqIfaceNoImpl, DiagnosticSeverity.Error));
+                }
+            }
+        };
     }
 }
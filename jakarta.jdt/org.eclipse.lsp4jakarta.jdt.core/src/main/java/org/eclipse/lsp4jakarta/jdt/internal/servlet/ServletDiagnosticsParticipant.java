@@ -13,13 +13,13 @@
 
 package org.eclipse.lsp4jakarta.jdt.internal.servlet;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.lsp4j.Diagnostic;
@@ -28,12 +28,10 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.jdt.core.JakartaCorePlugin;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsParticipant;
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
-import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsVisitor;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.TypeHierarchyUtils;
-import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
-import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
 
 /**
  * Servlet diagnostic participant.
@@ -42,36 +40,44 @@ import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
  */
 public class ServletDiagnosticsParticipant implements IJavaDiagnosticsParticipant {
 
+    private static final Set<String> WEB_SERVLET_ANNOTATION_NAMES = Set.of(Constants.WEB_SERVLET_FQ_NAME);
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Diagnostic> collectDiagnostics(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
-        String uri = context.getUri();
-        IJDTUtils utils = JDTUtilsLSImpl.getInstance();
-        ICompilationUnit unit = utils.resolveCompilationUnit(uri);
-        List<Diagnostic> diagnostics = new ArrayList<>();
+    public JavaDiagnosticsVisitor createDiagnosticsVisitor(JavaDiagnosticsContext context, IProgressMonitor monitor) throws CoreException {
+        return new JavaDiagnosticsVisitor(context) {
+
+            private IAnnotation webServletAnnotation;
 
-        if (unit == null) {
-            return diagnostics;
-        }
-        IType[] alltypes;
-        IAnnotation[] allAnnotations;
+            @Override
+            public Set<String> getAnnotationNames() {
+                return WEB_SERVLET_ANNOTATION_NAMES;
+            }
 
-        alltypes = unit.getAllTypes();
-        for (IType type : alltypes) {
-            allAnnotations = type.getAnnotations();
+            @Override
+            public boolean visit(IType type) throws CoreException {
+                webServletAnnotation = null;
+                return true;
+            }
 
-            IAnnotation webServletAnnotation = null;
-            for (IAnnotation annotation : allAnnotations) {
-                if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                         Constants.WEB_SERVLET_FQ_NAME)) {
-                    webServletAnnotation = annotation;
-                    break; // get the first one, the annotation is not repeatable
+            @Override
+            public void visitAnnotation(IAnnotation annotation, String annotationFQName,
+                                        IAnnotatable annotatable) throws CoreException {
+                if (webServletAnnotation == null) {
+                    webServletAnnotation = annotation; // get the first one, the annotation is not repeatable
                 }
             }
 
-            if (webServletAnnotation != null) {
+            @Override
+            public void endVisit(IType type) throws CoreException {
+                if (webServletAnnotation == null) {
+                    return;
+                }
+                String uri = context.getUri();
+                List<Diagnostic> diagnostics = getDiagnostics();
+
                 // check if the class extends HttpServlet
                 try {
                     int r = TypeHierarchyUtils.doesITypeHaveSuperType(type, Constants.HTTP_SERVLET);
@@ -122,9 +128,7 @@ public class ServletDiagnosticsParticipant implements IJavaDiagnosticsParticipan
                                                              ErrorCode.WebServletAnnotationAttributeConflict, DiagnosticSeverity.Error));
                 }
             }
-        }
-
-        return diagnostics;
+        };
     }
 
-}
\ No newline at end of file
+}
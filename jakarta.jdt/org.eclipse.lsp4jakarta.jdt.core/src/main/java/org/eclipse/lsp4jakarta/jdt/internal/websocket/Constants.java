@@ -51,10 +51,6 @@ public class Constants {
     public static final String SERVER_ENDPOINT_ANNOTATION = "jakarta.websocket.server.ServerEndpoint";
     public static final String CLIENT_ENDPOINT_ANNOTATION = "jakarta.websocket.ClientEndpoint";
 
-    // Superclass
-    public static final String ENDPOINT_SUPERCLASS = "Endpoint";
-    public static final String IS_SUPERCLASS = "isSuperclass";
-
     public static final String[] WS_ANNOTATION_CLASS = { SERVER_ENDPOINT_ANNOTATION, CLIENT_ENDPOINT_ANNOTATION };
 
     public static final String STRING_CLASS_LONG = "java.lang.String";
@@ -78,8 +74,6 @@ public class Constants {
     public static final String ON_CLOSE = "jakarta.websocket.OnClose";
     public static final String ON_MESSAGE = "jakarta.websocket.OnMessage";
 
-    public static final String IS_ANNOTATION = "isAnnotation";
-
     /* Types */
     public static final String PATH_PARAM_ANNOTATION = "jakarta.websocket.server.PathParam";
 
@@ -16,7 +16,6 @@ package org.eclipse.lsp4jakarta.jdt.internal.websocket;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -42,7 +41,6 @@ import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.IJavaDiagnosticsPartici
 import org.eclipse.lsp4jakarta.jdt.core.java.diagnostics.JavaDiagnosticsContext;
 import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
 import org.eclipse.lsp4jakarta.jdt.core.utils.PositionUtils;
-import org.eclipse.lsp4jakarta.jdt.core.utils.TypeHierarchyUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.DiagnosticUtils;
 import org.eclipse.lsp4jakarta.jdt.internal.Messages;
 import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
@@ -67,18 +65,16 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
         }
 
         IType[] alltypes;
-        HashMap<String, Boolean> checkWSEnd = null;
 
         alltypes = unit.getAllTypes();
         for (IType type : alltypes) {
-            checkWSEnd = isWSEndpoint(type);
             // checks if the class uses annotation to create a WebSocket endpoint
-            if (checkWSEnd.get(Constants.IS_ANNOTATION)) {
+            if (isAnnotatedWSEndpoint(context, type)) {
                 // WebSocket Invalid Parameters Diagnostic
                 invalidParamsCheck(context, uri, type, unit, diagnostics);
 
                 /* @PathParam Value Mismatch Warning */
-                List<String> endpointPathVars = findAndProcessEndpointURI(type);
+                List<String> endpointPathVars = findAndProcessEndpointURI(context, type);
                 /*
                  * WebSocket endpoint annotations must be attached to a class, and thus is
                  * guaranteed to be processed before any of the member method annotations
@@ -110,11 +106,11 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
                 String annotationName = annotation.getElementName();
                 ErrorCode diagnosticErrorCode = null;
 
-                if (DiagnosticUtils.isMatchedJavaElement(type, annotationName, Constants.ON_OPEN)) {
+                if (context.getNameIndex().isMatchedJavaElement(type, annotationName, Constants.ON_OPEN)) {
                     specialParamTypes = Constants.ON_OPEN_PARAM_OPT_TYPES;
                     rawSpecialParamTypes = Constants.RAW_ON_OPEN_PARAM_OPT_TYPES;
                     diagnosticErrorCode = ErrorCode.InvalidOnOpenParams;
-                } else if (DiagnosticUtils.isMatchedJavaElement(type, annotationName, Constants.ON_CLOSE)) {
+                } else if (context.getNameIndex().isMatchedJavaElement(type, annotationName, Constants.ON_CLOSE)) {
                     specialParamTypes = Constants.ON_CLOSE_PARAM_OPT_TYPES;
                     rawSpecialParamTypes = Constants.RAW_ON_CLOSE_PARAM_OPT_TYPES;
                     diagnosticErrorCode = ErrorCode.InvalidOnCloseParams;
@@ -153,8 +149,8 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
                             IAnnotation[] param_annotations = param.getAnnotations();
                             boolean hasPathParamAnnot = Arrays.asList(param_annotations).stream().anyMatch(annot -> {
                                 try {
-                                    return DiagnosticUtils.isMatchedJavaElement(type, annot.getElementName(),
-                                                                                Constants.PATH_PARAM_ANNOTATION);
+                                    return context.getNameIndex().isMatchedJavaElement(type, annot.getElementName(),
+                                                                                       Constants.PATH_PARAM_ANNOTATION);
                                 } catch (JavaModelException e) {
                                     JakartaCorePlugin.logException("Failed to get matched annotation", e);
                                     return false;
@@ -191,8 +187,8 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
             for (ILocalVariable param : methodParams) {
                 IAnnotation[] paramAnnotations = param.getAnnotations();
                 for (IAnnotation annotation : paramAnnotations) {
-                    if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                             Constants.PATHPARAM_ANNOTATION)) {
+                    if (context.getNameIndex().isMatchedJavaElement(type, annotation.getElementName(),
+                                                                    Constants.PATHPARAM_ANNOTATION)) {
                         IMemberValuePair[] valuePairs = annotation.getMemberValuePairs();
                         for (IMemberValuePair pair : valuePairs) {
                             if (pair.getMemberName().equals(Constants.ANNOTATION_VALUE)
@@ -231,10 +227,10 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
         for (IMethod method : typeMethods) {
             IAnnotation[] allAnnotations = method.getAnnotations();
             for (IAnnotation annotation : allAnnotations) {
-                if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(), Constants.ON_MESSAGE)) {
+                if (context.getNameIndex().isMatchedJavaElement(type, annotation.getElementName(), Constants.ON_MESSAGE)) {
                     ILocalVariable[] allParams = method.getParameters();
                     for (ILocalVariable param : allParams) {
-                        if (!isParamPath(type, param)) {
+                        if (!isParamPath(context, type, param)) {
                             String signature = param.getTypeSignature();
                             String formatSignature = signature.replace("/", ".");
                             String resolvedTypeName = JavaModelUtil.getResolvedTypeName(formatSignature, type);
@@ -321,8 +317,8 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
                                           List<Diagnostic> diagnostics, ICompilationUnit unit) throws JavaModelException {
         IAnnotation[] annotations = type.getAnnotations();
         for (IAnnotation annotation : annotations) {
-            if (DiagnosticUtils.isMatchedJavaElement(type, annotation.getElementName(),
-                                                     Constants.SERVER_ENDPOINT_ANNOTATION)) {
+            if (context.getNameIndex().isMatchedJavaElement(type, annotation.getElementName(),
+                                                            Constants.SERVER_ENDPOINT_ANNOTATION)) {
                 for (IMemberValuePair annotationMemberValuePair : annotation.getMemberValuePairs()) {
                     if (annotationMemberValuePair.getMemberName().equals(Constants.ANNOTATION_VALUE)) {
                         String path = annotationMemberValuePair.getValue().toString();
@@ -371,13 +367,13 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
      * @return List of variable parameters in the EndPoint URI if one exists, null
      *         otherwise
      */
-    private List<String> findAndProcessEndpointURI(IType type) throws JavaModelException {
+    private List<String> findAndProcessEndpointURI(JavaDiagnosticsContext context, IType type) throws JavaModelException {
         String endpointURI = null;
         IAnnotation[] typeAnnotations = type.getAnnotations();
         String[] targetAnnotations = { Constants.SERVER_ENDPOINT_ANNOTATION, Constants.CLIENT_ENDPOINT_ANNOTATION };
         for (IAnnotation annotation : typeAnnotations) {
-            String matchedAnnotation = DiagnosticUtils.getMatchedJavaElementName(type, annotation.getElementName(),
-                                                                                 targetAnnotations);
+            String matchedAnnotation = context.getNameIndex().getMatchedJavaElementName(type, annotation.getElementName(),
+                                                                                        targetAnnotations);
             if (matchedAnnotation != null) {
                 IMemberValuePair[] valuePairs = annotation.getMemberValuePairs();
                 for (IMemberValuePair pair : valuePairs) {
@@ -416,49 +412,36 @@ public class WebSocketDiagnosticsParticipant implements IJavaDiagnosticsParticip
     }
 
     /**
-     * Checks if type is a WebSocket endpoint by meeting one of the 2 conditions
-     * listed on
+     * Checks if type is a WebSocket endpoint created with an annotation, the
+     * first of the 2 conditions listed on
      * https://jakarta.ee/specifications/websocket/2.0/websocket-spec-2.0.html#applications
-     * are met: class is annotated or class implements Endpoint class
+     * The second condition (class implements Endpoint class) doesn't produce
+     * diagnostics, so the type hierarchy of the class is not computed.
      *
      * @param type the type representing the class
-     * @return the conditions for a class to be a WebSocket endpoint
+     * @return true if the class is annotated with a WebSocket endpoint annotation
+     *         and false otherwise
      * @throws JavaModelException
      */
-    private HashMap<String, Boolean> isWSEndpoint(IType type) throws JavaModelException {
-        HashMap<String, Boolean> wsEndpoint = new HashMap<>();
-
+    private boolean isAnnotatedWSEndpoint(JavaDiagnosticsContext context, IType type) throws JavaModelException {
         // check trivial case
         if (!type.isClass()) {
-            wsEndpoint.put(Constants.IS_ANNOTATION, false);
-            wsEndpoint.put(Constants.IS_SUPERCLASS, false);
-            return wsEndpoint;
+            return false;
         }
 
         // Check that class follows
         // https://jakarta.ee/specifications/websocket/2.0/websocket-spec-2.0.html#applications
-        List<String> endpointAnnotations = DiagnosticUtils.getMatchedJavaElementNames(type,
-                                                                                      Stream.of(type.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
-                                                                                      Constants.WS_ANNOTATION_CLASS);
-
-        boolean useSuperclass = false;
-        try {
-            useSuperclass = TypeHierarchyUtils.doesITypeHaveSuperType(type, Constants.ENDPOINT_SUPERCLASS) >= 0;
-        } catch (CoreException e) {
-            JakartaCorePlugin.logException(Constants.DIAGNOSTIC_ERR_MSG, e);
-        }
-
-        wsEndpoint.put(Constants.IS_ANNOTATION, (endpointAnnotations.size() > 0));
-        wsEndpoint.put(Constants.IS_SUPERCLASS, useSuperclass);
-
-        return wsEndpoint;
+        List<String> endpointAnnotations = context.getNameIndex().getMatchedJavaElementNames(type,
+                                                                                             Stream.of(type.getAnnotations()).map(annotation -> annotation.getElementName()).toArray(String[]::new),
+                                                                                             Constants.WS_ANNOTATION_CLASS);
+        return endpointAnnotations.size() > 0;
     }
 
-    private boolean isParamPath(IType type, ILocalVariable param) throws JavaModelException {
+    private boolean isParamPath(JavaDiagnosticsContext context, IType type, ILocalVariable param) throws JavaModelException {
         IAnnotation[] allVariableAnnotations = param.getAnnotations();
         for (IAnnotation variableAnnotation : allVariableAnnotations) {
-            if (DiagnosticUtils.isMatchedJavaElement(type, variableAnnotation.getElementName(),
-                                                     Constants.PATH_PARAM_ANNOTATION)) {
+            if (context.getNameIndex().isMatchedJavaElement(type, variableAnnotation.getElementName(),
+                                                            Constants.PATH_PARAM_ANNOTATION)) {
                 return true;
             }
         }
@@ -0,0 +1,12 @@
+package io.openliberty.sample.jakarta.jsonp;
+
+import jakarta.json.Json;
+import jakarta.json.JsonPointer;
+
+public class CreatePointerSyntaxError {
+
+    public static void makePointers() {
+        int missingValue = ;
+        JsonPointer noSlashPrefixPointer = Json.createPointer("name/1");
+    }
+}
@@ -0,0 +1,28 @@
+package io.openliberty.sample.jakarta.persistence;
+
+import jakarta.persistence.Entity;
+
+@Entity
+public class EntityMemberTypes {
+
+    private EntityMemberTypes(int x) {}
+
+    public final int methody() {
+        return 100;
+    }
+
+    @Entity
+    public final class MemberEntity {
+
+        final int x = 1;
+
+        public MemberEntity() {}
+    }
+
+    public class MemberNotEntity {
+
+        final int y = 1;
+
+        private MemberNotEntity(int y) {}
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.BEFORE_CLASS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.BEFORE_FIELD;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.BEFORE_METHOD;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_CLASS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_CLASS_ANNOTATIONS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_FIELD_ANNOTATIONS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_METHOD_ANNOTATIONS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.NONE;
+
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.completion.JavaCursorContextScanner;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the cursor context computed with the scanner tokens. The cursor is
+ * marked with '|' in the Java sources. A null context means that the context
+ * must be computed with the AST.
+ */
+public class JavaCursorContextScannerTest {
+
+    @Test
+    public void emptyFile() {
+        assertCursorContext("|", NONE);
+        assertCursorContext("package a;\n|", NONE);
+        assertCursorContext("|\npublic class A {}", BEFORE_CLASS);
+        assertCursorContext("import a.B;\n|\n@Entity\npublic class A {}", BEFORE_CLASS);
+    }
+
+    @Test
+    public void endOfFile() {
+        // The cursor just after the closing brace is still in the type
+        assertCursorContext("public class A {}|", IN_CLASS);
+        // Unterminated type body
+        assertCursorContext("public class A {\n|", null);
+        assertCursorContext("public class A {\n  @Inject\n  |", null);
+        assertCursorContext("class A {\n  void m(|", null);
+    }
+
+    @Test
+    public void declarations() {
+        assertCursorContext("|public class A {}", BEFORE_CLASS);
+        assertCursorContext("public class A {\n|\n}", IN_CLASS);
+        assertCursorContext("public class A {\n  |\n  public void m() {}\n}", BEFORE_METHOD);
+        assertCursorContext("class A {\n  |private String s;\n}", BEFORE_FIELD);
+        assertCursorContext("@Entity\npublic class A {\n  public A() {}\n  |\n}", IN_CLASS);
+        assertCursorContext("class A {\n  void m() {\n    |\n  }\n}", NONE);
+        assertCursorContext("class A {\n  void m() {\n    new Object() {\n      |\n    };\n  }\n}", NONE);
+    }
+
+    @Test
+    public void annotations() {
+        assertCursorContext("@Entity\n|public class A {}", IN_CLASS_ANNOTATIONS);
+        assertCursorContext("class A {\n  @Inject\n  |String s;\n}", IN_FIELD_ANNOTATIONS);
+        // The cursor in the name of an annotation
+        assertCursorContext("class A {\n  @Inj|ect\n  String s;\n}", IN_FIELD_ANNOTATIONS);
+        assertCursorContext("class A {\n  @Path(value = {\"a\", \"b\"})\n  |void m() {}\n}", IN_METHOD_ANNOTATIONS);
+        // The Javadoc belongs to the declaration like its annotations
+        assertCursorContext("class A {\n  /** doc */\n  |public void m() {}\n}", IN_METHOD_ANNOTATIONS);
+        assertCursorContext("class A {\n  /** doc */|\n  void m() {}\n}", null);
+    }
+
+    @Test
+    public void unterminatedArguments() {
+        assertCursorContext("class A {\n  @Path(\"a\"\n  |void m() {}\n}", null);
+        assertCursorContext("class A {\n  |@Path(\"a\"\n  void m() {}\n}", null);
+        assertCursorContext("class A {\n  String s = |\n}", null);
+    }
+
+    @Test
+    public void enumAndInitializers() {
+        assertCursorContext("enum E {\n  A, B;\n  |\n}", null);
+        assertCursorContext("class A {\n  static {\n    |\n  }\n}", null);
+        assertCursorContext("class A {\n  {\n    |\n  }\n}", null);
+    }
+
+    @Test
+    public void commentsAndStrings() {
+        // Braces and annotations in comments and strings are ignored
+        assertCursorContext("class A {\n  // @Inject {\n  |\n  String s = \"{ @Path\";\n}", BEFORE_FIELD);
+        assertCursorContext("class A {\n  /* { */\n  |void m() {}\n}", BEFORE_METHOD);
+        assertCursorContext("class A {\n  String s = \"}\";\n  |\n}", IN_CLASS);
+        // The cursor within a comment or a string
+        assertCursorContext("class A {\n  // comm|ent\n  String s;\n}", null);
+        assertCursorContext("class A {\n  void m() {\n    String s = \"a|b\";\n  }\n}", NONE);
+    }
+
+    @Test
+    public void invalidOffset() {
+        Assert.assertNull(JavaCursorContextScanner.getCursorContextKind("class A {}".toCharArray(), -1, "17", "17"));
+        Assert.assertNull(JavaCursorContextScanner.getCursorContextKind("class A {}".toCharArray(), 11, "17", "17"));
+    }
+
+    private static void assertCursorContext(String sourceWithCursor, JavaCursorContextKind expected) {
+        int offset = sourceWithCursor.indexOf('|');
+        String source = sourceWithCursor.substring(0, offset) + sourceWithCursor.substring(offset + 1);
+        Assert.assertEquals(sourceWithCursor, expected,
+                            JavaCursorContextScanner.getCursorContextKind(source.toCharArray(), offset, "17", "17"));
+    }
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4jakarta.commons.DocumentFormat;
+import org.eclipse.lsp4jakarta.jdt.internal.core.java.diagnostics.JavaDiagnosticsCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the cache of the computed Java diagnostics.
+ */
+public class JavaDiagnosticsCacheTest extends BaseJakartaTest {
+
+    private static final String PACKAGE = "io.openliberty.sample.jakarta.diagnosticscache";
+
+    @Test
+    public void cachedDiagnostics() {
+        JavaDiagnosticsCache cache = JavaDiagnosticsCache.getInstance();
+        String uri = "file:///cachedDiagnostics/Cached.java";
+        List<Diagnostic> diagnostics = new ArrayList<>(Arrays.asList(new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), "message")));
+        cache.put(uri, "fingerprint", diagnostics);
+        diagnostics.clear();
+        long hitCount = cache.getHitCount();
+        long missCount = cache.getMissCount();
+
+        // The stored diagnostics are a copy
+        List<Diagnostic> cachedDiagnostics = cache.get(uri, "fingerprint");
+        Assert.assertEquals(1, cachedDiagnostics.size());
+        cachedDiagnostics.clear();
+        Assert.assertEquals(1, cache.get(uri, "fingerprint").size());
+        Assert.assertEquals(hitCount + 2, cache.getHitCount());
+
+        // Another fingerprint doesn't reuse the diagnostics
+        Assert.assertNull(cache.get(uri, "otherFingerprint"));
+        Assert.assertEquals(missCount + 1, cache.getMissCount());
+
+        // Diagnostics without fingerprint are not cached
+        cache.put("file:///cachedDiagnostics/NotCached.java", null, diagnostics);
+        Assert.assertNull(cache.get("file:///cachedDiagnostics/NotCached.java", null));
+    }
+
+    @Test
+    public void evictedDiagnostics() {
+        JavaDiagnosticsCache cache = JavaDiagnosticsCache.getInstance();
+        long evictionCount = cache.getEvictionCount();
+        int size = cache.size();
+        for (int i = 0; i <= 500; i++) {
+            cache.put("file:///evictedDiagnostics/Cached" + i + ".java", "fingerprint", new ArrayList<>());
+        }
+        Assert.assertEquals(500, cache.size());
+        Assert.assertEquals(evictionCount + size + 1, cache.getEvictionCount());
+        // The least recently used entry is evicted
+        Assert.assertNull(cache.get("file:///evictedDiagnostics/Cached0.java", "fingerprint"));
+        Assert.assertNotNull(cache.get("file:///evictedDiagnostics/Cached500.java", "fingerprint"));
+    }
+
+    @Test
+    public void fingerprintOfChangedFiles() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFolder folder = javaProject.getProject().getFolder(new Path("src/main/java/" + PACKAGE.replace('.', '/')));
+        if (!folder.exists()) {
+            folder.create(true, true, null);
+        }
+        IFile cachedFile = createFile(folder, "Cached.java", "public class Cached {\n}\n");
+        IFile otherFile = createFile(folder, "Other.java", "public class Other {\n    public void run() {\n    }\n}\n");
+        ICompilationUnit cachedUnit = JavaCore.createCompilationUnitFrom(cachedFile);
+        ICompilationUnit otherUnit = JavaCore.createCompilationUnitFrom(otherFile);
+        otherUnit.becomeWorkingCopy(null);
+        try {
+            JavaDiagnosticsCache cache = JavaDiagnosticsCache.getInstance();
+            String fingerprint = cache.getFingerprint(cachedUnit, DocumentFormat.Markdown, null);
+            Assert.assertNotNull(fingerprint);
+            Assert.assertEquals(fingerprint, cache.getFingerprint(cachedUnit, DocumentFormat.Markdown, null));
+
+            // The document format is part of the fingerprint
+            Assert.assertNotEquals(fingerprint, cache.getFingerprint(cachedUnit, DocumentFormat.PlainText, null));
+
+            // An edit inside a method body of another file keeps the fingerprint
+            reconcile(otherUnit, "public class Other {\n    public void run() {\n        int i = 0;\n    }\n}\n");
+            Assert.assertEquals(fingerprint, cache.getFingerprint(cachedUnit, DocumentFormat.Markdown, null));
+
+            // A member added in another file of the project changes the fingerprint
+            reconcile(otherUnit, "public class Other {\n    public void run() {\n        int i = 0;\n    }\n\n    public void stop() {\n    }\n}\n");
+            Assert.assertNotEquals(fingerprint, cache.getFingerprint(cachedUnit, DocumentFormat.Markdown, null));
+        } finally {
+            otherUnit.discardWorkingCopy();
+            cachedFile.delete(true, null);
+            otherFile.delete(true, null);
+        }
+    }
+
+    private static IFile createFile(IFolder folder, String name, String type) throws Exception {
+        IFile file = folder.getFile(name);
+        if (file.exists()) {
+            file.delete(true, null);
+        }
+        String content = "package " + PACKAGE + ";\n\n" + type;
+        file.create(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), true, null);
+        return file;
+    }
+
+    private static void reconcile(ICompilationUnit workingCopy, String type) throws Exception {
+        workingCopy.getBuffer().setContents("package " + PACKAGE + ";\n\n" + type);
+        workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+    }
+}
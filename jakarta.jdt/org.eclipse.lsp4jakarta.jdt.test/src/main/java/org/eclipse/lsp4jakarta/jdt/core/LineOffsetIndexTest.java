@@ -0,0 +1,106 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4jakarta.jdt.core.utils.LineOffsetIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the conversions between offsets and positions of
+ * {@link LineOffsetIndex}.
+ */
+public class LineOffsetIndexTest extends BaseJakartaTest {
+
+    @Test
+    public void lineDelimiters() {
+        // LF, CRLF and CR
+        LineOffsetIndex index = LineOffsetIndex.create("a\nbc\r\nd\re");
+        Assert.assertEquals(4, index.getNumberOfLines());
+
+        Assert.assertEquals(new Position(0, 1), index.toPosition(1));
+        Assert.assertEquals(new Position(1, 0), index.toPosition(2));
+        Assert.assertEquals(new Position(1, 2), index.toPosition(4));
+        // Offset between CR and LF stays on the line of the delimiter
+        Assert.assertEquals(new Position(1, 3), index.toPosition(5));
+        Assert.assertEquals(new Position(2, 0), index.toPosition(6));
+        Assert.assertEquals(new Position(3, 0), index.toPosition(8));
+
+        Assert.assertEquals(0, index.toOffset(0, 0));
+        Assert.assertEquals(2, index.toOffset(1, 0));
+        Assert.assertEquals(6, index.toOffset(2, 0));
+        Assert.assertEquals(8, index.toOffset(3, 0));
+    }
+
+    @Test
+    public void lastLine() {
+        // The last line has no line delimiter
+        LineOffsetIndex index = LineOffsetIndex.create("a\nbc");
+        Assert.assertEquals(2, index.getNumberOfLines());
+        Assert.assertEquals(new Position(1, 2), index.toPosition(4));
+
+        // The text ends with a line delimiter: the last line is empty
+        index = LineOffsetIndex.create("a\r\n");
+        Assert.assertEquals(2, index.getNumberOfLines());
+        Assert.assertEquals(new Position(1, 0), index.toPosition(3));
+        Assert.assertEquals(3, index.toOffset(1, 0));
+
+        index = LineOffsetIndex.create("");
+        Assert.assertEquals(1, index.getNumberOfLines());
+        Assert.assertEquals(new Position(0, 0), index.toPosition(0));
+    }
+
+    @Test
+    public void outOfRange() {
+        LineOffsetIndex index = LineOffsetIndex.create("a\nbc");
+        Assert.assertNull(index.toPosition(-1));
+        Assert.assertNull(index.toPosition(5));
+        Assert.assertEquals(-1, index.toOffset(-1, 0));
+        Assert.assertEquals(-1, index.toOffset(2, 0));
+
+        // The positions outside of the text are left to 0
+        Assert.assertEquals(new Range(new Position(1, 1), new Position(0, 0)), index.toRange(3, 5));
+        Assert.assertEquals(new Range(new Position(0, 0), new Position(0, 0)), index.toRange(10, 1));
+        Assert.assertEquals(new Range(new Position(0, 0), new Position(1, 0)), index.toRange(0, 2));
+    }
+
+    @Test
+    public void bufferChanges() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject().getFile(new Path("src/main/java/io/openliberty/sample/jakarta/persistence/EntityMissingConstructor.java"));
+        ICompilationUnit workingCopy = JavaCore.createCompilationUnitFrom(javaFile).getWorkingCopy(null);
+        try {
+            IBuffer buffer = workingCopy.getBuffer();
+            LineOffsetIndex index = LineOffsetIndex.getIndex(buffer);
+            // The index is shared until the buffer changes
+            Assert.assertSame(index, LineOffsetIndex.getIndex(workingCopy));
+
+            buffer.setContents("package io.openliberty.sample.jakarta.persistence;\r\n\r\nclass Changed {\r\n}");
+            LineOffsetIndex changedIndex = LineOffsetIndex.getIndex(buffer);
+            Assert.assertNotSame(index, changedIndex);
+            Assert.assertEquals(4, changedIndex.getNumberOfLines());
+            Assert.assertEquals(new Position(2, 6), changedIndex.toPosition(buffer.getContents().indexOf("Changed")));
+            Assert.assertSame(changedIndex, LineOffsetIndex.getIndex(buffer));
+        } finally {
+            workingCopy.discardWorkingCopy();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaAffectedUrisParams;
+import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the Java files revalidated when a Java file is saved.
+ */
+public class PropertiesManagerForJavaAffectedUrisTest extends BaseJakartaTest {
+
+    protected static IJDTUtils IJDT_UTILS = JDTUtilsLSImpl.getInstance();
+
+    @Test
+    public void affectedUrisOfSavedFile() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        String savedUri = getUri(javaProject.getProject().getFile(new Path("src/main/java/io/openliberty/sample/jakarta/persistence/EntityMissingConstructor.java")));
+        String samePackageUri = getUri(javaProject.getProject().getFile(new Path("src/main/java/io/openliberty/sample/jakarta/persistence/FinalModifiers.java")));
+        String otherUri = getUri(javaProject.getProject().getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jsonp/CreatePointerInvalidTarget.java")));
+        List<String> candidateUris = Arrays.asList(otherUri, savedUri, samePackageUri);
+
+        // Records the types of the saved file
+        affectedUris(savedUri, candidateUris);
+
+        // The file in the same package is affected, the unrelated file isn't
+        Assert.assertEquals(Arrays.asList(savedUri, samePackageUri), affectedUris(savedUri, candidateUris));
+    }
+
+    @Test
+    public void affectedUrisOfRenamedType() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFolder folder = javaProject.getProject().getFolder(new Path("src/main/java/io/openliberty/sample/jakarta/revalidation"));
+        if (!folder.exists()) {
+            folder.create(true, true, null);
+        }
+        IFile savedFile = folder.getFile("Renamed.java");
+        if (savedFile.exists()) {
+            savedFile.delete(true, null);
+        }
+        savedFile.create(getContent("package io.openliberty.sample.jakarta.revalidation;\n\npublic class Renamed {\n}\n"), true, null);
+        try {
+            String savedUri = getUri(savedFile);
+            String otherUri = getUri(javaProject.getProject().getFile(new Path("src/main/java/io/openliberty/sample/jakarta/jsonp/CreatePointerInvalidTarget.java")));
+            List<String> candidateUris = Arrays.asList(savedUri, otherUri);
+
+            // The save of another file doesn't record the types of the candidates
+            affectedUris(otherUri, candidateUris);
+            // The types of the saved file are unknown: all the candidates are affected
+            Assert.assertEquals(candidateUris, affectedUris(savedUri, candidateUris));
+            Assert.assertEquals(Arrays.asList(savedUri), affectedUris(savedUri, candidateUris));
+
+            // The references to the renamed type can't be searched: all the candidates are
+            // affected
+            savedFile.setContents(getContent("package io.openliberty.sample.jakarta.revalidation;\n\nclass Other {\n}\n"),
+                                  IResource.FORCE, null);
+            JobHelpers.waitForJobsToComplete(new NullProgressMonitor());
+            Assert.assertEquals(candidateUris, affectedUris(savedUri, candidateUris));
+
+            // The types are known again
+            Assert.assertEquals(Arrays.asList(savedUri), affectedUris(savedUri, candidateUris));
+        } finally {
+            savedFile.delete(true, null);
+        }
+    }
+
+    private static List<String> affectedUris(String savedUri, List<String> candidateUris) {
+        JakartaJavaAffectedUrisParams params = new JakartaJavaAffectedUrisParams(savedUri, candidateUris);
+        return PropertiesManagerForJava.getInstance().affectedUris(params, IJDT_UTILS, new NullProgressMonitor());
+    }
+
+    private static ByteArrayInputStream getContent(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getUri(IFile javaFile) {
+        return javaFile.getLocation().toFile().toURI().toString();
+    }
+}
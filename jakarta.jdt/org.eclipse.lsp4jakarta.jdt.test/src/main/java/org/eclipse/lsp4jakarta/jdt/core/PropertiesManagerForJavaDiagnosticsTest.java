@@ -0,0 +1,96 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.jdt.core;
+
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.assertDiagnostics;
+import static org.eclipse.lsp4jakarta.jdt.core.JakartaForJavaAssert.d;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsParams;
+import org.eclipse.lsp4jakarta.jdt.core.utils.IJDTUtils;
+import org.eclipse.lsp4jakarta.jdt.internal.core.ls.JDTUtilsLSImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the diagnostics requests with several Java files.
+ */
+public class PropertiesManagerForJavaDiagnosticsTest extends BaseJakartaTest {
+
+    protected static IJDTUtils IJDT_UTILS = JDTUtilsLSImpl.getInstance();
+
+    @Test
+    public void diagnosticsInUrisOrder() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        String jsonpUri = getUri(javaProject, "src/main/java/io/openliberty/sample/jakarta/jsonp/CreatePointerInvalidTarget.java");
+        String persistenceUri = getUri(javaProject, "src/main/java/io/openliberty/sample/jakarta/persistence/EntityMissingConstructor.java");
+
+        JakartaJavaDiagnosticsParams diagnosticsParams = new JakartaJavaDiagnosticsParams();
+        diagnosticsParams.setUris(Arrays.asList(persistenceUri, jsonpUri));
+
+        List<PublishDiagnosticsParams> actual = PropertiesManagerForJava.getInstance().diagnostics(diagnosticsParams,
+                                                                                                   IJDT_UTILS, new NullProgressMonitor());
+
+        // One result per uri, in the order of the uris
+        Assert.assertEquals(2, actual.size());
+        Assert.assertEquals(persistenceUri, actual.get(0).getUri());
+        Assert.assertEquals(jsonpUri, actual.get(1).getUri());
+
+        assertDiagnostics(actual.get(0).getDiagnostics(),
+                          d(5, 13, 37,
+                            "A class using the @Entity annotation must contain a public or protected constructor with no arguments.",
+                            DiagnosticSeverity.Error, "jakarta-persistence", "InvalidConstructorInEntityAnnotatedClass"));
+
+        assertDiagnostics(actual.get(1).getDiagnostics(),
+                          d(20, 60, 64,
+                            "Json.createPointer target must be a sequence of '/' prefixed tokens or an empty String.",
+                            DiagnosticSeverity.Error, "jakarta-jsonp", "InvalidJsonCreatePointerTarget"),
+                          d(21, 62, 70,
+                            "Json.createPointer target must be a sequence of '/' prefixed tokens or an empty String.",
+                            DiagnosticSeverity.Error, "jakarta-jsonp", "InvalidJsonCreatePointerTarget"),
+                          d(22, 60, 80,
+                            "Json.createPointer target must be a sequence of '/' prefixed tokens or an empty String.",
+                            DiagnosticSeverity.Error, "jakarta-jsonp", "InvalidJsonCreatePointerTarget"));
+    }
+
+    @Test
+    public void cancelledDiagnostics() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        String jsonpUri = getUri(javaProject, "src/main/java/io/openliberty/sample/jakarta/jsonp/CreatePointerInvalidTarget.java");
+        String persistenceUri = getUri(javaProject, "src/main/java/io/openliberty/sample/jakarta/persistence/EntityMissingConstructor.java");
+
+        JakartaJavaDiagnosticsParams diagnosticsParams = new JakartaJavaDiagnosticsParams();
+        diagnosticsParams.setUris(Arrays.asList(persistenceUri, jsonpUri));
+
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        List<PublishDiagnosticsParams> actual = PropertiesManagerForJava.getInstance().diagnostics(diagnosticsParams,
+                                                                                                   IJDT_UTILS, monitor);
+
+        // A cancelled request returns no partial result
+        Assert.assertTrue(actual.isEmpty());
+    }
+
+    private static String getUri(IJavaProject javaProject, String path) {
+        IFile javaFile = javaProject.getProject().getFile(new Path(path));
+        return javaFile.getLocation().toFile().toURI().toString();
+    }
+}
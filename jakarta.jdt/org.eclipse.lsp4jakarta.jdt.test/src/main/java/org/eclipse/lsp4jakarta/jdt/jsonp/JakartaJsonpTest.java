@@ -55,4 +55,22 @@ public class JakartaJsonpTest extends BaseJakartaTest {
 
         assertJavaDiagnostics(diagnosticsParams, IJDT_UTILS, d1, d2, d3);
     }
+
+    @Test
+    public void invalidPointerTargetInMalformedMethod() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject().getFile(
+                                                          new Path("src/main/java/io/openliberty/sample/jakarta/jsonp/CreatePointerSyntaxError.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+
+        JakartaJavaDiagnosticsParams diagnosticsParams = new JakartaJavaDiagnosticsParams();
+        diagnosticsParams.setUris(Arrays.asList(uri));
+
+        // The statements following a syntax error are recovered by the shared AST
+        Diagnostic d = d(9, 62, 70,
+                         "Json.createPointer target must be a sequence of '/' prefixed tokens or an empty String.",
+                         DiagnosticSeverity.Error, "jakarta-jsonp", "InvalidJsonCreatePointerTarget");
+
+        assertJavaDiagnostics(diagnosticsParams, IJDT_UTILS, d);
+    }
 }
@@ -232,4 +232,38 @@ public class JakartaPersistenceTest extends BaseJakartaTest {
 
         assertJavaCodeAction(codeActionParams5, IJDT_UTILS, ca5);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void entityMemberTypes() throws Exception {
+        IJavaProject javaProject = loadJavaProject("jakarta-sample", "");
+        IFile javaFile = javaProject.getProject().getFile(
+                                                          new Path("src/main/java/io/openliberty/sample/jakarta/persistence/EntityMemberTypes.java"));
+        String uri = javaFile.getLocation().toFile().toURI().toString();
+
+        JakartaJavaDiagnosticsParams diagnosticsParams = new JakartaJavaDiagnosticsParams();
+        diagnosticsParams.setUris(Arrays.asList(uri));
+
+        // The @Entity rules are checked for each type of the compilation unit: the
+        // member types don't inherit the @Entity annotation of their declaring type.
+        Diagnostic d1 = d(5, 13, 30,
+                          "A class using the @Entity annotation must contain a public or protected constructor with no arguments.",
+                          DiagnosticSeverity.Error, "jakarta-persistence", "InvalidConstructorInEntityAnnotatedClass");
+
+        Diagnostic d2 = d(9, 21, 28,
+                          "A class using the @Entity annotation cannot contain any methods that are declared final.",
+                          DiagnosticSeverity.Error, "jakarta-persistence", "InvalidFinalMethodInEntityAnnotatedClass");
+        d2.setData(IJavaElement.METHOD);
+
+        Diagnostic d3 = d(14, 23, 35,
+                          "A class using the @Entity annotation must not be final.",
+                          DiagnosticSeverity.Error, "jakarta-persistence", "InvalidFinalModifierOnEntityAnnotatedClass");
+        d3.setData(IJavaElement.TYPE);
+
+        Diagnostic d4 = d(16, 18, 19,
+                          "A class using the @Entity annotation cannot contain any persistent instance variables that are declared final.",
+                          DiagnosticSeverity.Error, "jakarta-persistence", "InvalidPersistentFieldInEntityAnnotatedClass");
+        d4.setData(IJavaElement.FIELD);
+
+        assertJavaDiagnostics(diagnosticsParams, IJDT_UTILS, d1, d2, d3, d4);
+    }
+}
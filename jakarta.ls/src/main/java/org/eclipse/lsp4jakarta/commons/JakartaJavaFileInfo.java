@@ -23,6 +23,8 @@ public class JakartaJavaFileInfo {
 
     private String packageName;
 
+    private boolean javaCompletionParticipants;
+
     /**
      * Returns the package name.
      *
@@ -40,4 +42,26 @@ public class JakartaJavaFileInfo {
     public void setPackageName(String packageName) {
         this.packageName = packageName;
     }
+
+    /**
+     * Returns true if Java completion participants are registered and false
+     * otherwise.
+     *
+     * @return true if Java completion participants are registered and false
+     *         otherwise.
+     */
+    public boolean hasJavaCompletionParticipants() {
+        return javaCompletionParticipants;
+    }
+
+    /**
+     * Set true if Java completion participants are registered and false
+     * otherwise.
+     *
+     * @param javaCompletionParticipants true if Java completion participants
+     *            are registered and false otherwise.
+     */
+    public void setJavaCompletionParticipants(boolean javaCompletionParticipants) {
+        this.javaCompletionParticipants = javaCompletionParticipants;
+    }
 }
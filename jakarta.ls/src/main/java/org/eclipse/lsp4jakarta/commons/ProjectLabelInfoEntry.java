@@ -30,11 +30,17 @@ public class ProjectLabelInfoEntry {
     private final String uri;
     private final String name;
     private final List<String> labels;
+    private final long generation;
 
     public ProjectLabelInfoEntry(String uri, String name, List<String> labels) {
+        this(uri, name, labels, 0);
+    }
+
+    public ProjectLabelInfoEntry(String uri, String name, List<String> labels, long generation) {
         this.uri = uri;
         this.name = name;
         this.labels = labels;
+        this.generation = generation;
     }
 
     /**
@@ -66,6 +72,15 @@ public class ProjectLabelInfoEntry {
         return labels;
     }
 
+    /**
+     * Returns the classpath generation stamp at which the labels were computed.
+     *
+     * @return the classpath generation stamp at which the labels were computed.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
     /**
      * Returns true if the project has the given label and false otherwise.
      *
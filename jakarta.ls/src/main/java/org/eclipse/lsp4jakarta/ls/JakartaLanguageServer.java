@@ -27,9 +27,9 @@ import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SetTraceParams;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures;
 import org.eclipse.lsp4j.services.LanguageClient;
-import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4j.services.WorkspaceService;
+import org.eclipse.lsp4jakarta.commons.JakartaClasspathChangedEvent;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfo;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfoParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaProjectLabelsParams;
@@ -37,6 +37,7 @@ import org.eclipse.lsp4jakarta.commons.ProjectLabelInfoEntry;
 import org.eclipse.lsp4jakarta.ls.api.JakartaJavaFileInfoProvider;
 import org.eclipse.lsp4jakarta.ls.api.JakartaJavaProjectLabelsProvider;
 import org.eclipse.lsp4jakarta.ls.api.JakartaLanguageClientAPI;
+import org.eclipse.lsp4jakarta.ls.api.JakartaLanguageServerAPI;
 import org.eclipse.lsp4jakarta.ls.commons.ParentProcessWatcher.ProcessLanguageServer;
 import org.eclipse.lsp4jakarta.ls.commons.client.ExtendedClientCapabilities;
 import org.eclipse.lsp4jakarta.ls.commons.client.InitializationOptionsExtendedClientCapabilities;
@@ -52,7 +53,7 @@ import org.eclipse.lsp4jakarta.settings.capabilities.ServerCapabilitiesInitializ
 /**
  * Jakarta Language server.
  */
-public class JakartaLanguageServer implements LanguageServer, ProcessLanguageServer, JakartaJavaProjectLabelsProvider, JakartaJavaFileInfoProvider {
+public class JakartaLanguageServer implements JakartaLanguageServerAPI, ProcessLanguageServer, JakartaJavaProjectLabelsProvider, JakartaJavaFileInfoProvider {
 
     private Integer parentProcessId;
 
@@ -72,6 +73,7 @@ public class JakartaLanguageServer implements LanguageServer, ProcessLanguageSer
     public JakartaLanguageServer() {
         workspaceService = new JakartaWorkspaceService(this);
         javaDocuments = new JakartaTextDocuments(this, this);
+        javaDocuments.setRopeStorage(true);
         sharedSettings = new SharedSettings();
         textDocumentService = new JakartaTextDocumentService(this, sharedSettings, javaDocuments);
     }
@@ -224,6 +226,14 @@ public class JakartaLanguageServer implements LanguageServer, ProcessLanguageSer
         return getLanguageClient().getJavaFileInfo(javaParams);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void classpathChanged(JakartaClasspathChangedEvent event) {
+        textDocumentService.classpathChanged(event);
+    }
+
     /**
      * Returns the object that manages dynamic capabilities.
      *
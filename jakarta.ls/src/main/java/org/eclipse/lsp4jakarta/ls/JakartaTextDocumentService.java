@@ -15,10 +15,13 @@ package org.eclipse.lsp4jakarta.ls;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -39,15 +42,19 @@ import org.eclipse.lsp4j.HoverParams;
 import org.eclipse.lsp4j.MarkupKind;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.TextDocumentClientCapabilities;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import org.eclipse.lsp4jakarta.commons.DocumentFormat;
+import org.eclipse.lsp4jakarta.commons.JakartaClasspathChangedEvent;
+import org.eclipse.lsp4jakarta.commons.JakartaJavaAffectedUrisParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCodeActionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaCompletionResult;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaDiagnosticsSettings;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
+import org.eclipse.lsp4jakarta.commons.ProjectLabelInfoEntry;
 import org.eclipse.lsp4jakarta.ls.commons.BadLocationException;
 import org.eclipse.lsp4jakarta.ls.commons.TextDocument;
 import org.eclipse.lsp4jakarta.ls.commons.ValidatorDelayer;
@@ -77,7 +84,7 @@ public class JakartaTextDocumentService implements TextDocumentService {
         this.sharedSettings = sharedSettings;
         this.documents = jakartaTextDocuments;
         this.validatorDelayer = new ValidatorDelayer<>((javaTextDocument) -> {
-            triggerValidationFor(javaTextDocument);
+            return triggerValidationFor(javaTextDocument);
         });
     }
 
@@ -85,6 +92,7 @@ public class JakartaTextDocumentService implements TextDocumentService {
     public void didClose(DidCloseTextDocumentParams params) {
         documents.onDidCloseTextDocument(params);
         String uri = params.getTextDocument().getUri();
+        validatorDelayer.documentClosed(uri);
         // clear diagnostics
         jakartaLanguageServer.getLanguageClient().publishDiagnostics(new PublishDiagnosticsParams(uri, new ArrayList<Diagnostic>()));
     }
@@ -95,11 +103,6 @@ public class JakartaTextDocumentService implements TextDocumentService {
         JakartaTextDocument document = documents.get(params.getTextDocument().getUri());
 
         return document.executeIfInJakartaProject((projectInfo, cancelChecker) -> {
-            JakartaJavaCompletionParams javaParams = new JakartaJavaCompletionParams(params.getTextDocument().getUri(), params.getPosition());
-
-            // get the completion capabilities from the java language server component
-            CompletableFuture<JakartaJavaCompletionResult> javaParticipantCompletionsFuture = jakartaLanguageServer.getLanguageClient().getJavaCompletion(javaParams);
-
             // calculate params for Java snippets
             Integer completionOffset = null;
             try {
@@ -110,48 +113,115 @@ public class JakartaTextDocumentService implements TextDocumentService {
             }
 
             final Integer finalizedCompletionOffset = completionOffset;
-            boolean canSupportMarkdown = true;
-            boolean snippetsSupported = sharedSettings.getCompletionCapabilities().isCompletionSnippetsSupported();
 
+            if (!document.hasJavaCompletionParticipants()) {
+                // No completion participant can contribute items, the snippets only need the
+                // cursor context which is computed without the JDT LS extension when the
+                // structure of the Java file is not ambiguous.
+                AtomicReference<CompletableFuture<?>> javaCompletionFuture = new AtomicReference<>();
+                CompletableFuture<Either<List<CompletionItem>, CompletionList>> completionFuture = document.getCursorContextAsync(finalizedCompletionOffset).thenCompose(cursorContext -> {
+                    cancelChecker.checkCanceled();
+                    if (cursorContext != null) {
+                        CompletionList list = new CompletionList();
+                        list.getItems().addAll(getSnippetCompletionItems(document, finalizedCompletionOffset, projectInfo, cursorContext));
+                        list.setIsIncomplete(false);
+                        return CompletableFuture.completedFuture(Either.forRight(list));
+                    }
+                    // The structure of the Java file is ambiguous, ask the JDT LS extension.
+                    CompletableFuture<Either<List<CompletionItem>, CompletionList>> future = collectJavaCompletion(document, params, finalizedCompletionOffset, projectInfo,
+                                                                                                                   cancelChecker);
+                    javaCompletionFuture.set(future);
+                    return future;
+                });
+                // Cancel the JDT LS extension request when the completion is cancelled.
+                completionFuture.whenComplete((completion, error) -> {
+                    CompletableFuture<?> future = javaCompletionFuture.get();
+                    if (completionFuture.isCancelled() && future != null) {
+                        future.cancel(true);
+                    }
+                });
+                return completionFuture;
+            }
+            return collectJavaCompletion(document, params, finalizedCompletionOffset, projectInfo, cancelChecker);
+
+        }, Either.forLeft(Collections.emptyList()));
+    }
+
+    /**
+     * Returns as promise the completion list computed with the cursor context and
+     * the items of the JDT LS extension completion participants.
+     */
+    private CompletableFuture<Either<List<CompletionItem>, CompletionList>> collectJavaCompletion(JakartaTextDocument document,
+                                                                                                  CompletionParams params, int completionOffset, ProjectLabelInfoEntry projectInfo,
+                                                                                                  CancelChecker cancelChecker) {
+        JakartaJavaCompletionParams javaParams = new JakartaJavaCompletionParams(params.getTextDocument().getUri(), params.getPosition());
+
+        // get the completion capabilities from the java language server component
+        CompletableFuture<JakartaJavaCompletionResult> javaParticipantCompletionsFuture = jakartaLanguageServer.getLanguageClient().getJavaCompletion(javaParams);
+
+        cancelChecker.checkCanceled();
+
+        CompletableFuture<Either<List<CompletionItem>, CompletionList>> completionFuture = javaParticipantCompletionsFuture.thenApply((completionResult) -> {
             cancelChecker.checkCanceled();
 
-            return javaParticipantCompletionsFuture.thenApply((completionResult) -> {
-                cancelChecker.checkCanceled();
+            // We currently do not get any completion items from the JDT Extn layer - the
+            // completion
+            // list will be null, so we will new it up here to add the LS based snippets.
+            // Will we in the future?
+            CompletionList list = completionResult.getCompletionList();
+            if (list == null) {
+                list = new CompletionList();
+            }
 
-                // We currently do not get any completion items from the JDT Extn layer - the
-                // completion
-                // list will be null, so we will new it up here to add the LS based snippets.
-                // Will we in the future?
-                CompletionList list = completionResult.getCompletionList();
-                if (list == null) {
-                    list = new CompletionList();
-                }
+            // We do get a cursorContext obj back from the JDT Extn layer - we will need
+            // that for snippet selection
+            JavaCursorContextResult cursorContext = completionResult.getCursorContext();
 
-                // We do get a cursorContext obj back from the JDT Extn layer - we will need
-                // that for snippet selection
-                JavaCursorContextResult cursorContext = completionResult.getCursorContext();
-
-                // calculate the snippet completion items based on the cursor context
-                JavaTextDocumentSnippetRegistry snippetRegistry = documents.getSnippetRegistry();
-                List<CompletionItem> snippetCompletionItems = snippetRegistry.getCompletionItems(
-                                                                                                 document, finalizedCompletionOffset, canSupportMarkdown,
-                                                                                                 snippetsSupported,
-                                                                                                 (context, model) -> {
-                                                                                                     if (context != null
-                                                                                                         && context instanceof SnippetContextForJava) {
-                                                                                                         return ((SnippetContextForJava) context).isMatch(new JavaSnippetCompletionContext(projectInfo, cursorContext));
-                                                                                                     }
-                                                                                                     return true;
-                                                                                                 }, projectInfo);
-                list.getItems().addAll(snippetCompletionItems);
-
-                // This reduces the number of completion requests to the server. See:
-                // https://microsoft.github.io/language-server-protocol/specifications/specification-current/#textDocument_completion
-                list.setIsIncomplete(false);
-                return Either.forRight(list);
-            });
+            // calculate the snippet completion items based on the cursor context
+            list.getItems().addAll(getSnippetCompletionItems(document, completionOffset, projectInfo, cursorContext));
 
-        }, Either.forLeft(Collections.emptyList()));
+            // This reduces the number of completion requests to the server. See:
+            // https://microsoft.github.io/language-server-protocol/specifications/specification-current/#textDocument_completion
+            list.setIsIncomplete(false);
+            return Either.forRight(list);
+        });
+        // Cancel the JDT LS extension request when the completion is cancelled.
+        completionFuture.whenComplete((completion, error) -> {
+            if (completionFuture.isCancelled()) {
+                javaParticipantCompletionsFuture.cancel(true);
+            }
+        });
+        return completionFuture;
+    }
+
+    @Override
+    public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
+        // Compute the documentation and the text edit of the snippet which were not
+        // computed with the completion
+        return CompletableFuture.completedFuture(documents.getSnippetRegistry().resolveCompletionItem(unresolved));
+    }
+
+    /**
+     * Returns the snippet completion items which match the given cursor context.
+     *
+     * @param document the Java document.
+     * @param completionOffset the completion offset.
+     * @param projectInfo the project information of the Java document.
+     * @param cursorContext the cursor context.
+     * @return the snippet completion items which match the given cursor context.
+     */
+    private List<CompletionItem> getSnippetCompletionItems(JakartaTextDocument document, int completionOffset,
+                                                           ProjectLabelInfoEntry projectInfo, JavaCursorContextResult cursorContext) {
+        boolean canSupportMarkdown = true;
+        boolean snippetsSupported = sharedSettings.getCompletionCapabilities().isCompletionSnippetsSupported();
+        JavaTextDocumentSnippetRegistry snippetRegistry = documents.getSnippetRegistry();
+        return snippetRegistry.getCompletionItems(document, completionOffset, canSupportMarkdown, snippetsSupported,
+                                                  (context, model) -> {
+                                                      if (context != null && context instanceof SnippetContextForJava) {
+                                                          return ((SnippetContextForJava) context).isMatch(new JavaSnippetCompletionContext(projectInfo, cursorContext));
+                                                      }
+                                                      return true;
+                                                  }, projectInfo, cursorContext);
     }
 
     @Override
@@ -199,15 +269,16 @@ public class JakartaTextDocumentService implements TextDocumentService {
 
     @Override
     public void didSave(DidSaveTextDocumentParams params) {
-        // validate all opened java files which belong to a Jakarta project
-        triggerValidationForAll(null);
+        // validate the opened java files whose diagnostics can depend on the saved
+        // file
+        triggerValidationForSaved(params.getTextDocument().getUri());
     }
 
     private void validate(JakartaTextDocument javaTextDocument, boolean delay) {
         if (delay) {
             validatorDelayer.validateWithDelay(javaTextDocument);
         } else {
-            triggerValidationFor(javaTextDocument);
+            validatorDelayer.validate(javaTextDocument);
         }
     }
 
@@ -223,37 +294,74 @@ public class JakartaTextDocumentService implements TextDocumentService {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * Validate the saved Java file and the opened Java files whose diagnostics can
+     * depend on it (types referencing it, subtypes, same package). All the opened
+     * Java files are validated when the affected files cannot be computed.
+     *
+     * @param uri the saved file uri.
+     */
+    private void triggerValidationForSaved(String uri) {
+        List<String> uris = documents.all().stream() //
+                        .map(TextDocument::getUri) //
+                        .collect(Collectors.toList());
+        if (uris.isEmpty()) {
+            return;
+        }
+        JakartaJavaAffectedUrisParams javaParams = new JakartaJavaAffectedUrisParams(uri, uris);
+        jakartaLanguageServer.getLanguageClient().getJavaAffectedUris(javaParams).handle((affectedUris, e) -> {
+            if (e != null || affectedUris == null) {
+                if (e != null) {
+                    LOGGER.log(Level.WARNING, "Error while computing the Java files affected by " + uri, e);
+                }
+                triggerValidationFor(uris);
+            } else {
+                triggerValidationFor(affectedUris);
+            }
+            return null;
+        });
+    }
+
     /**
      * Validate the given opened Java file.
      *
      * @param document the opened Java file.
+     * @return the future completed when the diagnostics have been published.
      */
-    private void triggerValidationFor(JakartaTextDocument document) {
-        document.executeIfInJakartaProject((projectinfo, cancelChecker) -> {
+    private CompletableFuture<Void> triggerValidationFor(JakartaTextDocument document) {
+        return document.executeIfInJakartaProject((projectinfo, cancelChecker) -> {
             String uri = document.getUri();
-            triggerValidationFor(Arrays.asList(uri));
-            return null;
+            JakartaJavaDiagnosticsParams javaParams = new JakartaJavaDiagnosticsParams(Arrays.asList(uri), new JakartaJavaDiagnosticsSettings(null));
+            if (sharedSettings.getHoverSettings().isContentFormatSupported(MarkupKind.MARKDOWN)) {
+                javaParams.setDocumentFormat(DocumentFormat.Markdown);
+            }
+            return publishDiagnostics(javaParams);
         }, null, true);
     }
 
     /**
-     * Validate all given Java files uris.
+     * Validate all given opened Java files uris.
+     *
+     * One request is sent per uri, so the diagnostics of each file are published
+     * as soon as they are computed instead of waiting for the slowest file. The
+     * requests go through the validator delayer, which caps the number of
+     * validations in flight and cancels the validation of a file replaced by a
+     * newer one.
      *
      * @param uris Java files uris to validate.
      */
     private void triggerValidationFor(List<String> uris) {
-        if (uris.isEmpty()) {
-            return;
-        }
-
-        JakartaJavaDiagnosticsParams javaParams = new JakartaJavaDiagnosticsParams(uris, new JakartaJavaDiagnosticsSettings(null));
-
-        boolean markdownSupported = sharedSettings.getHoverSettings().isContentFormatSupported(MarkupKind.MARKDOWN);
-        if (markdownSupported) {
-            javaParams.setDocumentFormat(DocumentFormat.Markdown);
+        for (String uri : uris) {
+            JakartaTextDocument document = documents.get(uri);
+            if (document != null) {
+                validatorDelayer.validate(document);
+            }
         }
+    }
 
-        jakartaLanguageServer.getLanguageClient().getJavaDiagnostics(javaParams).thenApply(diagnostics -> {
+    private CompletableFuture<Void> publishDiagnostics(JakartaJavaDiagnosticsParams javaParams) {
+        CompletableFuture<List<PublishDiagnosticsParams>> diagnosticsFuture = jakartaLanguageServer.getLanguageClient().getJavaDiagnostics(javaParams);
+        CompletableFuture<Void> publishFuture = diagnosticsFuture.thenApply(diagnostics -> {
             if (diagnostics == null) {
                 return null;
             }
@@ -262,6 +370,39 @@ public class JakartaTextDocumentService implements TextDocumentService {
             }
             return null;
         });
+        // Cancel the JDT LS extension request when the validation is cancelled.
+        publishFuture.whenComplete((result, error) -> {
+            if (publishFuture.isCancelled()) {
+                diagnosticsFuture.cancel(true);
+            }
+        });
+        return publishFuture;
+    }
+
+    /**
+     * Evict the cached project information of the projects impacted by the given
+     * classpath change and revalidate their opened Java files.
+     *
+     * @param event the classpath changed event.
+     */
+    public void classpathChanged(JakartaClasspathChangedEvent event) {
+        Set<String> projectURIs = documents.classpathChanged(event);
+        if (!projectURIs.isEmpty()) {
+            triggerValidationForAll(projectURIs);
+        }
+    }
+
+    /**
+     * Evict the cached project information of the projects which contain the
+     * given changed build files and revalidate their opened Java files.
+     *
+     * @param fileURIs the URIs of the changed build files.
+     */
+    public void buildFilesChanged(Collection<String> fileURIs) {
+        Set<String> projectURIs = documents.buildFilesChanged(fileURIs);
+        if (!projectURIs.isEmpty()) {
+            triggerValidationForAll(projectURIs);
+        }
     }
 
     protected void cleanDiagnostics() {
@@ -282,6 +423,8 @@ public class JakartaTextDocumentService implements TextDocumentService {
         TextDocumentClientCapabilities textDocumentClientCapabilities = capabilities.getTextDocument();
         if (textDocumentClientCapabilities != null) {
             sharedSettings.getCompletionCapabilities().setCapabilities(textDocumentClientCapabilities.getCompletion());
+            documents.getSnippetRegistry().setCompletionResolveSupport(sharedSettings.getCompletionCapabilities().isCompletionResolveDocumentationSupported(),
+                                                                       sharedSettings.getCompletionCapabilities().isCompletionResolveTextEditSupported());
             sharedSettings.getHoverSettings().setCapabilities(textDocumentClientCapabilities.getHover());
         }
     }
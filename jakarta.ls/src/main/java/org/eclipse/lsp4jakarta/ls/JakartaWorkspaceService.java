@@ -13,12 +13,19 @@
 
 package org.eclipse.lsp4jakarta.ls;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.services.WorkspaceService;
 
 public class JakartaWorkspaceService implements WorkspaceService {
 
+    private static final Set<String> BUILD_FILE_NAMES = Set.of("pom.xml", "build.gradle", "build.gradle.kts", ".classpath");
+
     private final JakartaLanguageServer jakartaLanguageServer;
 
     public JakartaWorkspaceService(JakartaLanguageServer jls) {
@@ -32,7 +39,24 @@ public class JakartaWorkspaceService implements WorkspaceService {
 
     @Override
     public void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
-        // Do nothing
+        // A build file change can update the classpath of its project, evict the
+        // cached project labels even when the jakarta/classpathChanged command is not
+        // forwarded by the client.
+        List<String> buildFileURIs = params.getChanges().stream() //
+                        .map(FileEvent::getUri) //
+                        .filter(JakartaWorkspaceService::isBuildFile) //
+                        .collect(Collectors.toList());
+        if (!buildFileURIs.isEmpty()) {
+            ((JakartaTextDocumentService) jakartaLanguageServer.getTextDocumentService()).buildFilesChanged(buildFileURIs);
+        }
+    }
+
+    private static boolean isBuildFile(String uri) {
+        if (uri == null) {
+            return false;
+        }
+        String fileName = uri.substring(uri.lastIndexOf('/') + 1);
+        return BUILD_FILE_NAMES.contains(fileName);
     }
 
 }
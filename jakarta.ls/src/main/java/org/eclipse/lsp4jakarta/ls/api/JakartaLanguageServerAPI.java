@@ -0,0 +1,31 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.api;
+
+import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4jakarta.commons.JakartaClasspathChangedEvent;
+
+/**
+ * Jakarta language server API.
+ */
+public interface JakartaLanguageServerAPI extends LanguageServer {
+
+    /**
+     * Notification for classpath or build file changes of some projects.
+     *
+     * @param event the classpath changed event.
+     */
+    @JsonNotification("jakarta/classpathChanged")
+    void classpathChanged(JakartaClasspathChangedEvent event);
+}
@@ -94,6 +94,12 @@ public class ModelTextDocument<T> extends TextDocument {
         cancelModel();
     }
 
+    @Override
+    protected void textChanged() {
+        // text changed, mark the model as dirty
+        cancelModel();
+    }
+
     @Override
     public void setVersion(int version) {
         super.setVersion(version);
@@ -42,6 +42,7 @@ public class ModelTextDocuments<T> extends TextDocuments<ModelTextDocument<T>> {
     public ModelTextDocument<T> createDocument(TextDocumentItem document) {
         ModelTextDocument<T> doc = new ModelTextDocument<T>(document, parse);
         doc.setIncremental(isIncremental());
+        doc.setRopeStorage(isRopeStorage());
         return doc;
     }
 
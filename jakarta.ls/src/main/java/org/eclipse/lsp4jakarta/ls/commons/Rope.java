@@ -0,0 +1,279 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.commons;
+
+/**
+ * Immutable text stored in a balanced tree of small text chunks.
+ *
+ * <p>
+ * Replacing a part of the text creates a new rope which shares the unchanged
+ * chunks with the old one in O(log n), instead of copying the whole text. A
+ * rope can be read without lock while it is replaced by a newer one. The text
+ * is materialized as a string only when {@link #toString()} is called.
+ * </p>
+ */
+public final class Rope implements CharSequence {
+
+    // Maximum number of characters of a chunk
+    private static final int MAX_LEAF_LENGTH = 1024;
+
+    private static final Rope EMPTY = new Rope(new Leaf(""));
+
+    private final Node root;
+
+    // Materialized text, computed on demand
+    private String text;
+
+    private Rope(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the rope of the given text.
+     *
+     * @param text the text.
+     * @return the rope of the given text.
+     */
+    public static Rope of(CharSequence text) {
+        if (text instanceof Rope) {
+            return (Rope) text;
+        }
+        if (text == null || text.length() == 0) {
+            return EMPTY;
+        }
+        Rope rope = new Rope(build(text, 0, text.length()));
+        if (text instanceof String) {
+            rope.text = (String) text;
+        }
+        return rope;
+    }
+
+    /**
+     * Returns a new rope where the characters between <code>start</code>
+     * (inclusive) and <code>end</code> (exclusive) are replaced by the given
+     * text.
+     *
+     * @param start the start offset.
+     * @param end the end offset.
+     * @param replacement the replacement text.
+     * @return a new rope where the given range is replaced by the given text.
+     * @throws IndexOutOfBoundsException if the range is not inside the rope.
+     */
+    public Rope replace(int start, int end, CharSequence replacement) {
+        checkRange(start, end);
+        Node[] head = split(root, start);
+        Node[] tail = split(head[1], end - start);
+        Node result = head[0];
+        if (replacement != null && replacement.length() > 0) {
+            result = join(result, build(replacement, 0, replacement.length()));
+        }
+        return new Rope(join(result, tail[1]));
+    }
+
+    @Override
+    public int length() {
+        return root.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= root.length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + root.length);
+        }
+        Node node = root;
+        while (node instanceof Concat) {
+            Concat concat = (Concat) node;
+            if (index < concat.left.length) {
+                node = concat.left;
+            } else {
+                index -= concat.left.length;
+                node = concat.right;
+            }
+        }
+        return ((Leaf) node).text.charAt(index);
+    }
+
+    @Override
+    public Rope subSequence(int start, int end) {
+        checkRange(start, end);
+        if (start == 0 && end == root.length) {
+            return this;
+        }
+        return new Rope(split(split(root, end)[0], start)[1]);
+    }
+
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            StringBuilder builder = new StringBuilder(root.length);
+            root.appendTo(builder);
+            result = builder.toString();
+            text = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the tree of the rope is balanced (the heights of the
+     * children of each node differ by one at most), its node lengths and heights
+     * are consistent and its chunks are not empty and not larger than the maximum
+     * chunk length.
+     *
+     * @return true if the tree of the rope is balanced and consistent.
+     */
+    boolean isBalanced() {
+        return root.length == 0 || isBalanced(root);
+    }
+
+    private static boolean isBalanced(Node node) {
+        if (node instanceof Leaf) {
+            return node.height == 0 && node.length > 0 && node.length <= MAX_LEAF_LENGTH;
+        }
+        Concat concat = (Concat) node;
+        return Math.abs(concat.left.height - concat.right.height) <= 1
+               && node.height == Math.max(concat.left.height, concat.right.height) + 1
+               && node.length == concat.left.length + concat.right.length && isBalanced(concat.left)
+               && isBalanced(concat.right);
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end > root.length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + root.length);
+        }
+    }
+
+    private static Node build(CharSequence text, int start, int end) {
+        if (end - start <= MAX_LEAF_LENGTH) {
+            return new Leaf(text.subSequence(start, end).toString());
+        }
+        int middle = (start + end) >>> 1;
+        return new Concat(build(text, start, middle), build(text, middle, end));
+    }
+
+    /**
+     * Returns the nodes of the text before and after the given offset.
+     */
+    private static Node[] split(Node node, int offset) {
+        if (offset == 0) {
+            return new Node[] { EMPTY.root, node };
+        }
+        if (offset == node.length) {
+            return new Node[] { node, EMPTY.root };
+        }
+        if (node instanceof Leaf) {
+            String text = ((Leaf) node).text;
+            return new Node[] { new Leaf(text.substring(0, offset)), new Leaf(text.substring(offset)) };
+        }
+        Concat concat = (Concat) node;
+        if (offset <= concat.left.length) {
+            Node[] parts = split(concat.left, offset);
+            return new Node[] { parts[0], join(parts[1], concat.right) };
+        }
+        Node[] parts = split(concat.right, offset - concat.left.length);
+        return new Node[] { join(concat.left, parts[0]), parts[1] };
+    }
+
+    /**
+     * Returns the balanced concatenation of the given nodes.
+     */
+    private static Node join(Node left, Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+        if (left instanceof Leaf && right instanceof Leaf && left.length + right.length <= MAX_LEAF_LENGTH) {
+            // Merge small chunks to avoid a chunk per typed character
+            return new Leaf(((Leaf) left).text + ((Leaf) right).text);
+        }
+        if (left.height > right.height + 1) {
+            Concat concat = (Concat) left;
+            return balance(concat.left, join(concat.right, right));
+        }
+        if (right.height > left.height + 1) {
+            Concat concat = (Concat) right;
+            return balance(join(left, concat.left), concat.right);
+        }
+        return new Concat(left, right);
+    }
+
+    private static Node balance(Node left, Node right) {
+        if (left.height > right.height + 1) {
+            Concat concat = (Concat) left;
+            if (concat.left.height >= concat.right.height) {
+                return new Concat(concat.left, new Concat(concat.right, right));
+            }
+            Concat inner = (Concat) concat.right;
+            return new Concat(new Concat(concat.left, inner.left), new Concat(inner.right, right));
+        }
+        if (right.height > left.height + 1) {
+            Concat concat = (Concat) right;
+            if (concat.right.height >= concat.left.height) {
+                return new Concat(new Concat(left, concat.left), concat.right);
+            }
+            Concat inner = (Concat) concat.left;
+            return new Concat(new Concat(left, inner.left), new Concat(inner.right, concat.right));
+        }
+        return new Concat(left, right);
+    }
+
+    private abstract static class Node {
+
+        protected final int length;
+
+        protected final int height;
+
+        protected Node(int length, int height) {
+            this.length = length;
+            this.height = height;
+        }
+
+        protected abstract void appendTo(StringBuilder builder);
+    }
+
+    private static class Leaf extends Node {
+
+        private final String text;
+
+        public Leaf(String text) {
+            super(text.length(), 0);
+            this.text = text;
+        }
+
+        @Override
+        protected void appendTo(StringBuilder builder) {
+            builder.append(text);
+        }
+    }
+
+    private static class Concat extends Node {
+
+        private final Node left;
+
+        private final Node right;
+
+        public Concat(Node left, Node right) {
+            super(left.length + right.length, Math.max(left.height, right.height) + 1);
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected void appendTo(StringBuilder builder) {
+            left.appendTo(builder);
+            right.appendTo(builder);
+        }
+    }
+}
@@ -40,6 +40,9 @@ public class TextDocument extends TextDocumentItem {
 
     private boolean incremental;
 
+    // Text of the document when it is stored in a rope, null otherwise
+    private volatile Rope rope;
+
     public TextDocument(TextDocumentItem document) {
         this(document.getText(), document.getUri());
         super.setVersion(document.getVersion());
@@ -62,6 +65,69 @@ public class TextDocument extends TextDocumentItem {
         return incremental;
     }
 
+    /**
+     * Set the rope storage support. When enabled, the incremental changes update
+     * a rope instead of copying the whole text, and the text is materialized as
+     * a string only when {@link #getText()} is called.
+     *
+     * @param ropeStorage true if the text must be stored in a rope.
+     */
+    public void setRopeStorage(boolean ropeStorage) {
+        synchronized (lock) {
+            if (ropeStorage == isRopeStorage()) {
+                return;
+            }
+            if (ropeStorage) {
+                rope = Rope.of(super.getText());
+                // The text is only stored in the rope
+                super.setText("");
+            } else {
+                String text = rope.toString();
+                rope = null;
+                super.setText(text);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the text is stored in a rope and false otherwise.
+     *
+     * @return true if the text is stored in a rope and false otherwise.
+     */
+    public boolean isRopeStorage() {
+        return rope != null;
+    }
+
+    @Override
+    public String getText() {
+        Rope rope = this.rope;
+        return rope != null ? rope.toString() : super.getText();
+    }
+
+    @Override
+    public void setText(String text) {
+        synchronized (lock) {
+            if (rope != null) {
+                rope = Rope.of(text);
+                // The text is only stored in the rope
+                super.setText("");
+            } else {
+                super.setText(text);
+            }
+        }
+    }
+
+    /**
+     * Returns the text of the document without materializing it as a string
+     * when it is stored in a rope.
+     *
+     * @return the text of the document.
+     */
+    public CharSequence getTextSequence() {
+        Rope rope = this.rope;
+        return rope != null ? rope : super.getText();
+    }
+
     public Position positionAt(int position) throws BadLocationException {
         ILineTracker lineTracker = getLineTracker();
         return lineTracker.getPositionAt(position);
@@ -82,8 +148,7 @@ public class TextDocument extends TextDocumentItem {
     public String lineText(int lineNumber) throws BadLocationException {
         ILineTracker lineTracker = getLineTracker();
         Line line = lineTracker.getLineInformation(lineNumber);
-        String text = super.getText();
-        return text.substring(line.offset, line.offset + line.length);
+        return getTextSequence().subSequence(line.offset, line.offset + line.length).toString();
     }
 
     public String lineDelimiter(int lineNumber) throws BadLocationException {
@@ -105,8 +170,7 @@ public class TextDocument extends TextDocumentItem {
             Position pos = positionAt(textOffset);
             ILineTracker lineTracker = getLineTracker();
             Line line = lineTracker.getLineInformation(pos.getLine());
-            String text = super.getText();
-            String lineText = text.substring(line.offset, textOffset);
+            String lineText = getTextSequence().subSequence(line.offset, textOffset).toString();
             int position = lineText.length();
             Matcher m = wordDefinition.matcher(lineText);
             int currentPosition = 0;
@@ -139,7 +203,7 @@ public class TextDocument extends TextDocumentItem {
             return lineTracker;
         }
         ILineTracker lineTracker = isIncremental() ? new TreeLineTracker(new ListLineTracker()) : new ListLineTracker();
-        lineTracker.set(super.getText());
+        lineTracker.set(getText());
         return lineTracker;
     }
 
@@ -158,8 +222,10 @@ public class TextDocument extends TextDocumentItem {
             try {
                 long start = System.currentTimeMillis();
                 synchronized (lock) {
-                    // Initialize buffer and line tracker from the current text document
-                    StringBuilder buffer = new StringBuilder(getText());
+                    // Initialize buffer and line tracker from the current text document, the
+                    // rope is updated without copying the text
+                    Rope rope = this.rope;
+                    StringBuilder buffer = rope == null ? new StringBuilder(getText()) : null;
 
                     // Loop for each changes and update the buffer
                     for (int i = 0; i < changes.size(); i++) {
@@ -172,16 +238,26 @@ public class TextDocument extends TextDocumentItem {
                             length = changeEvent.getRangeLength().intValue();
                         } else {
                             // range is optional and if not given, the whole file content is replaced
-                            length = buffer.length();
+                            length = rope != null ? rope.length() : buffer.length();
                             range = new Range(positionAt(0), positionAt(length));
                         }
                         String text = changeEvent.getText();
                         int startOffset = offsetAt(range.getStart());
-                        buffer.replace(startOffset, startOffset + length, text);
+                        if (rope != null) {
+                            rope = rope.replace(startOffset, startOffset + length, text);
+                        } else {
+                            buffer.replace(startOffset, startOffset + length, text);
+                        }
                         lineTracker.replace(startOffset, length, text);
                     }
-                    // Update the new text content from the updated buffer
-                    setText(buffer.toString());
+                    if (rope != null) {
+                        // Update the new text content from the updated rope
+                        this.rope = rope;
+                        textChanged();
+                    } else {
+                        // Update the new text content from the updated buffer
+                        setText(buffer.toString());
+                    }
                 }
                 LOGGER.fine("Text document content updated in " + (System.currentTimeMillis() - start) + "ms");
             } catch (BadLocationException e) {
@@ -198,4 +274,10 @@ public class TextDocument extends TextDocumentItem {
             }
         }
     }
+
+    /**
+     * Called when the text stored in a rope has been updated without
+     * {@link #setText(String)}.
+     */
+    protected void textChanged() {}
 }
@@ -33,6 +33,8 @@ public class TextDocuments<T extends TextDocument> {
 
     private boolean incremental = true; // default on
 
+    private boolean ropeStorage;
+
     public TextDocuments() {
         documents = new HashMap<>();
     }
@@ -60,6 +62,30 @@ public class TextDocuments<T extends TextDocument> {
         return incremental;
     }
 
+    /**
+     * Set the rope storage support of the text documents.
+     *
+     * @param ropeStorage true if the text of the documents must be stored in a
+     *            rope.
+     */
+    public void setRopeStorage(boolean ropeStorage) {
+        this.ropeStorage = ropeStorage;
+        synchronized (documents) {
+            documents.values().forEach(document -> document.setRopeStorage(ropeStorage));
+        }
+    }
+
+    /**
+     * Returns true if the text of the documents is stored in a rope and false
+     * otherwise.
+     *
+     * @return true if the text of the documents is stored in a rope and false
+     *         otherwise.
+     */
+    public boolean isRopeStorage() {
+        return ropeStorage;
+    }
+
     /**
      * Returns the document for the given URI. Returns undefined if the document is
      * not mananged by this instance.
@@ -76,6 +102,7 @@ public class TextDocuments<T extends TextDocument> {
     public T createDocument(TextDocumentItem document) {
         TextDocument doc = new TextDocument(document);
         doc.setIncremental(isIncremental());
+        doc.setRopeStorage(isRopeStorage());
         return (T) doc;
     }
 
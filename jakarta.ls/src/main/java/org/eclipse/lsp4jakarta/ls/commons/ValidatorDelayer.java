@@ -13,40 +13,111 @@
 *******************************************************************************/
 package org.eclipse.lsp4jakarta.ls.commons;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Validate a given document with delay.
  *
+ * <p>
+ * The delay of a document is computed from the measured latency of its
+ * previous validations (exponentially weighted moving average), so small
+ * documents are validated quickly while the validations of large documents
+ * don't pile up. The number of validations in flight is capped: the waiting
+ * validations are coalesced per document and the last changed document is
+ * validated first. A validation which doesn't complete within the validation
+ * timeout releases its slot. A validation in flight is cancelled when a newer
+ * validation of the same document is requested.
+ * </p>
+ *
  * @param <T>
  */
 public class ValidatorDelayer<T extends TextDocument> {
 
+    private static final Logger LOGGER = Logger.getLogger(ValidatorDelayer.class.getName());
+
     public static final long DEFAULT_VALIDATION_DELAY_MS = 500;
 
+    public static final long MIN_VALIDATION_DELAY_MS = 100;
+
+    public static final long MAX_VALIDATION_DELAY_MS = 2000;
+
+    public static final int DEFAULT_MAX_IN_FLIGHT_VALIDATIONS = 4;
+
+    public static final long DEFAULT_VALIDATION_TIMEOUT_MS = 30000;
+
+    // Weight of the last measured latency in the moving average
+    private static final double LATENCY_SMOOTHING = 0.3;
+
+    // The delay is a multiple of the average latency
+    private static final int LATENCY_DELAY_FACTOR = 2;
+
     private final ScheduledExecutorService executorService;
 
-    private final Consumer<T> validator;
+    private final Function<T, CompletableFuture<?>> validator;
 
     private final Map<String, Future<?>> pendingValidationRequests;
 
+    // Documents waiting for a free validation slot, in arrival order
+    private final Map<String, T> queuedValidations;
+
+    // Document uri -> validation in flight (null while the validation starts)
+    private final Map<String, CompletableFuture<?>> inFlightValidations;
+
+    // Document uri -> moving average of the validation latency in ms
+    private final Map<String, Double> validationLatencies;
+
     private final long validationDelayMs;
 
-    public ValidatorDelayer(Consumer<T> validator) {
-        this(Executors.newScheduledThreadPool(2), validator, DEFAULT_VALIDATION_DELAY_MS);
+    private final int maxInFlightValidations;
+
+    private final long validationTimeoutMs;
+
+    private final LongSupplier nanoTime;
+
+    private String focusedUri;
+
+    public ValidatorDelayer(Function<T, CompletableFuture<?>> validator) {
+        this(Executors.newSingleThreadScheduledExecutor(), validator, DEFAULT_VALIDATION_DELAY_MS, DEFAULT_MAX_IN_FLIGHT_VALIDATIONS);
+    }
+
+    public ValidatorDelayer(ScheduledExecutorService executorService, Function<T, CompletableFuture<?>> validator,
+                            long validationDelayMs, int maxInFlightValidations) {
+        this(executorService, validator, validationDelayMs, maxInFlightValidations, DEFAULT_VALIDATION_TIMEOUT_MS);
     }
 
-    public ValidatorDelayer(ScheduledExecutorService executorService, Consumer<T> validator, long validationDelayMs) {
+    public ValidatorDelayer(ScheduledExecutorService executorService, Function<T, CompletableFuture<?>> validator,
+                            long validationDelayMs, int maxInFlightValidations, long validationTimeoutMs) {
+        this(executorService, validator, validationDelayMs, maxInFlightValidations, validationTimeoutMs, System::nanoTime);
+    }
+
+    ValidatorDelayer(ScheduledExecutorService executorService, Function<T, CompletableFuture<?>> validator,
+                     long validationDelayMs, int maxInFlightValidations, long validationTimeoutMs, LongSupplier nanoTime) {
         this.executorService = executorService;
         this.validator = validator;
         this.pendingValidationRequests = new HashMap<>();
+        this.queuedValidations = new LinkedHashMap<>();
+        this.inFlightValidations = new HashMap<>();
+        this.validationLatencies = new HashMap<>();
         this.validationDelayMs = validationDelayMs;
+        this.maxInFlightValidations = maxInFlightValidations;
+        this.validationTimeoutMs = validationTimeoutMs;
+        this.nanoTime = nanoTime;
     }
 
     /**
@@ -57,27 +128,77 @@ public class ValidatorDelayer<T extends TextDocument> {
      */
     public void validateWithDelay(T document) {
         String uri = document.getUri();
-        cleanPendingValidation(uri);
         int version = document.getVersion();
-        Future<?> request = executorService.schedule(() -> {
-            synchronized (pendingValidationRequests) {
-                pendingValidationRequests.remove(uri);
-            }
-            if (version == document.getVersion()) {
-                validator.accept(document);
-            }
-        }, validationDelayMs, TimeUnit.MILLISECONDS);
-        synchronized (pendingValidationRequests) {
+        CompletableFuture<?> replacedValidation;
+        synchronized (this) {
+            cancelPendingValidation(uri);
+            replacedValidation = inFlightValidations.get(uri);
+            focusedUri = uri;
+            AtomicReference<Future<?>> self = new AtomicReference<>();
+            Future<?> request = executorService.schedule(() -> {
+                List<T> documentsToValidate;
+                synchronized (this) {
+                    if (self.get().isCancelled()) {
+                        // A newer validation of the document has been requested
+                        return;
+                    }
+                    pendingValidationRequests.remove(uri);
+                    // Drop the validation if the document has been updated since
+                    if (version != document.getVersion()) {
+                        return;
+                    }
+                    queuedValidations.put(uri, document);
+                    documentsToValidate = dequeueValidations();
+                }
+                validate(documentsToValidate);
+            }, getValidationDelay(uri), TimeUnit.MILLISECONDS);
+            self.set(request);
             pendingValidationRequests.put(uri, request);
         }
+        cancel(replacedValidation);
+    }
+
+    /**
+     * Validate the given document without delay, as soon as a validation slot is
+     * free.
+     *
+     * @param document the document model to validate.
+     */
+    public void validate(T document) {
+        String uri = document.getUri();
+        CompletableFuture<?> replacedValidation;
+        List<T> documentsToValidate;
+        synchronized (this) {
+            cancelPendingValidation(uri);
+            replacedValidation = inFlightValidations.get(uri);
+            queuedValidations.put(uri, document);
+            documentsToValidate = dequeueValidations();
+        }
+        // The validation in flight releases its slot for the queued document when it
+        // is cancelled
+        cancel(replacedValidation);
+        validate(documentsToValidate);
     }
 
     public void cleanPendingValidation(String uri) {
-        synchronized (pendingValidationRequests) {
-            Future<?> request = pendingValidationRequests.get(uri);
-            if (request != null) {
-                request.cancel(true);
-                pendingValidationRequests.remove(uri);
+        synchronized (this) {
+            cancelPendingValidation(uri);
+            queuedValidations.remove(uri);
+        }
+    }
+
+    /**
+     * Cancel the validations of the given closed document and forget its
+     * measured latency.
+     *
+     * @param uri the uri of the closed document.
+     */
+    public void documentClosed(String uri) {
+        synchronized (this) {
+            cleanPendingValidation(uri);
+            validationLatencies.remove(uri);
+            if (uri.equals(focusedUri)) {
+                focusedUri = null;
             }
         }
     }
@@ -90,8 +211,125 @@ public class ValidatorDelayer<T extends TextDocument> {
      * @return true if the document has a revalidation pending and false otherwise
      */
     public boolean isRevalidating(String uri) {
-        synchronized (pendingValidationRequests) {
-            return pendingValidationRequests.containsKey(uri);
+        synchronized (this) {
+            return pendingValidationRequests.containsKey(uri) || queuedValidations.containsKey(uri);
+        }
+    }
+
+    /**
+     * Returns the delay to wait before validating the given document.
+     *
+     * @param uri the document uri.
+     * @return the delay to wait before validating the given document.
+     */
+    public long getValidationDelay(String uri) {
+        synchronized (this) {
+            Double latency = validationLatencies.get(uri);
+            if (latency == null) {
+                return validationDelayMs;
+            }
+            long delay = Math.round(latency * LATENCY_DELAY_FACTOR);
+            return Math.max(MIN_VALIDATION_DELAY_MS, Math.min(MAX_VALIDATION_DELAY_MS, delay));
+        }
+    }
+
+    private static void cancel(CompletableFuture<?> validation) {
+        if (validation != null) {
+            validation.cancel(true);
+        }
+    }
+
+    private void cancelPendingValidation(String uri) {
+        Future<?> request = pendingValidationRequests.remove(uri);
+        if (request != null) {
+            request.cancel(true);
+        }
+    }
+
+    /**
+     * Returns the queued documents which can be validated now, the focused
+     * document first. A document which is already validating stays queued until
+     * its validation finishes.
+     */
+    private List<T> dequeueValidations() {
+        List<T> documentsToValidate = new ArrayList<>();
+        if (focusedUri != null && queuedValidations.containsKey(focusedUri)) {
+            dequeueValidation(focusedUri, documentsToValidate);
+        }
+        for (String uri : new ArrayList<>(queuedValidations.keySet())) {
+            dequeueValidation(uri, documentsToValidate);
+        }
+        return documentsToValidate;
+    }
+
+    private void dequeueValidation(String uri, List<T> documentsToValidate) {
+        if (inFlightValidations.size() >= maxInFlightValidations || inFlightValidations.containsKey(uri)) {
+            return;
+        }
+        T document = queuedValidations.remove(uri);
+        if (document != null && !pendingValidationRequests.containsKey(uri)) {
+            inFlightValidations.put(uri, null);
+            documentsToValidate.add(document);
+        }
+    }
+
+    private void validate(List<T> documents) {
+        for (T document : documents) {
+            String uri = document.getUri();
+            long start = nanoTime.getAsLong();
+            CompletableFuture<?> validation;
+            try {
+                validation = validator.apply(document);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error while validating '" + uri + "'", e);
+                validation = null;
+            }
+            if (validation == null) {
+                validationDone(uri, -1);
+            } else {
+                boolean replaced;
+                synchronized (this) {
+                    inFlightValidations.put(uri, validation);
+                    // A newer validation has been requested while the validation was starting
+                    replaced = pendingValidationRequests.containsKey(uri) || queuedValidations.containsKey(uri);
+                }
+                // The slot is released once, by the completion of the validation or by its
+                // timeout
+                AtomicBoolean done = new AtomicBoolean();
+                Future<?> timeout = executorService.schedule(() -> {
+                    if (done.compareAndSet(false, true)) {
+                        LOGGER.warning("Validation of '" + uri + "' didn't complete in " + validationTimeoutMs + "ms");
+                        validationDone(uri, -1);
+                    }
+                }, validationTimeoutMs, TimeUnit.MILLISECONDS);
+                validation.whenComplete((result, error) -> {
+                    if (!done.compareAndSet(false, true)) {
+                        return;
+                    }
+                    timeout.cancel(false);
+                    if (error != null && !(error instanceof CancellationException)) {
+                        LOGGER.log(Level.WARNING, "Error while validating '" + uri + "'", error);
+                    }
+                    validationDone(uri, error == null ? nanoTime.getAsLong() - start : -1);
+                });
+                if (replaced) {
+                    cancel(validation);
+                }
+            }
+        }
+    }
+
+    private void validationDone(String uri, long latencyNanos) {
+        List<T> documentsToValidate;
+        synchronized (this) {
+            inFlightValidations.remove(uri);
+            if (latencyNanos >= 0) {
+                double latency = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+                Double average = validationLatencies.get(uri);
+                validationLatencies.put(uri, average == null ? latency : LATENCY_SMOOTHING * latency + (1 - LATENCY_SMOOTHING) * average);
+            }
+            documentsToValidate = dequeueValidations();
         }
+        validate(documentsToValidate);
     }
 }
@@ -42,6 +42,8 @@ public class Snippet {
 
     private ISnippetContext<?> context;
 
+    private SnippetTemplate template;
+
     public String getLabel() {
         return label;
     }
@@ -72,6 +74,28 @@ public class Snippet {
 
     public void setBody(List<String> body) {
         this.body = body;
+        this.template = null;
+    }
+
+    /**
+     * Returns the compiled template of the snippet body.
+     *
+     * <p>
+     * The template is compiled when the snippet is registered, the body must not
+     * be updated after.
+     * </p>
+     *
+     * @return the compiled template of the snippet body.
+     */
+    public SnippetTemplate getTemplate() {
+        if (template == null) {
+            template = SnippetTemplate.compile(body);
+        }
+        return template;
+    }
+
+    void setTemplate(SnippetTemplate template) {
+        this.template = template;
     }
 
     public String getDescription() {
@@ -14,26 +14,24 @@
 
 package org.eclipse.lsp4jakarta.ls.commons.snippets;
 
-import java.lang.reflect.Type;
-
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Reused from https://github.com/eclipse/lsp4mp/blob/master/microprofile.ls/org.eclipse.lsp4mp.ls/src/main/java/org/eclipse/lsp4mp/ls/commons/snippets/SnippetDeserializer.java
  *
+ * The snippet is read from the JSON stream without building a JSON tree.
+ *
  * @author Ankush Sharma, credit to Angelo ZERR
  *
  */
-class SnippetDeserializer implements JsonDeserializer<Snippet> {
+class SnippetDeserializer extends TypeAdapter<Snippet> {
     private static final String PREFIX_ELT = "prefix";
     private static final String DESCRIPTION_ELT = "description";
     private static final String SCOPE_ELT = "scope";
@@ -47,63 +45,71 @@ class SnippetDeserializer implements JsonDeserializer<Snippet> {
     }
 
     @Override
-    public Snippet deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+    public Snippet read(JsonReader in) throws IOException {
         Snippet snippet = new Snippet();
-        JsonObject snippetObj = json.getAsJsonObject();
-
-        // prefix
         List<String> prefixes = new ArrayList<>();
-        JsonElement prefixElt = snippetObj.get(PREFIX_ELT);
-        if (prefixElt != null) {
-            if (prefixElt.isJsonArray()) {
-                JsonArray prefixArray = (JsonArray) prefixElt;
-                prefixArray.forEach(elt -> {
-                    prefixes.add(elt.getAsString());
-                });
-            } else if (prefixElt.isJsonPrimitive()) {
-                prefixes.add(prefixElt.getAsString());
-            }
-        }
-        snippet.setPrefixes(prefixes);
-
-        // body
         List<String> body = new ArrayList<>();
-        JsonElement bodyElt = snippetObj.get(BODY_ELT);
-        if (bodyElt != null) {
-            if (bodyElt.isJsonArray()) {
-                JsonArray bodyArray = (JsonArray) bodyElt;
-                bodyArray.forEach(elt -> {
-                    body.add(elt.getAsString());
-                });
-            } else if (bodyElt.isJsonPrimitive()) {
-                body.add(bodyElt.getAsString());
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case PREFIX_ELT:
+                    readStrings(in, prefixes);
+                    break;
+                case BODY_ELT:
+                    readStrings(in, body);
+                    break;
+                case DESCRIPTION_ELT:
+                    snippet.setDescription(readString(in));
+                    break;
+                case SCOPE_ELT:
+                    snippet.setScope(readString(in));
+                    break;
+                case CONTEXT_ELT:
+                    if (contextDeserializer != null) {
+                        snippet.setContext(contextDeserializer.read(in));
+                    } else {
+                        in.skipValue();
+                    }
+                    break;
+                default:
+                    in.skipValue();
             }
         }
+        in.endObject();
+        snippet.setPrefixes(prefixes);
         snippet.setBody(body);
+        return snippet;
+    }
 
-        // description
-        JsonElement descriptionElt = snippetObj.get(DESCRIPTION_ELT);
-        if (descriptionElt != null) {
-            String description = descriptionElt.getAsString();
-            snippet.setDescription(description);
-        }
-
-        // scope
-        JsonElement scopeElt = snippetObj.get(SCOPE_ELT);
-        if (scopeElt != null) {
-            String scope = scopeElt.getAsString();
-            snippet.setScope(scope);
+    /**
+     * Read a string or an array of strings.
+     */
+    private static void readStrings(JsonReader in, List<String> values) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) {
+                values.add(in.nextString());
+            }
+            in.endArray();
+        } else if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            values.add(in.nextString());
+        } else {
+            in.skipValue();
         }
+    }
 
-        // context
-        if (contextDeserializer != null) {
-            JsonElement contextElt = snippetObj.get(CONTEXT_ELT);
-            if (contextElt != null) {
-                ISnippetContext<?> snippetContext = contextDeserializer.fromJsonTree(contextElt);
-                snippet.setContext(snippetContext);
-            }
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
         }
+        return in.nextString();
+    }
 
-        return snippet;
+    @Override
+    public void write(JsonWriter out, Snippet value) throws IOException {
+        // Do nothing
     }
 }
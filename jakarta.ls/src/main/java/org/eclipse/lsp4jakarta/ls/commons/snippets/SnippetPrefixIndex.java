@@ -0,0 +1,80 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.commons.snippets;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the characters of the snippet prefixes, used to find the snippets
+ * which can match the expression typed before the completion offset.
+ *
+ * <p>
+ * The clients filter the completion items with their own (fuzzy) matching,
+ * which can skip characters of the filter text. The only character that every
+ * matching filter text contains is the first character of the expression, so
+ * the snippets are only narrowed with it (ignoring case). The returned list of
+ * completion items can then stay complete.
+ * </p>
+ */
+class SnippetPrefixIndex {
+
+    private final Map<Character, BitSet> snippetsByCharacter = new HashMap<>();
+
+    private final int size;
+
+    /**
+     * Creates the prefix index of the given snippets.
+     *
+     * @param snippets the snippets, identified by their index in the list.
+     */
+    public SnippetPrefixIndex(List<Snippet> snippets) {
+        this.size = snippets.size();
+        for (int i = 0; i < snippets.size(); i++) {
+            List<String> prefixes = snippets.get(i).getPrefixes();
+            if (prefixes != null) {
+                for (String prefix : prefixes) {
+                    addPrefix(prefix, i);
+                }
+            }
+        }
+    }
+
+    private void addPrefix(String prefix, int snippetIndex) {
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            snippetsByCharacter.computeIfAbsent(Character.toLowerCase(c), k -> new BitSet(size)).set(snippetIndex);
+            snippetsByCharacter.computeIfAbsent(Character.toUpperCase(c), k -> new BitSet(size)).set(snippetIndex);
+        }
+    }
+
+    /**
+     * Returns the indexes of the snippets which have a prefix containing the
+     * first character of the given expression (ignoring case), and all the
+     * snippets when the expression is empty.
+     *
+     * @param expr the expression typed before the completion offset.
+     * @return the indexes of the snippets which can match the given expression.
+     */
+    public BitSet find(String expr) {
+        if (expr == null || expr.isEmpty()) {
+            BitSet all = new BitSet(size);
+            all.set(0, size);
+            return all;
+        }
+        BitSet snippets = snippetsByCharacter.get(expr.charAt(0));
+        return snippets != null ? (BitSet) snippets.clone() : new BitSet();
+    }
+}
@@ -20,8 +20,10 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,9 +44,10 @@ import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4jakarta.commons.utils.StringUtils;
 
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonIOException;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 
@@ -58,8 +61,43 @@ public class SnippetRegistry {
 
     private static final Logger LOGGER = Logger.getLogger(SnippetRegistry.class.getName());
 
+    private static final Gson GSON = new Gson();
+
     private final List<Snippet> snippets;
 
+    // Snippet deserializers by context deserializer
+    private final Map<TypeAdapter<? extends ISnippetContext<?>>, SnippetDeserializer> snippetDeserializers = new HashMap<>();
+
+    // The index of each registered snippet in the snippets list
+    private final Map<Snippet, Integer> snippetIndexes = new IdentityHashMap<>();
+
+    private volatile SnippetPrefixIndex prefixIndex;
+
+    private volatile boolean documentationResolveSupported;
+
+    private volatile boolean textEditResolveSupported;
+
+    /**
+     * The data of a snippet completion item required to resolve its
+     * documentation and its text edit. The data is sent with the completion item
+     * and given back by the client, so the resolve doesn't depend on the state of
+     * the registry.
+     */
+    private static class SnippetCompletionData {
+
+        private int snippetIndex;
+
+        private Range replaceRange;
+
+        private String lineDelimiter;
+
+        private boolean canSupportMarkdown;
+
+        private boolean snippetsSupported;
+
+        private Map<String, String> model;
+    }
+
     public SnippetRegistry() {
         this(null);
     }
@@ -93,13 +131,32 @@ public class SnippetRegistry {
         }
     }
 
+    /**
+     * Set the completion item properties which the client can resolve with
+     * 'completionItem/resolve'. The resolvable properties are not computed when
+     * the completion items are created but in
+     * {@link #resolveCompletionItem(CompletionItem)}.
+     *
+     * @param documentationResolveSupported true if the client can resolve the
+     *            documentation and false otherwise.
+     * @param textEditResolveSupported true if the client can resolve the text edit
+     *            and false otherwise.
+     */
+    public void setCompletionResolveSupport(boolean documentationResolveSupported, boolean textEditResolveSupported) {
+        this.documentationResolveSupported = documentationResolveSupported;
+        this.textEditResolveSupported = textEditResolveSupported;
+    }
+
     /**
      * Register the given snippet.
      *
      * @param snippet the snippet to register.
      */
     public void registerSnippet(Snippet snippet) {
+        snippet.setTemplate(SnippetTemplate.compile(snippet.getBody()));
+        snippetIndexes.put(snippet, snippets.size());
         snippets.add(snippet);
+        prefixIndex = null;
     }
 
     /**
@@ -200,11 +257,14 @@ public class SnippetRegistry {
      */
     public void registerSnippets(Reader in, ISnippetContext<?> defaultContext,
                                  TypeAdapter<? extends ISnippetContext<?>> contextDeserializer) throws IOException {
+        SnippetDeserializer snippetDeserializer = getSnippetDeserializer(contextDeserializer);
         JsonReader reader = new JsonReader(in);
+        // Accept comments in the snippets as Gson does
+        reader.setLenient(true);
         reader.beginObject();
         while (reader.hasNext()) {
             String name = reader.nextName();
-            Snippet snippet = createSnippet(reader, contextDeserializer);
+            Snippet snippet = snippetDeserializer.read(reader);
             if (snippet.getDescription() == null) {
                 snippet.setDescription(name);
             }
@@ -216,11 +276,8 @@ public class SnippetRegistry {
         reader.endObject();
     }
 
-    private static Snippet createSnippet(JsonReader reader,
-                                         TypeAdapter<? extends ISnippetContext<?>> contextDeserializer) throws JsonIOException, JsonSyntaxException {
-        GsonBuilder builder = new GsonBuilder();
-        builder.registerTypeAdapter(Snippet.class, new SnippetDeserializer(contextDeserializer));
-        return builder.create().fromJson(reader, Snippet.class);
+    private synchronized SnippetDeserializer getSnippetDeserializer(TypeAdapter<? extends ISnippetContext<?>> contextDeserializer) {
+        return snippetDeserializers.computeIfAbsent(contextDeserializer, SnippetDeserializer::new);
     }
 
     /**
@@ -232,6 +289,44 @@ public class SnippetRegistry {
         return snippets;
     }
 
+    /**
+     * Returns the indexes (in {@link #getSnippets()}) of the snippets which have
+     * a prefix containing the first character of the given expression (ignoring
+     * case), and all the snippets when the expression is empty.
+     *
+     * @param expr the expression typed before the completion offset.
+     * @return the indexes of the snippets which can match the given expression.
+     */
+    protected BitSet findSnippets(String expr) {
+        SnippetPrefixIndex index = prefixIndex;
+        if (index == null) {
+            index = createPrefixIndex();
+        }
+        return index.find(expr);
+    }
+
+    private synchronized SnippetPrefixIndex createPrefixIndex() {
+        if (prefixIndex == null) {
+            prefixIndex = new SnippetPrefixIndex(getSnippets());
+        }
+        return prefixIndex;
+    }
+
+    /**
+     * Returns the snippets of the given indexes.
+     *
+     * @param indexes the indexes of the snippets in {@link #getSnippets()}.
+     * @return the snippets of the given indexes.
+     */
+    protected List<Snippet> getSnippets(BitSet indexes) {
+        List<Snippet> allSnippets = getSnippets();
+        List<Snippet> result = new ArrayList<>(indexes.cardinality());
+        for (int i = indexes.nextSetBit(0); i >= 0 && i < allSnippets.size(); i = indexes.nextSetBit(i + 1)) {
+            result.add(allSnippets.get(i));
+        }
+        return result;
+    }
+
     /**
      * Returns the snippet completion items according to the context filter.
      *
@@ -246,23 +341,51 @@ public class SnippetRegistry {
     public List<CompletionItem> getCompletionItems(Range replaceRange, String lineDelimiter, boolean canSupportMarkdown,
                                                    boolean snippetsSupported, BiPredicate<ISnippetContext<?>, Map<String, String>> contextFilter,
                                                    Map<String, String> initialModel, ISuffixPositionProvider suffixProvider) {
+        return getCompletionItems(getSnippets(), replaceRange, lineDelimiter, canSupportMarkdown, snippetsSupported,
+                                  contextFilter, initialModel, suffixProvider);
+    }
+
+    /**
+     * Returns the completion items of the given candidate snippets according to
+     * the context filter.
+     *
+     * @param candidates the candidate snippets.
+     * @param replaceRange the replace range.
+     * @param lineDelimiter the line delimiter.
+     * @param canSupportMarkdown true if markdown is supported to generate
+     *            documentation and false otherwise.
+     * @param contextFilter the context filter.
+     * @param initialModel the initial model.
+     * @return the completion items of the given candidate snippets according to
+     *         the context filter.
+     */
+    protected List<CompletionItem> getCompletionItems(List<Snippet> candidates, Range replaceRange, String lineDelimiter,
+                                                      boolean canSupportMarkdown, boolean snippetsSupported,
+                                                      BiPredicate<ISnippetContext<?>, Map<String, String>> contextFilter,
+                                                      Map<String, String> initialModel, ISuffixPositionProvider suffixProvider) {
         if (replaceRange == null) {
             return Collections.emptyList();
         }
         final Map<String, String> model = initialModel != null ? initialModel : new HashMap<>();
-        return getSnippets().stream().filter(snippet -> {
+        List<Snippet> snippets = candidates.stream().filter(snippet -> {
             return snippet.match(contextFilter, model);
-        }).map(snippet -> {
+        }).collect(Collectors.toList());
+        List<CompletionItem> items = new ArrayList<>(snippets.size());
+        for (Snippet snippet : snippets) {
             CompletionItem item = new CompletionItem();
             String prefix = snippet.getPrefixes().get(0);
             String label = snippet.getLabel() != null ? snippet.getLabel() : prefix;
             item.setLabel(label);
-            String insertText = getInsertText(snippet, model, snippetsSupported, lineDelimiter);
             item.setKind(CompletionItemKind.Snippet);
-            item.setDocumentation(
-                                  Either.forRight(createDocumentation(snippet, model, canSupportMarkdown, lineDelimiter)));
             item.setFilterText(prefix);
             item.setDetail(snippet.getDescription());
+            item.setInsertTextFormat(InsertTextFormat.Snippet);
+            item.setSortText(snippet.getSortText());
+            // Only the snippets of the registry can be resolved from their index
+            Integer snippetIndex = snippetIndexes.get(snippet);
+            if (!documentationResolveSupported || snippetIndex == null) {
+                item.setDocumentation(Either.forRight(createDocumentation(snippet, model, canSupportMarkdown, lineDelimiter)));
+            }
             Range range = replaceRange;
             if (!StringUtils.isEmpty(snippet.getSuffix()) && suffixProvider != null) {
                 Position end = suffixProvider.findSuffixPosition(snippet.getSuffix());
@@ -270,12 +393,71 @@ public class SnippetRegistry {
                     range = new Range(replaceRange.getStart(), end);
                 }
             }
-            item.setTextEdit(Either.forLeft(new TextEdit(range, insertText)));
-            item.setInsertTextFormat(InsertTextFormat.Snippet);
-            item.setSortText(snippet.getSortText());
-            return item;
+            // The text edit of a snippet with a suffix is not resolved since the suffix
+            // position can change after the completion
+            if (!textEditResolveSupported || snippetIndex == null || range != replaceRange) {
+                String insertText = getInsertText(snippet, model, snippetsSupported, lineDelimiter);
+                item.setTextEdit(Either.forLeft(new TextEdit(range, insertText)));
+            }
+            if (item.getDocumentation() == null || item.getTextEdit() == null) {
+                SnippetCompletionData data = new SnippetCompletionData();
+                data.snippetIndex = snippetIndex;
+                data.replaceRange = replaceRange;
+                data.lineDelimiter = lineDelimiter;
+                data.canSupportMarkdown = canSupportMarkdown;
+                data.snippetsSupported = snippetsSupported;
+                data.model = model;
+                item.setData(GSON.toJsonTree(data));
+            }
+            items.add(item);
+        }
+        return items;
+    }
 
-        }).collect(Collectors.toList());
+    /**
+     * Resolve the documentation and the text edit of the given completion item
+     * with the data of the item.
+     *
+     * @param unresolved the completion item to resolve.
+     * @return the resolved completion item and the given completion item if it
+     *         has no snippet data.
+     */
+    public CompletionItem resolveCompletionItem(CompletionItem unresolved) {
+        SnippetCompletionData data = getCompletionData(unresolved);
+        if (data == null || data.replaceRange == null) {
+            return unresolved;
+        }
+        List<Snippet> allSnippets = getSnippets();
+        if (data.snippetIndex < 0 || data.snippetIndex >= allSnippets.size()) {
+            return unresolved;
+        }
+        Snippet snippet = allSnippets.get(data.snippetIndex);
+        if (!Objects.equals(unresolved.getFilterText(), snippet.getPrefixes().get(0))) {
+            // The item doesn't come from this registry
+            return unresolved;
+        }
+        Map<String, String> model = data.model != null ? data.model : new HashMap<>();
+        if (unresolved.getDocumentation() == null) {
+            unresolved.setDocumentation(Either.forRight(createDocumentation(snippet, model, data.canSupportMarkdown, data.lineDelimiter)));
+        }
+        if (unresolved.getTextEdit() == null) {
+            String insertText = getInsertText(snippet, model, data.snippetsSupported, data.lineDelimiter);
+            unresolved.setTextEdit(Either.forLeft(new TextEdit(data.replaceRange, insertText)));
+        }
+        return unresolved;
+    }
+
+    private static SnippetCompletionData getCompletionData(CompletionItem item) {
+        Object data = item.getData();
+        if (!(data instanceof JsonObject)) {
+            return null;
+        }
+        try {
+            return GSON.fromJson((JsonElement) data, SnippetCompletionData.class);
+        } catch (JsonParseException e) {
+            LOGGER.log(Level.WARNING, "Invalid snippet completion item data", e);
+            return null;
+        }
     }
 
     private static MarkupContent createDocumentation(Snippet snippet, Map<String, String> model,
@@ -302,94 +484,6 @@ public class SnippetRegistry {
 
     private static String getInsertText(Snippet snippet, Map<String, String> model, boolean keepPlaceholders,
                                         String lineDelimiter) {
-        StringBuilder text = new StringBuilder();
-        int i = 0;
-        List<String> body = snippet.getBody();
-        if (body != null) {
-            for (String bodyLine : body) {
-                if (i > 0) {
-                    text.append(lineDelimiter);
-                }
-                replacePlaceholders(bodyLine, 0, model, keepPlaceholders, text);
-                i++;
-            }
-        }
-        return text.toString();
-    }
-
-    /**
-     * Replace place holders (ex : ${name}) from the given <code>line</code> by
-     * using the given context <code>model</code>.
-     *
-     * @param line the line which can have some place holders.
-     * @param offset the start offset where the replace must be occured.
-     * @param model the context model.
-     * @param keepDollarVariable true if place holder (ex : ${name}) must be kept
-     *            (ex : ${name}) or not (ex : name)
-     * @param newLine the replace line buffer result.
-     */
-    private static void replacePlaceholders(String line, int offset, Map<String, String> model,
-                                            boolean keepDollarVariable, StringBuilder newLine) {
-        int dollarIndex = line.indexOf("$", offset);
-        if (dollarIndex == -1 || dollarIndex == line.length() - 1) {
-            newLine.append(line.substring(offset, line.length()));
-            return;
-        }
-        char next = line.charAt(dollarIndex + 1);
-        if (Character.isDigit(next)) {
-            // ex: line = @RegistryType(type=$1)
-            if (!keepDollarVariable) {
-                newLine.append(line.substring(offset, dollarIndex));
-            }
-            int lastDigitOffset = dollarIndex + 1;
-            while (line.length() < lastDigitOffset && Character.isDigit(line.charAt(lastDigitOffset))) {
-                lastDigitOffset++;
-            }
-            if (keepDollarVariable) {
-                newLine.append(line.substring(offset, lastDigitOffset));
-            }
-            replacePlaceholders(line, lastDigitOffset, model, keepDollarVariable, newLine);
-        } else if (next == '{') {
-            int startExpr = dollarIndex;
-            int endExpr = line.indexOf("}", startExpr);
-            if (endExpr == -1) {
-                // Should never occur
-                return;
-            }
-            newLine.append(line.substring(offset, startExpr));
-            // Parameter
-            int startParam = startExpr + 2;
-            int endParam = endExpr;
-            boolean onlyNumber = true;
-            for (int i = startParam; i < endParam; i++) {
-                char ch = line.charAt(i);
-                if (!Character.isDigit(ch)) {
-                    onlyNumber = false;
-                    if (ch == ':') {
-                        startParam = i + 1;
-                        break;
-                    } else if (ch == '|') {
-                        startParam = i + 1;
-                        int index = line.indexOf(',', startExpr);
-                        if (index != -1) {
-                            endParam = index;
-                        }
-                        break;
-                    } else {
-                        break;
-                    }
-                }
-            }
-            String paramName = line.substring(startParam, endParam);
-            if (model.containsKey(paramName)) {
-                paramName = model.get(paramName);
-            } else if (keepDollarVariable) {
-                paramName = line.substring(startExpr, endExpr + 1);
-            }
-            if (!(!keepDollarVariable && onlyNumber)) {
-                newLine.append(paramName);
-            }
-            replacePlaceholders(line, endExpr + 1, model, keepDollarVariable, newLine);
-        }
+        return snippet.getTemplate().render(model, keepPlaceholders, lineDelimiter);
     }
 }
@@ -0,0 +1,187 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.commons.snippets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snippet body compiled in a list of literal and place holder segments.
+ *
+ * <p>
+ * The body is parsed once when the snippet is registered, and the insert text
+ * and documentation of each completion are rendered in one pass with the model
+ * of the completion (ex : <code>${packagename}</code>).
+ * </p>
+ */
+public class SnippetTemplate {
+
+    private static final SnippetTemplate EMPTY = new SnippetTemplate(Collections.emptyList());
+
+    private static final int LITERAL = 0;
+
+    // Tab stop without braces (ex : $1), the digits are kept in the next literal
+    private static final int TAB_STOP = 1;
+
+    // Place holder with braces (ex : ${1:name}, ${packagename})
+    private static final int PLACEHOLDER = 2;
+
+    private static class Segment {
+
+        private final int kind;
+
+        // the text of a literal, the parameter name of a place holder
+        private final String text;
+
+        // the expression of a place holder (ex : ${1:name})
+        private final String expression;
+
+        // true if the place holder is only a number (ex : ${1})
+        private final boolean onlyNumber;
+
+        public Segment(int kind, String text, String expression, boolean onlyNumber) {
+            this.kind = kind;
+            this.text = text;
+            this.expression = expression;
+            this.onlyNumber = onlyNumber;
+        }
+    }
+
+    private final List<List<Segment>> lines;
+
+    private SnippetTemplate(List<List<Segment>> lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * Returns the compiled template of the given snippet body.
+     *
+     * @param body the snippet body lines.
+     * @return the compiled template of the given snippet body.
+     */
+    public static SnippetTemplate compile(List<String> body) {
+        if (body == null || body.isEmpty()) {
+            return EMPTY;
+        }
+        List<List<Segment>> lines = new ArrayList<>(body.size());
+        for (String line : body) {
+            List<Segment> segments = new ArrayList<>();
+            compileLine(line, segments);
+            lines.add(segments);
+        }
+        return new SnippetTemplate(lines);
+    }
+
+    private static void compileLine(String line, List<Segment> segments) {
+        int offset = 0;
+        while (true) {
+            int dollarIndex = line.indexOf("$", offset);
+            if (dollarIndex == -1 || dollarIndex == line.length() - 1) {
+                addLiteral(line.substring(offset), segments);
+                return;
+            }
+            char next = line.charAt(dollarIndex + 1);
+            if (Character.isDigit(next)) {
+                // ex: line = @RegistryType(type=$1)
+                addLiteral(line.substring(offset, dollarIndex), segments);
+                segments.add(new Segment(TAB_STOP, null, null, false));
+                offset = dollarIndex + 1;
+            } else if (next == '{') {
+                int startExpr = dollarIndex;
+                int endExpr = line.indexOf("}", startExpr);
+                if (endExpr == -1) {
+                    // Should never occur
+                    return;
+                }
+                addLiteral(line.substring(offset, startExpr), segments);
+                // Parameter
+                int startParam = startExpr + 2;
+                int endParam = endExpr;
+                boolean onlyNumber = true;
+                for (int i = startParam; i < endParam; i++) {
+                    char ch = line.charAt(i);
+                    if (!Character.isDigit(ch)) {
+                        onlyNumber = false;
+                        if (ch == ':') {
+                            startParam = i + 1;
+                        } else if (ch == '|') {
+                            startParam = i + 1;
+                            int index = line.indexOf(',', startExpr);
+                            if (index != -1) {
+                                endParam = index;
+                            }
+                        }
+                        break;
+                    }
+                }
+                segments.add(new Segment(PLACEHOLDER, line.substring(startParam, endParam), line.substring(startExpr, endExpr + 1), onlyNumber));
+                offset = endExpr + 1;
+            } else {
+                // The rest of the line is ignored
+                return;
+            }
+        }
+    }
+
+    private static void addLiteral(String text, List<Segment> segments) {
+        if (!text.isEmpty()) {
+            segments.add(new Segment(LITERAL, text, null, false));
+        }
+    }
+
+    /**
+     * Returns the text of the snippet where the place holders are replaced with
+     * the given model.
+     *
+     * @param model the context model.
+     * @param keepPlaceholders true if the place holders which are not in the
+     *            model must be kept (ex : ${name}) or not (ex : name).
+     * @param lineDelimiter the line delimiter.
+     * @return the text of the snippet where the place holders are replaced with
+     *         the given model.
+     */
+    public String render(Map<String, String> model, boolean keepPlaceholders, String lineDelimiter) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                text.append(lineDelimiter);
+            }
+            for (Segment segment : lines.get(i)) {
+                switch (segment.kind) {
+                    case LITERAL:
+                        text.append(segment.text);
+                        break;
+                    case TAB_STOP:
+                        if (keepPlaceholders) {
+                            text.append('$');
+                        }
+                        break;
+                    default:
+                        String paramName = segment.text;
+                        if (model.containsKey(paramName)) {
+                            paramName = model.get(paramName);
+                        } else if (keepPlaceholders) {
+                            paramName = segment.expression;
+                        }
+                        if (keepPlaceholders || !segment.onlyNumber) {
+                            text.append(paramName);
+                        }
+                        break;
+                }
+            }
+        }
+        return text.toString();
+    }
+}
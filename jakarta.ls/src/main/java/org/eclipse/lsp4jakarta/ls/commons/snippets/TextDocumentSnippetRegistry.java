@@ -13,6 +13,7 @@
 *******************************************************************************/
 package org.eclipse.lsp4jakarta.ls.commons.snippets;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -64,11 +65,46 @@ public class TextDocumentSnippetRegistry extends SnippetRegistry {
     public List<CompletionItem> getCompletionItems(TextDocument document, int completionOffset,
                                                    boolean canSupportMarkdown, boolean snippetsSupported,
                                                    BiPredicate<ISnippetContext<?>, Map<String, String>> contextFilter, Map<String, String> model) {
+        return getCompletionItems(document, completionOffset, canSupportMarkdown, snippetsSupported, contextFilter,
+                                  model, null);
+    }
+
+    /**
+     * Returns the snippet completion items for the given completion offset and
+     * context filter, among the given candidate snippets.
+     *
+     * @param document the text document.
+     * @param completionOffset the completion offset.
+     * @param canSupportMarkdown true if markdown is supported to generate
+     *            documentation and false otherwise.
+     * @param contextFilter the context filter.
+     * @param model the context model used to replace some place
+     *            holder.
+     * @param candidates the indexes (in {@link #getSnippets()}) of the
+     *            candidate snippets and null if all snippets are
+     *            candidates.
+     * @return the snippet completion items for the given completion offset and
+     *         context filter.
+     */
+    protected List<CompletionItem> getCompletionItems(TextDocument document, int completionOffset,
+                                                      boolean canSupportMarkdown, boolean snippetsSupported,
+                                                      BiPredicate<ISnippetContext<?>, Map<String, String>> contextFilter, Map<String, String> model,
+                                                      BitSet candidates) {
         try {
+            String expr = getExpr(document, completionOffset);
+            if (expr == null) {
+                return Collections.emptyList();
+            }
             String lineDelimiter = getLineDelimiter(document, completionOffset);
-            Range replaceRange = getReplaceRange(document, completionOffset);
-            return super.getCompletionItems(replaceRange, lineDelimiter, canSupportMarkdown, snippetsSupported,
-                                            contextFilter, model, null);
+            Range replaceRange = getReplaceRange(completionOffset - expr.length(), completionOffset, document);
+            // Only the snippets which have a prefix matching the typed expression are
+            // filtered with the context
+            BitSet matchingSnippets = findSnippets(expr);
+            if (candidates != null) {
+                matchingSnippets.and(candidates);
+            }
+            return super.getCompletionItems(getSnippets(matchingSnippets), replaceRange, lineDelimiter,
+                                            canSupportMarkdown, snippetsSupported, contextFilter, model, null);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error while computing snippet completion items", e);
             return Collections.emptyList();
@@ -91,31 +127,22 @@ public class TextDocumentSnippetRegistry extends SnippetRegistry {
     }
 
     protected String getExpr(TextDocument document, int completionOffset) {
-        return findExprBeforeAt(document.getText(), completionOffset);
+        return findExprBeforeAt(document.getTextSequence(), completionOffset);
     }
 
     private Range getReplaceRange(int replaceStart, int replaceEnd, TextDocument document) throws BadLocationException {
         return new Range(document.positionAt(replaceStart), document.positionAt(replaceEnd));
     }
 
-    private static String findExprBeforeAt(String text, int offset) {
+    private static String findExprBeforeAt(CharSequence text, int offset) {
         if (offset < 0 || offset > text.length()) {
             return null;
         }
-        if (offset == 0) {
-            return "";
-        }
-        StringBuilder expr = new StringBuilder();
-        int i = offset - 1;
-        for (; i >= 0; i--) {
-            char ch = text.charAt(i);
-            if (Character.isWhitespace(ch)) {
-                break;
-            } else {
-                expr.insert(0, ch);
-            }
+        int start = offset;
+        while (start > 0 && !Character.isWhitespace(text.charAt(start - 1))) {
+            start--;
         }
-        return expr.toString();
+        return text.subSequence(start, offset).toString();
     }
 
 }
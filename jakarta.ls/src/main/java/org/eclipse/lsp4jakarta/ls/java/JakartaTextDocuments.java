@@ -14,13 +14,15 @@
 package org.eclipse.lsp4jakarta.ls.java;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -28,13 +30,15 @@ import java.util.stream.Collectors;
 import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.CompletableFutures.FutureCancelChecker;
+import org.eclipse.lsp4jakarta.commons.JakartaClasspathChangedEvent;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfo;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaFileInfoParams;
 import org.eclipse.lsp4jakarta.commons.JakartaJavaProjectLabelsParams;
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.commons.ProjectLabelInfoEntry;
 import org.eclipse.lsp4jakarta.ls.api.JakartaJavaFileInfoProvider;
 import org.eclipse.lsp4jakarta.ls.api.JakartaJavaProjectLabelsProvider;
-import org.eclipse.lsp4jakarta.ls.commons.TextDocument;
+import org.eclipse.lsp4jakarta.ls.commons.ModelTextDocument;
 import org.eclipse.lsp4jakarta.ls.commons.TextDocuments;
 import org.eclipse.lsp4jakarta.ls.java.JakartaTextDocuments.JakartaTextDocument;
 
@@ -55,10 +59,21 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
 
     private static final ProjectLabelInfoEntry PROJECT_INFO_LOADING = new ProjectLabelInfoEntry(null, null, null);
 
+    /**
+     * Maximum time a project information stays in the cache when no classpath
+     * change is notified (ex : the client doesn't forward the
+     * jakarta/classpathChanged command).
+     */
+    private static final long PROJECT_INFO_TTL = TimeUnit.MINUTES.toNanos(5);
+
     private final Map<String /* Java file URI */, CompletableFuture<ProjectLabelInfoEntry>> documentCache;
 
     private final Map<String /* project URI */, CompletableFuture<ProjectLabelInfoEntry>> projectCache;
 
+    private final Map<String /* project URI */, Long> projectGenerations;
+
+    private final Map<String /* project URI */, Long> projectLoadTimes;
+
     private final JakartaJavaProjectLabelsProvider projectInfoProvider;
 
     private final JakartaJavaFileInfoProvider fileInfoProvider;
@@ -71,7 +86,7 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
      * Opened Java file.
      *
      */
-    public class JakartaTextDocument extends TextDocument {
+    public class JakartaTextDocument extends ModelTextDocument<JavaStructureModel> {
 
         private String projectURI;
 
@@ -80,7 +95,7 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
         private CompletableFuture<JakartaJavaFileInfo> fileInfoFuture;
 
         public JakartaTextDocument(TextDocumentItem document) {
-            super(document);
+            super(document, JavaStructureModel::parse);
             collectFileInfo();
         }
 
@@ -121,6 +136,59 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
             this.projectURI = projectURI;
         }
 
+        /**
+         * Returns true if the completion must be computed by the JDT LS extension
+         * and false if the Java completion participants are known to be absent.
+         *
+         * @return true if the completion must be computed by the JDT LS extension
+         *         and false if the Java completion participants are known to be
+         *         absent.
+         */
+        public boolean hasJavaCompletionParticipants() {
+            if (fileInfoFuture == null || fileInfoFuture.isCompletedExceptionally()) {
+                return true;
+            }
+            JakartaJavaFileInfo fileInfo = fileInfoFuture.getNow(null);
+            return fileInfo == null || fileInfo.hasJavaCompletionParticipants();
+        }
+
+        /**
+         * Returns the cursor context of the given offset computed with the
+         * structure model of the Java file and null if it must be computed by the
+         * JDT LS extension.
+         *
+         * @param offset the cursor offset.
+         * @return the cursor context of the given offset and null if it must be
+         *         computed by the JDT LS extension.
+         */
+        public JavaCursorContextResult getCursorContext(int offset) {
+            try {
+                return getModel().getCursorContext(offset);
+            } catch (CancellationException e) {
+                // The document has changed while the model was parsing
+                return null;
+            }
+        }
+
+        /**
+         * Returns as promise the cursor context of the given offset computed with
+         * the structure model of the Java file and null if it must be computed by
+         * the JDT LS extension.
+         *
+         * The structure model is parsed on the common pool when it is not
+         * available yet, so that the JSON-RPC thread is not blocked.
+         *
+         * @param offset the cursor offset.
+         * @return as promise the cursor context of the given offset and null if it
+         *         must be computed by the JDT LS extension.
+         */
+        public CompletableFuture<JavaCursorContextResult> getCursorContextAsync(int offset) {
+            if (getExistingModel() != null) {
+                return CompletableFuture.completedFuture(getCursorContext(offset));
+            }
+            return CompletableFuture.supplyAsync(() -> getCursorContext(offset));
+        }
+
         /**
          * Execute the given code only if the Java file belongs to a Jakarta project
          * without waiting for the load of project information.
@@ -141,6 +209,11 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
          * Execute the given code only if the Java file belongs to a Jakarta
          * project.
          *
+         * The execution is a purely asynchronous composition: no thread is blocked
+         * while the project information is loading. Cancelling the returned future
+         * cancels the future returned by the given code (ex : the request sent to
+         * the JDT LS extension).
+         *
          * @param <T> the type to return.
          * @param code the code to execute.
          * @param defaultValue the default value to return if the Java file
@@ -154,33 +227,78 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
         public <T> CompletableFuture<T> executeIfInJakartaProject(
                                                                   BiFunction<ProjectLabelInfoEntry, CancelChecker, CompletableFuture<T>> code, T defaultValue,
                                                                   boolean waitForLoadingProjectInfo) {
-            return computeAsyncCompose(cancelChecker -> {
-                CompletableFuture<ProjectLabelInfoEntry> projectInfoFuture = getProjectInfo(this);
-                ProjectLabelInfoEntry projectInfo = projectInfoFuture.getNow(PROJECT_INFO_LOADING);
-                if (isProjectInfoLoading(projectInfo)) {
-                    // The project information is loading.
-                    if (!waitForLoadingProjectInfo) {
-                        // don't wait the load of the project, apply the given code.
-                        return executeIfInJakartaProject(null, code, defaultValue, cancelChecker);
-                    }
-                    // Wait the load of the project and apply the given code.
-                    return projectInfoFuture.thenCompose(loadedProjectInfo -> {
-                        return executeIfInJakartaProject(loadedProjectInfo, code, defaultValue, cancelChecker);
+            CompletableFuture<T> result = new CompletableFuture<>();
+            CancelChecker cancelChecker = new FutureCancelChecker(result);
+            CompletableFuture<ProjectLabelInfoEntry> projectInfoFuture = getProjectInfo(this);
+            ProjectLabelInfoEntry projectInfo = projectInfoFuture.getNow(PROJECT_INFO_LOADING);
+            if (isProjectInfoLoading(projectInfo)) {
+                // The project information is loading.
+                if (!waitForLoadingProjectInfo) {
+                    // don't wait the load of the project, apply the given code.
+                    executeIfInJakartaProject(null, code, defaultValue, result, cancelChecker);
+                } else {
+                    // Apply the given code when the project is loaded. The project information
+                    // future is shared between documents, so it must not be cancelled with the
+                    // result.
+                    projectInfoFuture.whenComplete((loadedProjectInfo, error) -> {
+                        if (error != null) {
+                            // The project information cannot be loaded, don't let the result hang.
+                            if (error instanceof CancellationException
+                                || error.getCause() instanceof CancellationException) {
+                                result.complete(defaultValue);
+                            } else {
+                                result.completeExceptionally(error);
+                            }
+                            return;
+                        }
+                        executeIfInJakartaProject(loadedProjectInfo, code, defaultValue, result, cancelChecker);
                     });
                 }
+            } else {
                 // The project information is loaded, apply the given code
-                return executeIfInJakartaProject(projectInfo, code, defaultValue, cancelChecker);
-            });
+                executeIfInJakartaProject(projectInfo, code, defaultValue, result, cancelChecker);
+            }
+            return result;
         }
 
-        private <T> CompletableFuture<T> executeIfInJakartaProject(ProjectLabelInfoEntry projectInfo,
-                                                                   BiFunction<ProjectLabelInfoEntry, CancelChecker, CompletableFuture<T>> code, T defaultValue,
-                                                                   CancelChecker cancelChecker) {
-            cancelChecker.checkCanceled();
+        private <T> void executeIfInJakartaProject(ProjectLabelInfoEntry projectInfo,
+                                                   BiFunction<ProjectLabelInfoEntry, CancelChecker, CompletableFuture<T>> code, T defaultValue,
+                                                   CompletableFuture<T> result, CancelChecker cancelChecker) {
+            if (result.isDone()) {
+                // the result has been cancelled while the project information was loading.
+                return;
+            }
             if (projectInfo == null || !isJakartaProject(projectInfo)) {
-                return CompletableFuture.completedFuture(defaultValue);
+                result.complete(defaultValue);
+                return;
             }
-            return code.apply(projectInfo, cancelChecker);
+            CompletableFuture<T> codeFuture;
+            try {
+                codeFuture = code.apply(projectInfo, cancelChecker);
+            } catch (CancellationException e) {
+                result.cancel(true);
+                return;
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (codeFuture == null) {
+                result.complete(null);
+                return;
+            }
+            // Propagate the cancellation of the result to the code future.
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    codeFuture.cancel(true);
+                }
+            });
+            codeFuture.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
         }
 
         /**
@@ -202,12 +320,15 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
         this.fileInfoProvider = fileInfoProvider;
         this.documentCache = new ConcurrentHashMap<>();
         this.projectCache = new ConcurrentHashMap<>();
+        this.projectGenerations = new ConcurrentHashMap<>();
+        this.projectLoadTimes = new ConcurrentHashMap<>();
     }
 
     @Override
     public JakartaTextDocument createDocument(TextDocumentItem document) {
         JakartaTextDocument doc = new JakartaTextDocument(document);
         doc.setIncremental(isIncremental());
+        doc.setRopeStorage(isRopeStorage());
         return doc;
     }
 
@@ -220,8 +341,7 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
      *         file document.
      */
     private CompletableFuture<ProjectLabelInfoEntry> getProjectInfo(JakartaTextDocument document) {
-        //TODO: revert this to getProjectInfoFromCache when/if ProjectLabelInfoEntry caching is re-enabled
-        return getProjectInfoFromClient(document). //
+        return getProjectInfoFromCache(document). //
                         exceptionally(ex -> {
                             LOGGER.log(Level.WARNING, String.format(
                                                                     "Error while getting ProjectLabelInfoEntry (classpath) for '%s'", document.getUri()),
@@ -230,45 +350,6 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
                         });
     }
 
-    CompletableFuture<ProjectLabelInfoEntry> getProjectInfoFromClient(JakartaTextDocument document) {
-        String documentURI = document.getUri();
-        // Search future which load project info
-        CompletableFuture<ProjectLabelInfoEntry> projectInfo = null;
-
-        // TODO: re-enable the retrieval of ProjectLabelInfoEntry objects from the caches?
-
-        // We are not going to cache the ProjectLabelInfoEntry for right now - currently caching
-        // is breaking the classpath filtering behaviour - if the pom changes to restrict the classpath, caching
-        // prevents us from returning to the client to re-compute the classpath contents.
-
-        // see getProjectInfoFromCache
-
-        JakartaJavaProjectLabelsParams params = new JakartaJavaProjectLabelsParams();
-        params.setUri(documentURI);
-        params.setTypes(getSnippetRegistry().getTypes());
-        final CompletableFuture<ProjectLabelInfoEntry> future = projectInfoProvider.getJavaProjectLabels(params);
-        ProjectLabelInfoEntry entry = null;
-        try {
-            // future.get() will definitely wait but forced me to re-write the code abit
-            entry = future.get();
-        } catch (InterruptedException | ExecutionException e) {
-            LOGGER.log(Level.WARNING, String.format(
-                                                    "Error while getting the CompletableFuture ProjectLabelInfoEntry object from client for '%s'", document.getUri()),
-                       e);
-        }
-
-        // TODO: re-enable caching of the ProjectLabelInfoEntry objects?
-
-        // since we have effectively disabled cache lookups, and go to the client on every completion call
-        // (as we were doing in the previous code base) we will also disable the addition of
-        // a ProjectLabelInfoEntry into the caches
-
-        // see getProjectInfoFromCache
-
-        return future;
-
-    }
-
     CompletableFuture<ProjectLabelInfoEntry> getProjectInfoFromCache(JakartaTextDocument document) {
         String projectURI = document.getProjectURI();
         String documentURI = document.getUri();
@@ -279,7 +360,13 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
             // the java document has already been linked to a project URI, get future from
             // the project cache.
             projectInfo = projectCache.get(projectURI);
-        } else {
+            if (projectInfo != null && isExpired(projectURI)) {
+                // the project info has been cached for too long, reload it.
+                evictProject(projectURI, projectInfo);
+                projectInfo = null;
+            }
+        }
+        if (projectInfo == null) {
             // get the current future for the given document URI
             projectInfo = documentCache.get(documentURI);
         }
@@ -289,28 +376,23 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
             params.setUri(documentURI);
             params.setTypes(getSnippetRegistry().getTypes());
             final CompletableFuture<ProjectLabelInfoEntry> future = projectInfoProvider.getJavaProjectLabels(params);
-            // >> changed this section starting here
-            ProjectLabelInfoEntry entry = null;
-            try {
-                // future.get() will definitely wait but forced me to re-write the code abit
-                entry = future.get();
-            } catch (InterruptedException | ExecutionException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
-
-            if (entry != null) {
-                // project info with labels are get from the JDT LS
-                String newProjectURI = entry.getUri();
-                // cache the project info in the project cache level.
-                projectCache.put(newProjectURI, future);
-                // update the project URI of the document to link it to a project URI
-                document.setProjectURI(newProjectURI);
-                // evict the document cache level.
-                documentCache.remove(documentURI);
-            }
             // cache the future in the document level.
             documentCache.put(documentURI, future);
+            future.whenComplete((entry, error) -> {
+                // evict the document cache level, a failed or empty project info must be
+                // reloaded by the next request.
+                documentCache.remove(documentURI, future);
+                if (error == null && entry != null && entry.getUri() != null && !entry.getUri().isEmpty()) {
+                    // project info with labels are get from the JDT LS
+                    String newProjectURI = entry.getUri();
+                    // update the project URI of the document to link it to a project URI
+                    document.setProjectURI(newProjectURI);
+                    if (!isStale(entry)) {
+                        // cache the project info in the project cache level.
+                        cacheProject(newProjectURI, future);
+                    }
+                }
+            });
             return future;
         }
 
@@ -318,6 +400,103 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
         return projectInfo;
     }
 
+    private void cacheProject(String projectURI, CompletableFuture<ProjectLabelInfoEntry> future) {
+        projectLoadTimes.put(projectURI, System.nanoTime());
+        projectCache.put(projectURI, future);
+    }
+
+    private void evictProject(String projectURI, CompletableFuture<ProjectLabelInfoEntry> future) {
+        if (future == null) {
+            projectCache.remove(projectURI);
+        } else if (!projectCache.remove(projectURI, future)) {
+            return;
+        }
+        projectLoadTimes.remove(projectURI);
+        hasLoadedAllProjects = false;
+    }
+
+    /**
+     * Returns true if the project information of the given project has been
+     * cached for longer than {@link #PROJECT_INFO_TTL} and false otherwise.
+     *
+     * @param projectURI the project URI.
+     * @return true if the project information of the given project has been
+     *         cached for longer than {@link #PROJECT_INFO_TTL} and false
+     *         otherwise.
+     */
+    private boolean isExpired(String projectURI) {
+        Long loadTime = projectLoadTimes.get(projectURI);
+        return loadTime != null && System.nanoTime() - loadTime > PROJECT_INFO_TTL;
+    }
+
+    /**
+     * Returns true if the given project information was computed before the last
+     * classpath change of its project and false otherwise.
+     *
+     * @param projectInfo the project information.
+     * @return true if the given project information was computed before the last
+     *         classpath change of its project and false otherwise.
+     */
+    private boolean isStale(ProjectLabelInfoEntry projectInfo) {
+        Long invalidatedGeneration = projectGenerations.get(projectInfo.getUri());
+        return invalidatedGeneration != null && projectInfo.getGeneration() < invalidatedGeneration;
+    }
+
+    /**
+     * Evict the cached project information of the projects impacted by the given
+     * classpath change.
+     *
+     * @param event the classpath changed event.
+     * @return the project URIs impacted by the classpath change.
+     */
+    public Set<String> classpathChanged(JakartaClasspathChangedEvent event) {
+        Set<String> projectURIs = event.getProjectURIs();
+        if (projectURIs == null || projectURIs.isEmpty()) {
+            return Collections.emptySet();
+        }
+        for (String projectURI : projectURIs) {
+            projectGenerations.merge(projectURI, event.getGeneration(), Math::max);
+            evictProject(projectURI, null);
+        }
+        // The document cache level only contains documents which are not linked yet
+        // to a project (or which are loading), they could belong to a changed project.
+        documentCache.clear();
+        hasLoadedAllProjects = false;
+        return projectURIs;
+    }
+
+    /**
+     * Evict the cached project information of the projects which contain the
+     * given changed build files (ex : pom.xml). It is a fallback for clients which
+     * watch the build files but don't forward the jakarta/classpathChanged
+     * command.
+     *
+     * @param fileURIs the URIs of the changed build files.
+     * @return the project URIs impacted by the build file changes.
+     */
+    public Set<String> buildFilesChanged(Collection<String> fileURIs) {
+        if (fileURIs == null || fileURIs.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> projectURIs = projectCache.keySet().stream() //
+                        .filter(projectURI -> fileURIs.stream().anyMatch(fileURI -> isInProject(fileURI, projectURI))) //
+                        .collect(Collectors.toSet());
+        for (String projectURI : projectURIs) {
+            evictProject(projectURI, null);
+        }
+        documentCache.clear();
+        hasLoadedAllProjects = false;
+        return projectURIs;
+    }
+
+    private static boolean isInProject(String fileURI, String projectURI) {
+        if (!fileURI.startsWith(projectURI)) {
+            return false;
+        }
+        return projectURI.endsWith("/") || fileURI.length() == projectURI.length()
+               || fileURI.charAt(projectURI.length()) == '/';
+    }
+
     /**
      * Returns a list of all projects in the current workspace as a completable
      * future
@@ -328,20 +507,26 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
      *          future
      */
     public CompletableFuture<List<ProjectLabelInfoEntry>> getWorkspaceProjects() {
-        if (!hasLoadedAllProjects) {
+        if (!hasLoadedAllProjects || projectCache.keySet().stream().anyMatch(this::isExpired)) {
             return projectInfoProvider.getAllJavaProjectLabels() //
                             .thenApply(entries -> {
+                                boolean hasStaleEntries = false;
                                 if (entries != null && entries.size() > 0) {
                                     for (ProjectLabelInfoEntry entry : entries) {
-                                        if (entry != null) {
+                                        if (entry != null && entry.getUri() != null) {
+                                            if (isStale(entry)) {
+                                                // computed before the last classpath change, don't cache it
+                                                hasStaleEntries = true;
+                                                continue;
+                                            }
                                             String newProjectURI = entry.getUri();
-                                            if (!projectCache.containsKey(newProjectURI)) {
-                                                projectCache.put(newProjectURI, CompletableFuture.completedFuture(entry));
+                                            if (!projectCache.containsKey(newProjectURI) || isExpired(newProjectURI)) {
+                                                cacheProject(newProjectURI, CompletableFuture.completedFuture(entry));
                                             }
                                         }
                                     }
                                 }
-                                hasLoadedAllProjects = true;
+                                hasLoadedAllProjects = !hasStaleEntries;
                                 return entries;
                             });
         }
@@ -379,13 +564,6 @@ public class JakartaTextDocuments extends TextDocuments<JakartaTextDocument> {
         return snippetRegistry;
     }
 
-    private static <R> CompletableFuture<R> computeAsyncCompose(Function<CancelChecker, CompletableFuture<R>> code) {
-        CompletableFuture<CancelChecker> start = new CompletableFuture<>();
-        CompletableFuture<R> result = start.thenComposeAsync(code);
-        start.complete(new FutureCancelChecker(result));
-        return result;
-    }
-
     private static boolean isProjectInfoLoading(ProjectLabelInfoEntry projectInfo) {
         return PROJECT_INFO_LOADING == projectInfo;
     }
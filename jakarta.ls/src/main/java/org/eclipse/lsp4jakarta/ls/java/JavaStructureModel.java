@@ -0,0 +1,611 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.java;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
+import org.eclipse.lsp4jakarta.ls.commons.TextDocument;
+import org.eclipse.lsp4jakarta.ls.java.JavaTokenizer.JavaTokens;
+
+/**
+ * Lightweight structure model of a Java file, used to compute the cursor
+ * context of the completion without the JDT LS extension.
+ *
+ * <p>
+ * The model is computed from the tokens of the Java file, with the same rules
+ * as the JDT scanner based computation of the JDT LS extension: the tokens
+ * before the cursor are used to know the block where the cursor is and if the
+ * cursor is within the annotations of a declaration, and the tokens after the
+ * cursor are used to know the kind of the next declaration. When the tokens are
+ * ambiguous, the cursor context is unknown and must be computed by the JDT LS
+ * extension.
+ * </p>
+ */
+public class JavaStructureModel {
+
+    // Kinds of the declaration which follows the cursor
+    private static final int NEXT_TYPE = 1;
+    private static final int NEXT_METHOD = 2;
+    private static final int NEXT_FIELD = 3;
+    private static final int NEXT_END_OF_TYPE = 4;
+    private static final int NEXT_END_OF_FILE = 5;
+
+    // Kinds of the blocks delimited by braces
+    private static final int TYPE_BODY = 1;
+    private static final int ENUM_BODY = 2;
+    private static final int CODE_BLOCK = 3;
+    private static final int LOCAL_TYPE_BODY = 4;
+    private static final int INITIALIZER_BLOCK = 5;
+
+    // States of an annotation
+    private static final int NO_ANNOTATION = 0;
+    private static final int ANNOTATION_AT = 1;
+    private static final int ANNOTATION_NAME = 2;
+    private static final int ANNOTATION_DOT = 3;
+    private static final int ANNOTATION_ARGUMENTS = 4;
+
+    // States of the primary type (the type which has the name of the Java file)
+    private static final int PRIMARY_TYPE_FOUND = 1;
+    private static final int NO_TYPE = 2;
+    private static final int PRIMARY_TYPE_UNKNOWN = 3;
+
+    private static final String RECORD = "record";
+
+    private static final String JAVA_FILE_EXTENSION = ".java";
+
+    private final JavaTokens tokens;
+
+    private final int primaryTypeState;
+
+    private JavaStructureModel(JavaTokens tokens, int primaryTypeState) {
+        this.tokens = tokens;
+        this.primaryTypeState = primaryTypeState;
+    }
+
+    /**
+     * Returns the structure model of the given Java document.
+     *
+     * @param document the Java document.
+     * @param cancelChecker the cancel checker.
+     * @return the structure model of the given Java document.
+     */
+    public static JavaStructureModel parse(TextDocument document, CancelChecker cancelChecker) {
+        JavaTokens tokens = JavaTokenizer.tokenize(document.getTextSequence(), cancelChecker);
+        return new JavaStructureModel(tokens, getPrimaryTypeState(tokens, getPrimaryTypeName(document.getUri())));
+    }
+
+    /**
+     * Returns the cursor context of the given offset and null if it cannot be
+     * computed without the JDT LS extension.
+     *
+     * @param offset the cursor offset.
+     * @return the cursor context of the given offset and null if it cannot be
+     *         computed without the JDT LS extension.
+     */
+    public JavaCursorContextResult getCursorContext(int offset) {
+        CharSequence text = tokens.getText();
+        if (offset < 0 || offset > text.length()) {
+            return null;
+        }
+        JavaCursorContextKind kind;
+        switch (primaryTypeState) {
+            case NO_TYPE:
+                kind = JavaCursorContextKind.IN_EMPTY_FILE;
+                break;
+            case PRIMARY_TYPE_FOUND:
+                kind = new CursorContextScanner(tokens, offset).scan();
+                break;
+            default:
+                kind = null;
+                break;
+        }
+        if (kind == null) {
+            return null;
+        }
+        int i;
+        for (i = offset; i > 0 && !Character.isWhitespace(text.charAt(i - 1)); i--) {
+        }
+        return new JavaCursorContextResult(kind, text.subSequence(i, offset).toString());
+    }
+
+    private static String getPrimaryTypeName(String uri) {
+        if (uri == null || !uri.endsWith(JAVA_FILE_EXTENSION)) {
+            return null;
+        }
+        String name = uri.substring(uri.lastIndexOf('/') + 1, uri.length() - JAVA_FILE_EXTENSION.length());
+        // The name of a Java type doesn't contain encoded characters
+        return name.indexOf('%') == -1 ? name : null;
+    }
+
+    /**
+     * Returns the state of the primary type, like the JDT
+     * <code>ITypeRoot#findPrimaryType()</code> used by the JDT LS extension to
+     * know if the file is empty.
+     */
+    private static int getPrimaryTypeState(JavaTokens tokens, String primaryTypeName) {
+        boolean hasType = false;
+        int depth = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            switch (tokens.getKind(i)) {
+                case JavaTokenizer.ERROR:
+                    return PRIMARY_TYPE_UNKNOWN;
+                case JavaTokenizer.LBRACE:
+                    depth++;
+                    break;
+                case JavaTokenizer.RBRACE:
+                    depth--;
+                    break;
+                case JavaTokenizer.CLASS:
+                case JavaTokenizer.INTERFACE:
+                case JavaTokenizer.ENUM:
+                    hasType = true;
+                    if (depth == 0 && primaryTypeName != null && tokens.isIdentifier(i + 1, primaryTypeName)) {
+                        return PRIMARY_TYPE_FOUND;
+                    }
+                    break;
+                case JavaTokenizer.IDENTIFIER:
+                    if (tokens.isIdentifier(i, RECORD)) {
+                        hasType = true;
+                        if (depth == 0 && primaryTypeName != null && tokens.isIdentifier(i + 1, primaryTypeName)) {
+                            return PRIMARY_TYPE_FOUND;
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return hasType ? PRIMARY_TYPE_UNKNOWN : NO_TYPE;
+    }
+
+    /**
+     * Computes the cursor context of an offset with the tokens, like the JDT LS
+     * extension does with the JDT scanner.
+     */
+    private static class CursorContextScanner {
+
+        /**
+         * A block delimited by braces and the state of the enclosing declaration.
+         */
+        private static class Block {
+
+            private final int kind;
+
+            private final int parenDepth;
+
+            private final boolean inExpression;
+
+            public Block(int kind, int parenDepth, boolean inExpression) {
+                this.kind = kind;
+                this.parenDepth = parenDepth;
+                this.inExpression = inExpression;
+            }
+        }
+
+        private final JavaTokens tokens;
+
+        private final int offset;
+
+        private final Deque<Block> blocks;
+
+        // Index of the current token
+        private int index;
+
+        // State of the declaration of the current type body, before the cursor
+        private int parenDepth;
+
+        private int annotationState;
+
+        private int annotationParenDepth;
+
+        private boolean annotated;
+
+        private boolean hasAnnotations;
+
+        private boolean declarationStarted;
+
+        private boolean typeDeclaration;
+
+        private boolean enumDeclaration;
+
+        private boolean inExpression;
+
+        private boolean parameters;
+
+        private boolean afterRecord;
+
+        // True if the declaration after the cursor has modifiers
+        private boolean nextHasModifiers;
+
+        // State of a code block, before the cursor
+        private int previousCodeToken;
+
+        private boolean localTypeDeclaration;
+
+        public CursorContextScanner(JavaTokens tokens, int offset) {
+            this.tokens = tokens;
+            this.offset = offset;
+            this.blocks = new ArrayDeque<>();
+        }
+
+        public JavaCursorContextKind scan() {
+            int token = tokens.getKind(index);
+            // The JDT scanner rejects an invalid token even when it starts at the cursor
+            while (token != JavaTokenizer.EOF && (token == JavaTokenizer.ERROR || tokens.getStart(index) < offset)) {
+                if (token == JavaTokenizer.ERROR) {
+                    return null;
+                }
+                if (token == JavaTokenizer.RBRACE && tokens.getEnd(index) == offset) {
+                    // The cursor just after a closing brace is still in the block, like in the AST
+                    break;
+                }
+                boolean containsCursor = tokens.getEnd(index) > offset
+                                         || (token == JavaTokenizer.COMMENT_JAVADOC && tokens.getEnd(index) == offset);
+                if (containsCursor && !isCodeBlock(blocks.peek()) && !(token == JavaTokenizer.IDENTIFIER
+                                                                       && (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT))) {
+                    // The cursor is within (or just after a Javadoc) a token which is not an
+                    // annotation name
+                    return null;
+                }
+                if (!acceptToken(token)) {
+                    return null;
+                }
+                token = tokens.getKind(++index);
+            }
+
+            for (Block enclosingBlock : blocks) {
+                if (enclosingBlock.kind == LOCAL_TYPE_BODY || enclosingBlock.kind == INITIALIZER_BLOCK) {
+                    // The members of a local type and the code of an initializer have a context
+                    return null;
+                }
+            }
+            Block block = blocks.peek();
+            if (block != null && block.kind == CODE_BLOCK) {
+                return JavaCursorContextKind.NONE;
+            }
+            if ((block != null && block.kind == ENUM_BODY) || declarationStarted || parenDepth > 0
+                || (annotationState != NO_ANNOTATION && annotationState != ANNOTATION_NAME)) {
+                return null;
+            }
+
+            int next = scanNextDeclaration(token);
+            if (annotated && !hasAnnotations && !nextHasModifiers) {
+                // The AST of a declaration without modifiers starts with its Javadoc
+                return null;
+            }
+            if (block == null) {
+                // Root of the file
+                if (next == NEXT_TYPE) {
+                    return annotated ? JavaCursorContextKind.IN_CLASS_ANNOTATIONS : JavaCursorContextKind.BEFORE_CLASS;
+                }
+                return next == NEXT_END_OF_FILE && !annotated ? JavaCursorContextKind.NONE : null;
+            }
+            switch (next) {
+                case NEXT_TYPE:
+                    return annotated ? JavaCursorContextKind.IN_CLASS_ANNOTATIONS : JavaCursorContextKind.BEFORE_CLASS;
+                case NEXT_METHOD:
+                    return annotated ? JavaCursorContextKind.IN_METHOD_ANNOTATIONS : JavaCursorContextKind.BEFORE_METHOD;
+                case NEXT_FIELD:
+                    return annotated ? JavaCursorContextKind.IN_FIELD_ANNOTATIONS : JavaCursorContextKind.BEFORE_FIELD;
+                case NEXT_END_OF_TYPE:
+                    return annotated ? null : JavaCursorContextKind.IN_CLASS;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Updates the state with the given token before the cursor and returns false
+         * if the token cannot be handled.
+         */
+        private boolean acceptToken(int token) {
+            Block block = blocks.peek();
+            if (isCodeBlock(block)) {
+                // Only the braces and the local types are meaningful in a code block
+                switch (token) {
+                    case JavaTokenizer.COMMENT_LINE:
+                    case JavaTokenizer.COMMENT_BLOCK:
+                    case JavaTokenizer.COMMENT_JAVADOC:
+                        return true;
+                    case JavaTokenizer.CLASS:
+                    case JavaTokenizer.INTERFACE:
+                    case JavaTokenizer.ENUM:
+                        // Foo.class is an expression
+                        localTypeDeclaration |= previousCodeToken != JavaTokenizer.DOT;
+                        break;
+                    case JavaTokenizer.IDENTIFIER:
+                        localTypeDeclaration |= afterRecord;
+                        afterRecord = previousCodeToken != JavaTokenizer.DOT && tokens.isIdentifier(index, RECORD);
+                        break;
+                    case JavaTokenizer.LBRACE:
+                        blocks.push(new Block(localTypeDeclaration ? LOCAL_TYPE_BODY : CODE_BLOCK, 0, false));
+                        localTypeDeclaration = false;
+                        break;
+                    case JavaTokenizer.RBRACE:
+                        popBlock();
+                        break;
+                    case JavaTokenizer.SEMICOLON:
+                        localTypeDeclaration = false;
+                        break;
+                    default:
+                        break;
+                }
+                if (token != JavaTokenizer.IDENTIFIER) {
+                    afterRecord = false;
+                }
+                previousCodeToken = token;
+                return true;
+            }
+
+            if (annotationState == ANNOTATION_ARGUMENTS) {
+                // Annotation arguments can't contain code blocks
+                if (token == JavaTokenizer.LPAREN) {
+                    parenDepth++;
+                } else if (token == JavaTokenizer.RPAREN && --parenDepth == annotationParenDepth) {
+                    annotationState = NO_ANNOTATION;
+                }
+                return true;
+            }
+
+            switch (token) {
+                case JavaTokenizer.COMMENT_LINE:
+                case JavaTokenizer.COMMENT_BLOCK:
+                    return true;
+                case JavaTokenizer.COMMENT_JAVADOC:
+                    // The Javadoc belongs to the next declaration like its annotations
+                    annotated |= !declarationStarted;
+                    return true;
+                case JavaTokenizer.AT:
+                    if (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT) {
+                        return false;
+                    }
+                    annotationState = ANNOTATION_AT;
+                    annotated |= !declarationStarted;
+                    hasAnnotations |= !declarationStarted;
+                    return true;
+                case JavaTokenizer.IDENTIFIER:
+                    if (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT) {
+                        annotationState = ANNOTATION_NAME;
+                        return true;
+                    }
+                    boolean record = afterRecord;
+                    startDeclaration();
+                    if (record && parenDepth == 0 && !inExpression) {
+                        typeDeclaration = true;
+                    }
+                    afterRecord = tokens.isIdentifier(index, RECORD);
+                    return true;
+                case JavaTokenizer.DOT:
+                    if (annotationState == ANNOTATION_NAME) {
+                        annotationState = ANNOTATION_DOT;
+                        return true;
+                    }
+                    break;
+                case JavaTokenizer.LPAREN:
+                    if (annotationState == ANNOTATION_NAME) {
+                        annotationState = ANNOTATION_ARGUMENTS;
+                        annotationParenDepth = parenDepth++;
+                        return true;
+                    }
+                    startDeclaration();
+                    parameters = true;
+                    parenDepth++;
+                    return true;
+                case JavaTokenizer.RPAREN:
+                    startDeclaration();
+                    parenDepth--;
+                    return parenDepth >= 0;
+                case JavaTokenizer.INTERFACE:
+                    startDeclaration();
+                    typeDeclaration = true;
+                    return true;
+                case JavaTokenizer.CLASS:
+                    startDeclaration();
+                    // Foo.class is an expression
+                    typeDeclaration |= !inExpression;
+                    return true;
+                case JavaTokenizer.ENUM:
+                    startDeclaration();
+                    typeDeclaration = true;
+                    enumDeclaration = true;
+                    return true;
+                case JavaTokenizer.EQUAL:
+                    startDeclaration();
+                    inExpression = true;
+                    return true;
+                case JavaTokenizer.SEMICOLON:
+                    if (parenDepth == 0) {
+                        endDeclaration();
+                    } else {
+                        startDeclaration();
+                    }
+                    return true;
+                case JavaTokenizer.LBRACE:
+                    startDeclaration();
+                    int kind = CODE_BLOCK;
+                    if (parenDepth == 0 && !inExpression) {
+                        if (typeDeclaration) {
+                            kind = enumDeclaration ? ENUM_BODY : TYPE_BODY;
+                        } else if (!parameters) {
+                            // static or instance initializer
+                            kind = INITIALIZER_BLOCK;
+                        }
+                    }
+                    blocks.push(new Block(kind, parenDepth, inExpression || parenDepth > 0));
+                    endDeclaration();
+                    parenDepth = 0;
+                    return true;
+                case JavaTokenizer.RBRACE:
+                    return popBlock();
+                default:
+                    break;
+            }
+            if (annotationState == ANNOTATION_AT || annotationState == ANNOTATION_DOT) {
+                return false;
+            }
+            startDeclaration();
+            return true;
+        }
+
+        /**
+         * A token which is not an annotation or a comment starts the declaration.
+         */
+        private void startDeclaration() {
+            annotationState = NO_ANNOTATION;
+            declarationStarted = true;
+            afterRecord = false;
+        }
+
+        private void endDeclaration() {
+            annotationState = NO_ANNOTATION;
+            annotated = false;
+            hasAnnotations = false;
+            declarationStarted = false;
+            typeDeclaration = false;
+            enumDeclaration = false;
+            inExpression = false;
+            parameters = false;
+            afterRecord = false;
+        }
+
+        private boolean popBlock() {
+            Block block = blocks.poll();
+            if (block == null) {
+                return false;
+            }
+            if (isCodeBlock(blocks.peek())) {
+                return true;
+            }
+            // Back in a type body or at the root of the file
+            endDeclaration();
+            parenDepth = block.parenDepth;
+            if (block.inExpression) {
+                // The block was in the initializer of a field (array, anonymous class...)
+                declarationStarted = true;
+                inExpression = true;
+            }
+            return true;
+        }
+
+        private static boolean isCodeBlock(Block block) {
+            return block != null
+                   && (block.kind == CODE_BLOCK || block.kind == LOCAL_TYPE_BODY || block.kind == INITIALIZER_BLOCK);
+        }
+
+        /**
+         * Returns the kind of the declaration which starts with the given token.
+         */
+        private int scanNextDeclaration(int token) {
+            int state = annotationState;
+            int depth = 0;
+            int angleDepth = 0;
+            boolean started = false;
+            boolean record = false;
+            nextHasModifiers = state != NO_ANNOTATION;
+            while (true) {
+                if (token == JavaTokenizer.ERROR) {
+                    return 0;
+                }
+                if (state == ANNOTATION_ARGUMENTS) {
+                    if (token == JavaTokenizer.LPAREN) {
+                        depth++;
+                    } else if (token == JavaTokenizer.RPAREN && --depth == 0) {
+                        state = NO_ANNOTATION;
+                    } else if (token == JavaTokenizer.EOF) {
+                        return 0;
+                    }
+                } else if (state == ANNOTATION_AT || state == ANNOTATION_DOT) {
+                    if (token == JavaTokenizer.INTERFACE) {
+                        return NEXT_TYPE;
+                    }
+                    if (token != JavaTokenizer.IDENTIFIER) {
+                        return 0;
+                    }
+                    state = ANNOTATION_NAME;
+                } else if (state == ANNOTATION_NAME && token == JavaTokenizer.DOT) {
+                    state = ANNOTATION_DOT;
+                } else if (state == ANNOTATION_NAME && token == JavaTokenizer.LPAREN) {
+                    state = ANNOTATION_ARGUMENTS;
+                    depth = 1;
+                } else {
+                    state = NO_ANNOTATION;
+                    switch (token) {
+                        case JavaTokenizer.EOF:
+                            return started ? 0 : NEXT_END_OF_FILE;
+                        case JavaTokenizer.COMMENT_LINE:
+                        case JavaTokenizer.COMMENT_BLOCK:
+                        case JavaTokenizer.COMMENT_JAVADOC:
+                            break;
+                        case JavaTokenizer.AT:
+                            state = ANNOTATION_AT;
+                            nextHasModifiers = true;
+                            break;
+                        case JavaTokenizer.MODIFIER:
+                            nextHasModifiers |= !started;
+                            started = true;
+                            break;
+                        case JavaTokenizer.CLASS:
+                        case JavaTokenizer.INTERFACE:
+                        case JavaTokenizer.ENUM:
+                            return NEXT_TYPE;
+                        case JavaTokenizer.RBRACE:
+                            return started ? 0 : NEXT_END_OF_TYPE;
+                        case JavaTokenizer.LPAREN:
+                            return angleDepth == 0 ? NEXT_METHOD : 0;
+                        case JavaTokenizer.EQUAL:
+                        case JavaTokenizer.SEMICOLON:
+                            return started && angleDepth == 0 ? NEXT_FIELD : 0;
+                        case JavaTokenizer.COMMA:
+                            if (angleDepth == 0) {
+                                return started ? NEXT_FIELD : 0;
+                            }
+                            break;
+                        case JavaTokenizer.LBRACE:
+                            // Initializer
+                            return 0;
+                        case JavaTokenizer.LESS:
+                            angleDepth++;
+                            break;
+                        case JavaTokenizer.GREATER:
+                            angleDepth--;
+                            break;
+                        case JavaTokenizer.RIGHT_SHIFT:
+                            angleDepth -= 2;
+                            break;
+                        case JavaTokenizer.UNSIGNED_RIGHT_SHIFT:
+                            angleDepth -= 3;
+                            break;
+                        case JavaTokenizer.IDENTIFIER:
+                            if (record && angleDepth == 0) {
+                                return NEXT_TYPE;
+                            }
+                            record = tokens.isIdentifier(index, RECORD);
+                            started = true;
+                            break;
+                        default:
+                            started = true;
+                            break;
+                    }
+                    if (token != JavaTokenizer.IDENTIFIER) {
+                        record = false;
+                    }
+                }
+                token = tokens.getKind(++index);
+            }
+        }
+    }
+}
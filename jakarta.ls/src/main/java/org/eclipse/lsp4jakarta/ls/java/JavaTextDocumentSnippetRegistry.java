@@ -14,12 +14,15 @@
 package org.eclipse.lsp4jakarta.ls.java;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiPredicate;
 
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.commons.ProjectLabelInfoEntry;
 import org.eclipse.lsp4jakarta.commons.utils.StringUtils;
 import org.eclipse.lsp4jakarta.ls.commons.BadLocationException;
@@ -28,6 +31,7 @@ import org.eclipse.lsp4jakarta.ls.commons.snippets.Snippet;
 import org.eclipse.lsp4jakarta.ls.commons.snippets.TextDocumentSnippetRegistry;
 import org.eclipse.lsp4jakarta.ls.java.JakartaTextDocuments.JakartaTextDocument;
 import org.eclipse.lsp4jakarta.snippets.LanguageId;
+import org.eclipse.lsp4jakarta.snippets.SnippetContentType;
 import org.eclipse.lsp4jakarta.snippets.SnippetContextForJava;
 
 /**
@@ -56,6 +60,93 @@ public class JavaTextDocumentSnippetRegistry extends TextDocumentSnippetRegistry
 
     private List<String> types;
 
+    private volatile SnippetContextIndex contextIndex;
+
+    /**
+     * Index of the snippets by the project labels and the cursor content types
+     * they require. It gives the snippets which can match a completion request
+     * without evaluating the context of each registered snippet.
+     */
+    private static class SnippetContextIndex {
+
+        // Snippets without Java context which always match
+        private final BitSet alwaysMatching = new BitSet();
+
+        // Snippets with a Java context
+        private final BitSet java = new BitSet();
+
+        // Snippets with a Java context which don't require a project label
+        private final BitSet untyped = new BitSet();
+
+        private final Map<String, BitSet> byType = new HashMap<>();
+
+        private final Map<SnippetContentType, BitSet> byContentType = new EnumMap<>(SnippetContentType.class);
+
+        // Snippets with a Java context which apply to any content
+        private final BitSet anyContentType = new BitSet();
+
+        public SnippetContextIndex(List<Snippet> snippets) {
+            for (int i = 0; i < snippets.size(); i++) {
+                ISnippetContext<?> context = snippets.get(i).getContext();
+                if (!(context instanceof SnippetContextForJava)) {
+                    alwaysMatching.set(i);
+                    continue;
+                }
+                java.set(i);
+                SnippetContextForJava javaContext = (SnippetContextForJava) context;
+                List<String> snippetTypes = javaContext.getTypes();
+                if (snippetTypes == null || snippetTypes.isEmpty()) {
+                    untyped.set(i);
+                } else {
+                    for (String snippetType : snippetTypes) {
+                        byType.computeIfAbsent(snippetType, k -> new BitSet()).set(i);
+                    }
+                }
+                SnippetContentType contentType = javaContext.getContentType();
+                if (contentType == null) {
+                    anyContentType.set(i);
+                } else {
+                    byContentType.computeIfAbsent(contentType, k -> new BitSet()).set(i);
+                }
+            }
+        }
+
+        /**
+         * Returns the indexes of the snippets which match the given project and
+         * cursor context, with the same rules as
+         * {@link SnippetContextForJava#isMatch(org.eclipse.lsp4jakarta.snippets.JavaSnippetCompletionContext)}.
+         */
+        public BitSet find(ProjectLabelInfoEntry projectInfo, JavaCursorContextResult cursorContext) {
+            BitSet matchingContent = (BitSet) anyContentType.clone();
+            byContentType.forEach((contentType, snippets) -> {
+                if (SnippetContextForJava.contentTypeAppliesToContext(contentType, cursorContext)) {
+                    matchingContent.or(snippets);
+                }
+            });
+            BitSet result = (BitSet) alwaysMatching.clone();
+            if (projectInfo == null) {
+                matchingContent.and(java);
+                result.or(matchingContent);
+                return result;
+            }
+            // A snippet which doesn't require a project label matches any content
+            result.or(untyped);
+            BitSet matchingTypes = new BitSet();
+            List<String> labels = projectInfo.getLabels();
+            if (labels != null) {
+                for (String label : labels) {
+                    BitSet snippets = byType.get(label);
+                    if (snippets != null) {
+                        matchingTypes.or(snippets);
+                    }
+                }
+            }
+            matchingTypes.and(matchingContent);
+            result.or(matchingTypes);
+            return result;
+        }
+    }
+
     public JavaTextDocumentSnippetRegistry() {
         this(true);
     }
@@ -100,8 +191,17 @@ public class JavaTextDocumentSnippetRegistry extends TextDocumentSnippetRegistry
 
     @Override
     public void registerSnippet(Snippet snippet) {
+        // The body is preprocessed before it is compiled in the snippet template
         preprocessSnippetBody(snippet);
         super.registerSnippet(snippet);
+        contextIndex = null;
+    }
+
+    private synchronized SnippetContextIndex createContextIndex() {
+        if (contextIndex == null) {
+            contextIndex = new SnippetContextIndex(getSnippets());
+        }
+        return contextIndex;
     }
 
     /**
@@ -140,9 +240,27 @@ public class JavaTextDocumentSnippetRegistry extends TextDocumentSnippetRegistry
         }
     }
 
+    /**
+     * Returns the snippet completion items for the given completion offset.
+     *
+     * <p>
+     * The snippets which can match the project labels and the cursor context are
+     * taken from an index, and only them are checked with the context filter.
+     * </p>
+     *
+     * @param document the Java text document.
+     * @param completionOffset the completion offset.
+     * @param canSupportMarkdown true if markdown is supported to generate
+     *            documentation and false otherwise.
+     * @param contextFilter the context filter.
+     * @param projectInfo the project labels.
+     * @param cursorContext the cursor context and null if it is unknown.
+     * @return the snippet completion items for the given completion offset.
+     */
     public List<CompletionItem> getCompletionItems(JakartaTextDocument document, int completionOffset,
                                                    boolean canSupportMarkdown, boolean snippetsSupported,
-                                                   BiPredicate<ISnippetContext<?>, Map<String, String>> contextFilter, ProjectLabelInfoEntry projectInfo) {
+                                                   BiPredicate<ISnippetContext<?>, Map<String, String>> contextFilter, ProjectLabelInfoEntry projectInfo,
+                                                   JavaCursorContextResult cursorContext) {
         Map<String, String> model = new HashMap<>();
         String packageStatement = "";
         String packageName = document.getPackageName();
@@ -170,8 +288,12 @@ public class JavaTextDocumentSnippetRegistry extends TextDocumentSnippetRegistry
         model.put(PACKAGENAME_KEY, packageStatement);
         model.put(EE_NAMESPACE_KEY,
                   projectInfo.getLabels().contains(JavaTextDocumentSnippetRegistry.JAKARTA_FLAG_TYPE) ? JavaTextDocumentSnippetRegistry.JAKARTA_VALUE : JavaTextDocumentSnippetRegistry.JAVAX_VALUE);
+        SnippetContextIndex index = contextIndex;
+        if (index == null) {
+            index = createContextIndex();
+        }
         return super.getCompletionItems(document, completionOffset, canSupportMarkdown, snippetsSupported,
-                                        contextFilter, model);
+                                        contextFilter, model, index.find(projectInfo, cursorContext));
     }
 
 }
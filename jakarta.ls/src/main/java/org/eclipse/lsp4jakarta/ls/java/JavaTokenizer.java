@@ -0,0 +1,567 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.java;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+
+/**
+ * Lightweight tokenizer of a Java source.
+ *
+ * <p>
+ * Only the tokens needed to know the structure of the declarations are
+ * distinguished (braces, parenthesis, annotations, type and modifier
+ * keywords...), the other tokens (literals, operators, other keywords) are
+ * reported as {@link #OTHER}. The tokens are split like the JDT scanner does.
+ * When the source contains a token which the JDT scanner rejects (unterminated
+ * comment or string, unicode escape, invalid character...), an {@link #ERROR}
+ * token ends the tokens.
+ * </p>
+ */
+public class JavaTokenizer {
+
+    public static final int EOF = 0;
+    public static final int ERROR = 1;
+    public static final int OTHER = 2;
+    public static final int COMMENT_LINE = 3;
+    public static final int COMMENT_BLOCK = 4;
+    public static final int COMMENT_JAVADOC = 5;
+    public static final int IDENTIFIER = 6;
+    public static final int LBRACE = 7;
+    public static final int RBRACE = 8;
+    public static final int LPAREN = 9;
+    public static final int RPAREN = 10;
+    public static final int SEMICOLON = 11;
+    public static final int COMMA = 12;
+    public static final int DOT = 13;
+    public static final int AT = 14;
+    public static final int EQUAL = 15;
+    public static final int LESS = 16;
+    public static final int GREATER = 17;
+    public static final int RIGHT_SHIFT = 18;
+    public static final int UNSIGNED_RIGHT_SHIFT = 19;
+    public static final int CLASS = 20;
+    public static final int INTERFACE = 21;
+    public static final int ENUM = 22;
+    public static final int MODIFIER = 23;
+
+    private static final Map<String, Integer> KEYWORDS = new HashMap<>();
+
+    static {
+        for (String keyword : new String[] { "assert", "boolean", "break", "byte", "case", "catch", "char", "const",
+                                             "continue", "do", "double", "else", "extends", "finally", "float", "for", "goto", "if", "implements",
+                                             "import", "instanceof", "int", "long", "new", "package", "return", "short", "super", "switch", "this",
+                                             "throw", "throws", "try", "void", "while", "true", "false", "null" }) {
+            KEYWORDS.put(keyword, OTHER);
+        }
+        for (String modifier : new String[] { "public", "protected", "private", "static", "final", "abstract",
+                                              "synchronized", "native", "transient", "volatile", "strictfp", "default" }) {
+            KEYWORDS.put(modifier, MODIFIER);
+        }
+        KEYWORDS.put("class", CLASS);
+        KEYWORDS.put("interface", INTERFACE);
+        KEYWORDS.put("enum", ENUM);
+    }
+
+    private final CharSequence text;
+
+    private final CancelChecker cancelChecker;
+
+    private int[] kinds;
+
+    private int[] starts;
+
+    private int[] ends;
+
+    private int count;
+
+    private JavaTokenizer(CharSequence text, CancelChecker cancelChecker) {
+        this.text = text;
+        this.cancelChecker = cancelChecker;
+        int capacity = Math.max(16, text.length() / 4);
+        this.kinds = new int[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
+
+    /**
+     * Returns the tokens of the given Java source, ended by an {@link #EOF} or an
+     * {@link #ERROR} token.
+     *
+     * @param text the Java source.
+     * @param cancelChecker the cancel checker.
+     * @return the tokens of the given Java source.
+     */
+    public static JavaTokens tokenize(CharSequence text, CancelChecker cancelChecker) {
+        JavaTokenizer tokenizer = new JavaTokenizer(text, cancelChecker);
+        tokenizer.tokenize();
+        return new JavaTokens(text, Arrays.copyOf(tokenizer.kinds, tokenizer.count), Arrays.copyOf(tokenizer.starts, tokenizer.count), Arrays.copyOf(tokenizer.ends,
+                                                                                                                                                     tokenizer.count));
+    }
+
+    private void tokenize() {
+        int length = text.length();
+        int i = 0;
+        while (true) {
+            if (cancelChecker != null && (count & 0xFFF) == 0) {
+                cancelChecker.checkCanceled();
+            }
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                addToken(EOF, i, i);
+                return;
+            }
+            int end = scanToken(i);
+            if (end < 0) {
+                addToken(ERROR, i, i);
+                return;
+            }
+            i = end;
+        }
+    }
+
+    /**
+     * Adds the token which starts at the given offset and returns its end offset
+     * and -1 if the token is invalid.
+     */
+    private int scanToken(int start) {
+        char c = text.charAt(start);
+        switch (c) {
+            case '/':
+                if (charAt(start + 1) == '/') {
+                    int end = start + 2;
+                    while (end < text.length() && charAt(end) != '\n' && charAt(end) != '\r') {
+                        if (isUnicodeEscape(end)) {
+                            return -1;
+                        }
+                        end++;
+                    }
+                    // The line comment includes its line terminator, like in the JDT scanner
+                    if (charAt(end) == '\r') {
+                        end++;
+                    }
+                    if (charAt(end) == '\n') {
+                        end++;
+                    }
+                    return addToken(COMMENT_LINE, start, end);
+                }
+                if (charAt(start + 1) == '*') {
+                    return scanBlockComment(start);
+                }
+                return scanOperator(start);
+            case '"':
+                if (charAt(start + 1) == '"' && charAt(start + 2) == '"') {
+                    return scanTextBlock(start);
+                }
+                return scanString(start);
+            case '\'':
+                return scanCharacter(start);
+            case '{':
+                return addToken(LBRACE, start, start + 1);
+            case '}':
+                return addToken(RBRACE, start, start + 1);
+            case '(':
+                return addToken(LPAREN, start, start + 1);
+            case ')':
+                return addToken(RPAREN, start, start + 1);
+            case ';':
+                return addToken(SEMICOLON, start, start + 1);
+            case ',':
+                return addToken(COMMA, start, start + 1);
+            case '@':
+                return addToken(AT, start, start + 1);
+            case '.':
+                if (isDigit(charAt(start + 1))) {
+                    return scanNumber(start);
+                }
+                if (charAt(start + 1) == '.' && charAt(start + 2) == '.') {
+                    // Ellipsis
+                    return addToken(OTHER, start, start + 3);
+                }
+                return addToken(DOT, start, start + 1);
+            default:
+                if (isDigit(c)) {
+                    return scanNumber(start);
+                }
+                if (Character.isJavaIdentifierStart(c) || Character.isSurrogate(c)) {
+                    return scanIdentifier(start);
+                }
+                return scanOperator(start);
+        }
+    }
+
+    private int scanBlockComment(int start) {
+        // "/**/" is a block comment
+        int kind = charAt(start + 2) == '*' && charAt(start + 3) != '/' ? COMMENT_JAVADOC : COMMENT_BLOCK;
+        int end = start + 2;
+        while (end < text.length()) {
+            if (isUnicodeEscape(end)) {
+                return -1;
+            }
+            if (charAt(end) == '*' && charAt(end + 1) == '/') {
+                return addToken(kind, start, end + 2);
+            }
+            end++;
+        }
+        // Unterminated comment
+        return -1;
+    }
+
+    private int scanString(int start) {
+        int end = start + 1;
+        while (end < text.length()) {
+            char c = charAt(end);
+            if (c == '"') {
+                return addToken(OTHER, start, end + 1);
+            }
+            if (c == '\n' || c == '\r') {
+                return -1;
+            }
+            if (c == '\\') {
+                if (!isEscapeSequence(end + 1, false)) {
+                    return -1;
+                }
+                end++;
+            }
+            end++;
+        }
+        return -1;
+    }
+
+    private int scanCharacter(int start) {
+        int end = start + 1;
+        char c = charAt(end);
+        if (c == '\\') {
+            if (!isEscapeSequence(end + 1, false)) {
+                return -1;
+            }
+            end += 2;
+            // Octal escape of up to 3 digits
+            for (int digits = 1; digits < 3 && charAt(end) >= '0' && charAt(end) <= '7'; digits++) {
+                end++;
+            }
+        } else if (c == '\'' || c == '\n' || c == '\r' || end >= text.length()) {
+            return -1;
+        } else {
+            end++;
+        }
+        return charAt(end) == '\'' ? addToken(OTHER, start, end + 1) : -1;
+    }
+
+    private int scanTextBlock(int start) {
+        int end = start + 3;
+        // The opening delimiter is followed by a line terminator
+        while (end < text.length() && charAt(end) != '\n' && charAt(end) != '\r') {
+            if (!Character.isWhitespace(charAt(end))) {
+                return -1;
+            }
+            end++;
+        }
+        while (end < text.length()) {
+            char c = charAt(end);
+            if (c == '"' && charAt(end + 1) == '"' && charAt(end + 2) == '"') {
+                return addToken(OTHER, start, end + 3);
+            }
+            if (c == '\\') {
+                if (!isEscapeSequence(end + 1, true)) {
+                    return -1;
+                }
+                end++;
+            }
+            end++;
+        }
+        return -1;
+    }
+
+    private int scanNumber(int start) {
+        int end;
+        char radix = Character.toLowerCase(charAt(start + 1));
+        if (charAt(start) == '0' && (radix == 'x' || radix == 'b')) {
+            boolean hexadecimal = radix == 'x';
+            end = skipDigits(start + 2, hexadecimal ? 16 : 2);
+            boolean floatingPoint = false;
+            if (hexadecimal && charAt(end) == '.') {
+                floatingPoint = true;
+                end = skipDigits(end + 1, 16);
+            }
+            if (end == start + 2 || (floatingPoint && end == start + 3)) {
+                // No digit
+                return -1;
+            }
+            if (hexadecimal && Character.toLowerCase(charAt(end)) == 'p') {
+                floatingPoint = true;
+                end = skipExponent(end + 1);
+            } else if (floatingPoint) {
+                // A hexadecimal floating point number requires an exponent
+                return -1;
+            }
+            if (end < 0) {
+                return -1;
+            }
+            end = skipSuffix(end, floatingPoint ? "fFdD" : "lL");
+        } else {
+            end = skipDigits(start, 10);
+            boolean floatingPoint = false;
+            if (charAt(end) == '.') {
+                floatingPoint = true;
+                end = skipDigits(end + 1, 10);
+            }
+            if (Character.toLowerCase(charAt(end)) == 'e') {
+                floatingPoint = true;
+                end = skipExponent(end + 1);
+                if (end < 0) {
+                    return -1;
+                }
+            }
+            end = skipSuffix(end, floatingPoint ? "fFdD" : "lLfFdD");
+        }
+        return addToken(OTHER, start, end);
+    }
+
+    private int skipDigits(int offset, int radix) {
+        while (Character.digit(charAt(offset), radix) != -1 || charAt(offset) == '_') {
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the end offset of the exponent which starts at the given offset and
+     * -1 if the exponent has no digit.
+     */
+    private int skipExponent(int offset) {
+        if (charAt(offset) == '+' || charAt(offset) == '-') {
+            offset++;
+        }
+        if (!isDigit(charAt(offset))) {
+            return -1;
+        }
+        return skipDigits(offset, 10);
+    }
+
+    private int skipSuffix(int offset, String suffixes) {
+        return suffixes.indexOf(charAt(offset)) != -1 ? offset + 1 : offset;
+    }
+
+    private int scanIdentifier(int start) {
+        int end = start + 1;
+        while (end < text.length() && (Character.isJavaIdentifierPart(charAt(end)) || Character.isSurrogate(charAt(end)))) {
+            if (Character.isIdentifierIgnorable(charAt(end))) {
+                return -1;
+            }
+            end++;
+        }
+        Integer keyword = KEYWORDS.get(text.subSequence(start, end).toString());
+        return addToken(keyword != null ? keyword : IDENTIFIER, start, end);
+    }
+
+    private int scanOperator(int start) {
+        char c = text.charAt(start);
+        switch (c) {
+            case '=':
+                return addToken(charAt(start + 1) == '=' ? OTHER : EQUAL, start, charAt(start + 1) == '=' ? start + 2 : start + 1);
+            case '<':
+                if (charAt(start + 1) == '<') {
+                    return addToken(OTHER, start, charAt(start + 2) == '=' ? start + 3 : start + 2);
+                }
+                if (charAt(start + 1) == '=') {
+                    return addToken(OTHER, start, start + 2);
+                }
+                return addToken(LESS, start, start + 1);
+            case '>':
+                if (charAt(start + 1) == '=') {
+                    return addToken(OTHER, start, start + 2);
+                }
+                if (charAt(start + 1) != '>') {
+                    return addToken(GREATER, start, start + 1);
+                }
+                if (charAt(start + 2) == '=') {
+                    return addToken(OTHER, start, start + 3);
+                }
+                if (charAt(start + 2) != '>') {
+                    return addToken(RIGHT_SHIFT, start, start + 2);
+                }
+                if (charAt(start + 3) == '=') {
+                    return addToken(OTHER, start, start + 4);
+                }
+                return addToken(UNSIGNED_RIGHT_SHIFT, start, start + 3);
+            case '+':
+            case '-':
+            case '&':
+            case '|':
+                // ++, +=, --, -=, ->, &&, &=, ||, |=
+                char next = charAt(start + 1);
+                return addToken(OTHER, start, next == c || next == '=' || (c == '-' && next == '>') ? start + 2 : start + 1);
+            case '*':
+            case '/':
+            case '%':
+            case '^':
+            case '!':
+                return addToken(OTHER, start, charAt(start + 1) == '=' ? start + 2 : start + 1);
+            case ':':
+                return addToken(OTHER, start, charAt(start + 1) == ':' ? start + 2 : start + 1);
+            case '?':
+            case '~':
+            case '[':
+            case ']':
+                return addToken(OTHER, start, start + 1);
+            default:
+                // Invalid character (ex : '#', '\')
+                return -1;
+        }
+    }
+
+    private boolean isEscapeSequence(int offset, boolean textBlock) {
+        switch (charAt(offset)) {
+            case 'b':
+            case 't':
+            case 'n':
+            case 'f':
+            case 'r':
+            case 's':
+            case '"':
+            case '\'':
+            case '\\':
+                return true;
+            case '\n':
+            case '\r':
+                // Line continuation
+                return textBlock;
+            default:
+                // Octal escape
+                return charAt(offset) >= '0' && charAt(offset) <= '7';
+        }
+    }
+
+    private boolean isUnicodeEscape(int offset) {
+        return charAt(offset) == '\\' && charAt(offset + 1) == 'u' && (offset == 0 || charAt(offset - 1) != '\\');
+    }
+
+    private char charAt(int offset) {
+        return offset < text.length() ? text.charAt(offset) : 0;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int addToken(int kind, int start, int end) {
+        if (count == kinds.length) {
+            int capacity = count * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        kinds[count] = kind;
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+        return end;
+    }
+
+    /**
+     * Tokens of a Java source.
+     */
+    public static class JavaTokens {
+
+        private final CharSequence text;
+
+        private final int[] kinds;
+
+        private final int[] starts;
+
+        private final int[] ends;
+
+        private JavaTokens(CharSequence text, int[] kinds, int[] starts, int[] ends) {
+            this.text = text;
+            this.kinds = kinds;
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        /**
+         * Returns the Java source.
+         *
+         * @return the Java source.
+         */
+        public CharSequence getText() {
+            return text;
+        }
+
+        /**
+         * Returns the number of tokens, including the last {@link #EOF} or
+         * {@link #ERROR} token.
+         *
+         * @return the number of tokens.
+         */
+        public int size() {
+            return kinds.length;
+        }
+
+        /**
+         * Returns the kind of the given token.
+         *
+         * @param index the token index.
+         * @return the kind of the given token.
+         */
+        public int getKind(int index) {
+            return kinds[index];
+        }
+
+        /**
+         * Returns the start offset of the given token.
+         *
+         * @param index the token index.
+         * @return the start offset of the given token.
+         */
+        public int getStart(int index) {
+            return starts[index];
+        }
+
+        /**
+         * Returns the end offset (exclusive) of the given token.
+         *
+         * @param index the token index.
+         * @return the end offset (exclusive) of the given token.
+         */
+        public int getEnd(int index) {
+            return ends[index];
+        }
+
+        /**
+         * Returns true if the given token is the given identifier and false
+         * otherwise.
+         *
+         * @param index the token index.
+         * @param identifier the identifier.
+         * @return true if the given token is the given identifier and false
+         *         otherwise.
+         */
+        public boolean isIdentifier(int index, String identifier) {
+            if (kinds[index] != IDENTIFIER || ends[index] - starts[index] != identifier.length()) {
+                return false;
+            }
+            for (int i = 0; i < identifier.length(); i++) {
+                if (text.charAt(starts[index] + i) != identifier.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
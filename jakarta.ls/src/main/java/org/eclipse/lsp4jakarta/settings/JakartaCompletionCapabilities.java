@@ -71,6 +71,20 @@ public class JakartaCompletionCapabilities {
                && completionCapabilities.getCompletionItem().getResolveSupport().getProperties().contains("documentation");
     }
 
+    /**
+     * Returns true if the client supports resolving the textEdit property in
+     * completionItem/resolve and false otherwise.
+     *
+     * @return true if the client supports resolving the textEdit property in
+     *         completionItem/resolve and false otherwise
+     */
+    public boolean isCompletionResolveTextEditSupported() {
+        return completionCapabilities != null && completionCapabilities.getCompletionItem() != null
+               && completionCapabilities.getCompletionItem().getResolveSupport() != null
+               && completionCapabilities.getCompletionItem().getResolveSupport().getProperties() != null
+               && completionCapabilities.getCompletionItem().getResolveSupport().getProperties().contains("textEdit");
+    }
+
     /**
      * Returns true if the client supports editRange in itemDefaults support and
      * false otherwise.
@@ -35,7 +35,7 @@ public class ServerCapabilitiesConstants {
     public static final String COMPLETION_ID = UUID.randomUUID().toString();
     public static final String CODE_ACTION_ID = UUID.randomUUID().toString();
 
-    public static final CompletionOptions DEFAULT_COMPLETION_OPTIONS = new CompletionOptions(false, null);
+    public static final CompletionOptions DEFAULT_COMPLETION_OPTIONS = new CompletionOptions(true, null);
 
     public static final CodeActionOptions DEFAULT_CODEACTION_OPTIONS = createDefaultCodeActionOptions();
 
@@ -13,6 +13,7 @@
 
 package org.eclipse.lsp4jakarta.snippets;
 
+import java.io.InputStream;
 import java.util.logging.Logger;
 
 import org.eclipse.lsp4jakarta.ls.commons.snippets.ISnippetRegistryLoader;
@@ -26,25 +27,17 @@ import org.eclipse.lsp4jakarta.ls.commons.snippets.SnippetRegistry;
 public class JakartaEESnippetRegistryLoader implements ISnippetRegistryLoader {
     private static final Logger LOGGER = Logger.getLogger(JakartaEESnippetRegistryLoader.class.getName());
 
+    private static final String[] SNIPPET_RESOURCES = { "restfulWs.json", "servlet.json", "persistence.json",
+                                                        "bean-validation.json", "transactions.json" };
+
     @Override
     public void load(SnippetRegistry registry) throws Exception {
         LOGGER.info("Loading snippets into registry...");
-        registry.registerSnippets(
-                                  JakartaEESnippetRegistryLoader.class.getClassLoader().getResourceAsStream("restfulWs.json"),
-                                  SnippetContextForJava.TYPE_ADAPTER);
-        registry.registerSnippets(
-                                  JakartaEESnippetRegistryLoader.class.getClassLoader().getResourceAsStream("servlet.json"),
-                                  SnippetContextForJava.TYPE_ADAPTER);
-        registry.registerSnippets(
-                                  JakartaEESnippetRegistryLoader.class.getClassLoader().getResourceAsStream("persistence.json"),
-                                  SnippetContextForJava.TYPE_ADAPTER);
-        registry.registerSnippets(
-                                  JakartaEESnippetRegistryLoader.class.getClassLoader().getResourceAsStream("bean-validation.json"),
-                                  SnippetContextForJava.TYPE_ADAPTER);
-        registry.registerSnippets(
-                                  JakartaEESnippetRegistryLoader.class.getClassLoader().getResourceAsStream("transactions.json"),
-                                  SnippetContextForJava.TYPE_ADAPTER);
-
+        for (String resource : SNIPPET_RESOURCES) {
+            try (InputStream in = JakartaEESnippetRegistryLoader.class.getClassLoader().getResourceAsStream(resource)) {
+                registry.registerSnippets(in, SnippetContextForJava.TYPE_ADAPTER);
+            }
+        }
     }
 
     @Override
@@ -38,7 +38,7 @@ import com.google.gson.stream.JsonWriter;
 public class SnippetContextForJava implements ISnippetContext<JavaSnippetCompletionContext> {
 
     public static final TypeAdapter<SnippetContextForJava> TYPE_ADAPTER = new SnippetContextForJavaAdapter();
-    private static final Gson GSON = new Gson();
+    private static final TypeAdapter<SnippetContentType> CONTENT_TYPE_ADAPTER = new Gson().getAdapter(SnippetContentType.class);
     private List<String> types;
     private SnippetContentType contentType;
 
@@ -55,6 +55,10 @@ public class SnippetContextForJava implements ISnippetContext<JavaSnippetComplet
         return types;
     }
 
+    public SnippetContentType getContentType() {
+        return contentType;
+    }
+
     @Override
     public boolean isMatch(JavaSnippetCompletionContext context) {
         if (context == null) {
@@ -83,6 +87,20 @@ public class SnippetContextForJava implements ISnippetContext<JavaSnippetComplet
     }
 
     public boolean snippetContentAppliesToContext(JavaCursorContextResult context) {
+        return contentTypeAppliesToContext(contentType, context);
+    }
+
+    /**
+     * Returns true if a snippet with the given content type applies to the given
+     * cursor context and false otherwise.
+     *
+     * @param contentType the snippet content type and null if the snippet applies
+     *            to any content.
+     * @param context the cursor context and null if it is unknown.
+     * @return true if a snippet with the given content type applies to the given
+     *         cursor context and false otherwise.
+     */
+    public static boolean contentTypeAppliesToContext(SnippetContentType contentType, JavaCursorContextResult context) {
         // content/context being null signals that the client doesn't support getting
         // the completion context
         if (contentType == null || context == null) {
@@ -135,8 +153,7 @@ public class SnippetContextForJava implements ISnippetContext<JavaSnippetComplet
                         }
                         break;
                     case "contentType":
-                        String contentTypeString = in.nextString();
-                        contentType = GSON.fromJson(contentTypeString, SnippetContentType.class);
+                        contentType = CONTENT_TYPE_ADAPTER.read(in);
                         break;
                     default:
                         in.skipValue();
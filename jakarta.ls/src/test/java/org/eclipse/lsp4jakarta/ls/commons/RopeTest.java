@@ -0,0 +1,188 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.junit.Test;
+
+/**
+ * Test for the rope storage of the text documents.
+ */
+public class RopeTest {
+
+    // Maximum number of characters of a rope chunk
+    private static final int CHUNK = 1024;
+
+    @Test
+    public void emptyRope() {
+        Rope rope = Rope.of("");
+        assertEquals(0, rope.length());
+        assertEquals("", rope.toString());
+        assertEquals("abc", rope.replace(0, 0, "abc").toString());
+        assertTrue(rope.isBalanced());
+    }
+
+    @Test
+    public void replaceAtChunkBoundaries() {
+        String text = createText(CHUNK * 4);
+        Rope rope = Rope.of(text);
+        StringBuilder expected = new StringBuilder(text);
+        // Insert, delete and replace before, at and after the chunk boundaries
+        for (int offset : new int[] { 0, CHUNK - 1, CHUNK, CHUNK + 1, CHUNK * 2, CHUNK * 3 + 1 }) {
+            rope = rope.replace(offset, offset, "inserted");
+            expected.replace(offset, offset, "inserted");
+            assertRope(expected, rope);
+
+            rope = rope.replace(offset, offset + 10, "");
+            expected.replace(offset, offset + 10, "");
+            assertRope(expected, rope);
+
+            rope = rope.replace(offset, offset + 5, "replaced");
+            expected.replace(offset, offset + 5, "replaced");
+            assertRope(expected, rope);
+        }
+        // Delete across several chunks
+        rope = rope.replace(CHUNK / 2, CHUNK * 3, "");
+        expected.replace(CHUNK / 2, CHUNK * 3, "");
+        assertRope(expected, rope);
+
+        // Replace the whole text and delete it
+        rope = rope.replace(0, rope.length(), "all");
+        assertEquals("all", rope.toString());
+        rope = rope.replace(0, rope.length(), "");
+        assertEquals("", rope.toString());
+    }
+
+    @Test
+    public void subSequence() {
+        String text = createText(CHUNK * 3);
+        Rope rope = Rope.of(text).replace(CHUNK, CHUNK, "x");
+        String expected = text.substring(0, CHUNK) + "x" + text.substring(CHUNK);
+        for (int[] range : new int[][] { { 0, 0 }, { 0, CHUNK }, { CHUNK - 1, CHUNK + 2 }, { CHUNK, CHUNK * 2 + 1 },
+                                         { 10, expected.length() } }) {
+            Rope sequence = rope.subSequence(range[0], range[1]);
+            assertEquals(expected.substring(range[0], range[1]), sequence.toString());
+            assertTrue(sequence.isBalanced());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void replaceOutOfRange() {
+        Rope.of("abc").replace(2, 4, "");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAtOutOfRange() {
+        Rope.of("abc").charAt(3);
+    }
+
+    @Test
+    public void balancedAfterTyping() {
+        // Typing at the end and in the middle of a large text keeps the tree balanced
+        Rope rope = Rope.of(createText(CHUNK * 16));
+        StringBuilder expected = new StringBuilder(rope);
+        for (int i = 0; i < 5000; i++) {
+            int offset = i % 2 == 0 ? rope.length() : rope.length() / 2;
+            rope = rope.replace(offset, offset, "c");
+            expected.insert(offset, 'c');
+        }
+        assertRope(expected, rope);
+    }
+
+    @Test
+    public void randomReplacements() {
+        Random random = new Random(42);
+        Rope rope = Rope.of(createText(CHUNK * 8));
+        StringBuilder expected = new StringBuilder(rope);
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(rope.length() + 1);
+            int end = Math.min(rope.length(), start + random.nextInt(CHUNK * 2));
+            String replacement = createText(random.nextInt(CHUNK * 2));
+            rope = rope.replace(start, end, replacement);
+            expected.replace(start, end, replacement);
+            assertTrue(rope.isBalanced());
+        }
+        assertRope(expected, rope);
+    }
+
+    @Test
+    public void lineAndOffsetConversions() throws BadLocationException {
+        Random random = new Random(7);
+        String text = createText(CHUNK * 4);
+        TextDocument stringDocument = createDocument(text, false);
+        TextDocument ropeDocument = createDocument(text, true);
+        for (int i = 0; i < 500; i++) {
+            int length = stringDocument.getText().length();
+            int start = random.nextInt(length + 1);
+            int end = Math.min(length, start + random.nextInt(200));
+            Range range = new Range(stringDocument.positionAt(start), stringDocument.positionAt(end));
+            String replacement = random.nextBoolean() ? "\r\nline" + i + "\n" : "text" + i;
+            TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent(range, end - start, replacement);
+            stringDocument.update(Arrays.asList(change));
+            ropeDocument.update(Arrays.asList(change));
+        }
+        assertEquals(stringDocument.getText(), ropeDocument.getText());
+        assertEquals(stringDocument.getText(), ropeDocument.getTextSequence().toString());
+        int length = stringDocument.getText().length();
+        for (int offset = 0; offset <= length; offset += 37) {
+            Position position = stringDocument.positionAt(offset);
+            assertEquals(position, ropeDocument.positionAt(offset));
+            assertEquals(offset, ropeDocument.offsetAt(position));
+            assertEquals(stringDocument.lineText(position.getLine()), ropeDocument.lineText(position.getLine()));
+        }
+    }
+
+    @Test
+    public void setTextWithRopeStorage() {
+        TextDocument document = createDocument("class A {}", true);
+        document.setText("class B {}");
+        assertEquals("class B {}", document.getText());
+        assertEquals("class B {}", document.getTextSequence().toString());
+        assertTrue(document.getTextSequence() instanceof Rope);
+
+        document.setRopeStorage(false);
+        assertEquals("class B {}", document.getText());
+    }
+
+    private static TextDocument createDocument(String text, boolean ropeStorage) {
+        TextDocument document = new TextDocument(text, "file:///A.java");
+        document.setIncremental(true);
+        document.setRopeStorage(ropeStorage);
+        return document;
+    }
+
+    private static void assertRope(CharSequence expected, Rope rope) {
+        assertEquals(expected.length(), rope.length());
+        assertEquals(expected.toString(), rope.toString());
+        for (int i = 0; i < expected.length(); i += 97) {
+            assertEquals(expected.charAt(i), rope.charAt(i));
+        }
+        assertTrue(rope.isBalanced());
+    }
+
+    private static String createText(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(i % 50 == 49 ? '\n' : (char) ('a' + i % 26));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,373 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Test for the validation delayer.
+ */
+public class ValidatorDelayerTest {
+
+    private static final long DELAY_MS = 500;
+
+    private static final long TIMEOUT_MS = 10000;
+
+    private final FakeScheduledExecutorService executor = new FakeScheduledExecutorService();
+
+    private final List<String> validatedUris = new ArrayList<>();
+
+    private final List<CompletableFuture<Void>> validations = new ArrayList<>();
+
+    private ValidatorDelayer<TextDocument> createDelayer(int maxInFlightValidations) {
+        return new ValidatorDelayer<>(executor, document -> {
+            validatedUris.add(document.getUri());
+            CompletableFuture<Void> validation = new CompletableFuture<>();
+            validations.add(validation);
+            return validation;
+        }, DELAY_MS, maxInFlightValidations, TIMEOUT_MS, executor::nanoTime);
+    }
+
+    @Test
+    public void validateAfterDelay() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(4);
+        TextDocument document = createDocument("file:///A.java");
+
+        delayer.validateWithDelay(document);
+        assertTrue(delayer.isRevalidating("file:///A.java"));
+        executor.advance(DELAY_MS - 1);
+        assertTrue(validatedUris.isEmpty());
+        executor.advance(1);
+        assertEquals(Arrays.asList("file:///A.java"), validatedUris);
+        assertFalse(delayer.isRevalidating("file:///A.java"));
+    }
+
+    @Test
+    public void delayClamping() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(4);
+        TextDocument fast = createDocument("file:///Fast.java");
+        TextDocument slow = createDocument("file:///Slow.java");
+        assertEquals(DELAY_MS, delayer.getValidationDelay("file:///Fast.java"));
+
+        // A validation which completes immediately gets the minimum delay
+        delayer.validateWithDelay(fast);
+        executor.advance(DELAY_MS);
+        validations.get(0).complete(null);
+        assertEquals(ValidatorDelayer.MIN_VALIDATION_DELAY_MS, delayer.getValidationDelay("file:///Fast.java"));
+
+        // A validation slower than the maximum delay gets the maximum delay
+        delayer.validateWithDelay(slow);
+        executor.advance(DELAY_MS);
+        executor.advance(ValidatorDelayer.MAX_VALIDATION_DELAY_MS * 2);
+        validations.get(1).complete(null);
+        assertEquals(ValidatorDelayer.MAX_VALIDATION_DELAY_MS, delayer.getValidationDelay("file:///Slow.java"));
+
+        // The delay follows the measured latency between the bounds
+        TextDocument medium = createDocument("file:///Medium.java");
+        delayer.validateWithDelay(medium);
+        executor.advance(DELAY_MS);
+        executor.advance(300);
+        validations.get(2).complete(null);
+        assertEquals(600, delayer.getValidationDelay("file:///Medium.java"));
+
+        // The delay of a closed document is forgotten
+        delayer.documentClosed("file:///Medium.java");
+        assertEquals(DELAY_MS, delayer.getValidationDelay("file:///Medium.java"));
+    }
+
+    @Test
+    public void coalescedValidations() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(4);
+        TextDocument document = createDocument("file:///A.java");
+
+        delayer.validateWithDelay(document);
+        executor.advance(DELAY_MS / 2);
+        delayer.validateWithDelay(document);
+        executor.advance(DELAY_MS / 2);
+        delayer.validateWithDelay(document);
+        executor.advance(DELAY_MS);
+        // Only the last request validates the document
+        assertEquals(Arrays.asList("file:///A.java"), validatedUris);
+    }
+
+    @Test
+    public void droppedValidationOfUpdatedDocument() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(4);
+        TextDocument document = createDocument("file:///A.java");
+
+        delayer.validateWithDelay(document);
+        document.setVersion(2);
+        executor.advance(DELAY_MS);
+        assertTrue(validatedUris.isEmpty());
+    }
+
+    @Test
+    public void cleanPendingValidation() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(4);
+        delayer.validateWithDelay(createDocument("file:///A.java"));
+        delayer.cleanPendingValidation("file:///A.java");
+        assertFalse(delayer.isRevalidating("file:///A.java"));
+        executor.advance(DELAY_MS);
+        assertTrue(validatedUris.isEmpty());
+    }
+
+    @Test
+    public void inFlightValidationsCap() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(2);
+        delayer.validateWithDelay(createDocument("file:///A.java"));
+        delayer.validateWithDelay(createDocument("file:///B.java"));
+        delayer.validateWithDelay(createDocument("file:///C.java"));
+        executor.advance(DELAY_MS);
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java"), validatedUris);
+        assertTrue(delayer.isRevalidating("file:///C.java"));
+
+        // A finished validation frees a slot for the queued document
+        validations.get(0).complete(null);
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java", "file:///C.java"), validatedUris);
+        assertFalse(delayer.isRevalidating("file:///C.java"));
+    }
+
+    @Test
+    public void replacedValidationOfValidatingDocument() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(2);
+        TextDocument document = createDocument("file:///A.java");
+        delayer.validateWithDelay(document);
+        executor.advance(DELAY_MS);
+        // The newer validation cancels the validation in flight
+        delayer.validateWithDelay(document);
+        assertTrue(validations.get(0).isCancelled());
+        assertEquals(Arrays.asList("file:///A.java"), validatedUris);
+
+        executor.advance(DELAY_MS);
+        assertEquals(Arrays.asList("file:///A.java", "file:///A.java"), validatedUris);
+        assertFalse(validations.get(1).isCancelled());
+    }
+
+    @Test
+    public void validateWithoutDelay() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(2);
+        delayer.validate(createDocument("file:///A.java"));
+        delayer.validate(createDocument("file:///B.java"));
+        delayer.validate(createDocument("file:///C.java"));
+        // The validations without delay share the validation slots
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java"), validatedUris);
+        assertTrue(delayer.isRevalidating("file:///C.java"));
+
+        // A new validation of A replaces the validation in flight, which frees its
+        // slot for C, and waits for a slot
+        delayer.validate(createDocument("file:///A.java"));
+        assertTrue(validations.get(0).isCancelled());
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java", "file:///C.java"), validatedUris);
+        assertTrue(delayer.isRevalidating("file:///A.java"));
+
+        validations.get(1).complete(null);
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java", "file:///C.java", "file:///A.java"), validatedUris);
+        assertFalse(delayer.isRevalidating("file:///A.java"));
+    }
+
+    @Test
+    public void validateWithoutDelayCancelsPendingValidation() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(2);
+        TextDocument document = createDocument("file:///A.java");
+        delayer.validateWithDelay(document);
+        delayer.validate(document);
+        assertEquals(Arrays.asList("file:///A.java"), validatedUris);
+        // The delayed validation has been replaced
+        executor.advance(DELAY_MS);
+        assertEquals(Arrays.asList("file:///A.java"), validatedUris);
+    }
+
+    @Test
+    public void timedOutValidation() {
+        ValidatorDelayer<TextDocument> delayer = createDelayer(1);
+        delayer.validateWithDelay(createDocument("file:///A.java"));
+        delayer.validateWithDelay(createDocument("file:///B.java"));
+        executor.advance(DELAY_MS);
+        assertEquals(Arrays.asList("file:///A.java"), validatedUris);
+
+        // The validation of A never completes, its slot is released by the timeout
+        executor.advance(TIMEOUT_MS);
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java"), validatedUris);
+
+        // The late completion of A doesn't release the slot of B
+        delayer.validateWithDelay(createDocument("file:///C.java"));
+        executor.advance(DELAY_MS);
+        validations.get(0).complete(null);
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java"), validatedUris);
+        validations.get(1).complete(null);
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java", "file:///C.java"), validatedUris);
+    }
+
+    @Test
+    public void failedValidation() {
+        List<String> validated = new ArrayList<>();
+        ValidatorDelayer<TextDocument> delayer = new ValidatorDelayer<>(executor, document -> {
+            validated.add(document.getUri());
+            if (document.getUri().equals("file:///A.java")) {
+                throw new IllegalStateException("Validation error");
+            }
+            return CompletableFuture.failedFuture(new IllegalStateException("Validation error"));
+        }, DELAY_MS, 1, TIMEOUT_MS, executor::nanoTime);
+        delayer.validateWithDelay(createDocument("file:///A.java"));
+        delayer.validateWithDelay(createDocument("file:///B.java"));
+        delayer.validateWithDelay(createDocument("file:///C.java"));
+        executor.advance(DELAY_MS);
+        // The failed validations release their slot
+        assertEquals(Arrays.asList("file:///A.java", "file:///B.java", "file:///C.java"), validated);
+        // The failed validations are not measured
+        assertEquals(DELAY_MS, delayer.getValidationDelay("file:///B.java"));
+    }
+
+    private static TextDocument createDocument(String uri) {
+        TextDocument document = new TextDocument("class A {}", uri);
+        document.setVersion(1);
+        return document;
+    }
+
+    /**
+     * Scheduled executor service which runs the tasks when its clock is advanced.
+     */
+    private static class FakeScheduledExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+        private final List<FakeScheduledFuture<?>> tasks = new ArrayList<>();
+
+        private long nanoTime;
+
+        private long sequence;
+
+        public long nanoTime() {
+            return nanoTime;
+        }
+
+        /**
+         * Advance the clock and run the tasks which are due.
+         */
+        public void advance(long delayMs) {
+            long end = nanoTime + TimeUnit.MILLISECONDS.toNanos(delayMs);
+            while (true) {
+                FakeScheduledFuture<?> next = tasks.stream().filter(task -> task.time <= end).min(FakeScheduledFuture::compareTo).orElse(null);
+                if (next == null) {
+                    break;
+                }
+                tasks.remove(next);
+                nanoTime = Math.max(nanoTime, next.time);
+                next.run();
+            }
+            nanoTime = end;
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return schedule(() -> {
+                command.run();
+                return null;
+            }, delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            FakeScheduledFuture<V> task = new FakeScheduledFuture<>(callable, nanoTime + unit.toNanos(delay), sequence++);
+            tasks.add(task);
+            return task;
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            schedule(command, 0, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void shutdown() {
+            tasks.clear();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            tasks.clear();
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+
+        private class FakeScheduledFuture<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+            private final long time;
+
+            private final long order;
+
+            public FakeScheduledFuture(Callable<V> callable, long time, long order) {
+                super(callable);
+                this.time = time;
+                this.order = order;
+            }
+
+            @Override
+            public long getDelay(TimeUnit unit) {
+                return unit.convert(time - nanoTime, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public int compareTo(Delayed other) {
+                FakeScheduledFuture<?> task = (FakeScheduledFuture<?>) other;
+                int result = Long.compare(time, task.time);
+                return result != 0 ? result : Long.compare(order, task.order);
+            }
+
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                tasks.remove(this);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.ls.java;
+
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.BEFORE_CLASS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.BEFORE_FIELD;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.BEFORE_METHOD;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_CLASS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_CLASS_ANNOTATIONS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_EMPTY_FILE;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_FIELD_ANNOTATIONS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.IN_METHOD_ANNOTATIONS;
+import static org.eclipse.lsp4jakarta.commons.JavaCursorContextKind.NONE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
+import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
+import org.eclipse.lsp4jakarta.ls.commons.TextDocument;
+import org.junit.Test;
+
+/**
+ * Tests the cursor context computed by the language server with the structure
+ * model of a Java file.
+ *
+ * <p>
+ * The expected kinds are the kinds computed with the AST by the JDT LS
+ * extension (golden values). The structure model follows the same rules as the
+ * scanner of the JDT LS extension: it computes the same kind as the AST, or
+ * gives up (null) when the tokens are ambiguous, for the same sources as the
+ * scanner (see JavaCursorContextScannerTest of the JDT LS extension tests).
+ * </p>
+ */
+public class JavaStructureModelTest {
+
+    // Java source with the cursor marked with '|', kind computed with the AST,
+    // true if the kind is computed without the JDT LS extension
+    private static final Object[][] CASES = {
+                                              { "|", IN_EMPTY_FILE, true },
+                                              { "package a;\n|", IN_EMPTY_FILE, true },
+                                              { "public class A {\n|", IN_CLASS, false },
+                                              { "public class A {}|", IN_CLASS, true },
+                                              { "public class A {\n  @Inject\n  |", IN_CLASS, false },
+                                              { "|public class A {}", BEFORE_CLASS, true },
+                                              { "@Entity\n|public class A {}", IN_CLASS_ANNOTATIONS, true },
+                                              { "public class A {\n|\n}", IN_CLASS, true },
+                                              { "public class A {\n  |\n  public void m() {}\n}", BEFORE_METHOD, true },
+                                              { "class A {\n  |private String s;\n}", BEFORE_FIELD, true },
+                                              { "class A {\n  @Inject\n  |String s;\n}", IN_FIELD_ANNOTATIONS, true },
+                                              { "class A {\n  @Inj|ect\n  String s;\n}", IN_FIELD_ANNOTATIONS, true },
+                                              { "class A {\n  void m() {\n    |\n  }\n}", NONE, true },
+                                              { "class A {\n  @Path(\"a\"\n  |void m() {}\n}", IN_METHOD_ANNOTATIONS, false },
+                                              { "class A {\n  |@Path(\"a\"\n  void m() {}\n}", BEFORE_METHOD, false },
+                                              { "enum A {\n  X, Y;\n  |\n}", IN_CLASS, false },
+                                              { "class A {\n  static {\n    |\n  }\n}", IN_CLASS, false },
+                                              { "class A {\n  {\n    |\n  }\n}", IN_CLASS, false },
+                                              { "class A {\n  // @Inject {\n  |\n  String s = \"{ @Path\";\n}", BEFORE_FIELD, true },
+                                              { "class A {\n  // comm|ent\n  String s;\n}", BEFORE_FIELD, false },
+                                              { "class A {\n  void m() {\n    String s = \"a|b\";\n  }\n}", NONE, true },
+                                              { "class A {\n  /** doc */|\n  void m() {}\n}", NONE, false },
+                                              { "class A {\n  /** doc */\n  |public void m() {}\n}", IN_METHOD_ANNOTATIONS, true },
+                                              { "class A {\n  /* { */\n  |void m() {}\n}", BEFORE_METHOD, true },
+                                              { "class A {\n  void m(|", IN_CLASS, false },
+                                              { "class A {\n  void m() {\n    new Object() {\n      |\n    };\n  }\n}", NONE, true },
+                                              { "class A {\n  @Path(value = {\"a\", \"b\"})\n  |void m() {}\n}", IN_METHOD_ANNOTATIONS, true },
+                                              { "class A {\n  String s = |\n}", IN_CLASS, false },
+                                              { "class A {\n  String s = \"}\";\n  |\n}", IN_CLASS, true },
+                                              { "|\npublic class A {}", BEFORE_CLASS, true },
+                                              { "import a.B;\n|\n@Entity\npublic class A {}", BEFORE_CLASS, true },
+                                              { "@Entity\npublic class A {\n  public A() {}\n  |\n}", IN_CLASS, true } };
+
+    @Test
+    public void cursorContextMatchesAST() {
+        assertCursorContexts(false);
+    }
+
+    @Test
+    public void cursorContextMatchesASTWithRopeStorage() {
+        assertCursorContexts(true);
+    }
+
+    @Test
+    public void cursorPrefix() {
+        JavaStructureModel model = parse("class A {\n  @Inject\n  String s;\n}", false);
+        JavaCursorContextResult result = model.getCursorContext("class A {\n  @Inj".length());
+        assertEquals(IN_FIELD_ANNOTATIONS, result.getKind());
+        assertEquals("@Inj", result.getPrefix());
+    }
+
+    @Test
+    public void invalidOffset() {
+        JavaStructureModel model = parse("class A {}", false);
+        assertNull(model.getCursorContext(-1));
+        assertNull(model.getCursorContext(11));
+    }
+
+    @Test
+    public void otherPrimaryType() {
+        // The file doesn't declare its primary type: the JDT LS extension must
+        // compute the context
+        JavaStructureModel model = parse("class B {\n  \n}", false);
+        assertNull(model.getCursorContext("class B {\n  ".length()));
+    }
+
+    private static void assertCursorContexts(boolean ropeStorage) {
+        for (Object[] testCase : CASES) {
+            String sourceWithCursor = (String) testCase[0];
+            int offset = sourceWithCursor.indexOf('|');
+            String source = sourceWithCursor.substring(0, offset) + sourceWithCursor.substring(offset + 1);
+            JavaCursorContextResult result = parse(source, ropeStorage).getCursorContext(offset);
+            JavaCursorContextKind expected = (Boolean) testCase[2] ? (JavaCursorContextKind) testCase[1] : null;
+            assertEquals(sourceWithCursor, expected, result != null ? result.getKind() : null);
+        }
+    }
+
+    private static JavaStructureModel parse(String source, boolean ropeStorage) {
+        TextDocument document = new TextDocument(source, "file:///A.java");
+        document.setRopeStorage(ropeStorage);
+        return JavaStructureModel.parse(document, null);
+    }
+}
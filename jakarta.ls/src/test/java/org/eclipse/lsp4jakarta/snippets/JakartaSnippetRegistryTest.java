@@ -12,22 +12,34 @@
 *******************************************************************************/
 package org.eclipse.lsp4jakarta.snippets;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextKind;
 import org.eclipse.lsp4jakarta.commons.JavaCursorContextResult;
 import org.eclipse.lsp4jakarta.commons.ProjectLabelInfoEntry;
+import org.eclipse.lsp4jakarta.ls.commons.TextDocument;
 import org.eclipse.lsp4jakarta.ls.commons.snippets.ISnippetContext;
 import org.eclipse.lsp4jakarta.ls.commons.snippets.Snippet;
 import org.eclipse.lsp4jakarta.ls.java.JavaTextDocumentSnippetRegistry;
 import org.junit.Test;
 
+import com.google.gson.JsonParser;
+
 /**
  * Test for JakartaEE snippet registry.
  **/
@@ -171,6 +183,111 @@ public class JakartaSnippetRegistryTest {
 
     }
 
+    /**
+     * The snippets are only narrowed with the first character of the typed
+     * expression, the client filters them with its own fuzzy matching.
+     */
+    @Test
+    public void completionItemsFilteringTest() {
+        // Fuzzy match
+        assertTrue(getCompletionFilterTexts("rg").contains("rest_get"));
+        // Word and substring matches
+        assertTrue(getCompletionFilterTexts("get").contains("rest_get"));
+        assertTrue(getCompletionFilterTexts("est").contains("rest_get"));
+        assertTrue(getCompletionFilterTexts("Transactional").contains("@Transactional"));
+        // Ignoring case
+        assertTrue(getCompletionFilterTexts("REST").contains("rest_get"));
+        assertTrue(getCompletionFilterTexts("trans").contains("@Transactional"));
+
+        // The filter texts contain the first character of the expression
+        for (String filterText : getCompletionFilterTexts("g")) {
+            assertTrue(filterText, filterText.toLowerCase().contains("g"));
+        }
+        assertTrue(getCompletionFilterTexts("#").isEmpty());
+
+        // No expression
+        assertEquals(registry.getSnippets().size(), getCompletionFilterTexts("").size());
+    }
+
+    /**
+     * The documentation and the text edit of the snippets are resolved with the
+     * data of the completion items.
+     */
+    @Test
+    public void resolveCompletionItemsTest() {
+        JavaTextDocumentSnippetRegistry resolveRegistry = new JavaTextDocumentSnippetRegistry();
+        resolveRegistry.setCompletionResolveSupport(true, true);
+        List<CompletionItem> expectedItems = getCompletionItems(registry, "rest");
+        List<CompletionItem> unresolvedItems = getCompletionItems(resolveRegistry, "rest");
+        assertEquals(expectedItems.size(), unresolvedItems.size());
+        assertFalse(unresolvedItems.isEmpty());
+
+        // Items of an older completion request are resolved after a new request
+        getCompletionItems(resolveRegistry, "servlet");
+        for (int i = 0; i < unresolvedItems.size(); i++) {
+            CompletionItem expected = expectedItems.get(i);
+            CompletionItem unresolved = sendToClient(unresolvedItems.get(i));
+            assertNull(unresolved.getDocumentation());
+            assertNull(unresolved.getTextEdit());
+
+            // Another registry with the same snippets resolves the item
+            CompletionItem resolved = new JavaTextDocumentSnippetRegistry().resolveCompletionItem(unresolved);
+            assertEquals(expected.getDocumentation(), resolved.getDocumentation());
+            assertEquals(expected.getTextEdit(), resolved.getTextEdit());
+            assertEquals(new Range(new Position(1, 0), new Position(1, 4)), resolved.getTextEdit().getLeft().getRange());
+        }
+    }
+
+    @Test
+    public void resolveDocumentationOnlyTest() {
+        JavaTextDocumentSnippetRegistry resolveRegistry = new JavaTextDocumentSnippetRegistry();
+        resolveRegistry.setCompletionResolveSupport(true, false);
+        CompletionItem expected = getCompletionItems(registry, "rest_get").get(0);
+        CompletionItem unresolved = sendToClient(getCompletionItems(resolveRegistry, "rest_get").get(0));
+        assertNull(unresolved.getDocumentation());
+        assertEquals(expected.getTextEdit(), unresolved.getTextEdit());
+
+        CompletionItem resolved = resolveRegistry.resolveCompletionItem(unresolved);
+        assertEquals(expected.getDocumentation(), resolved.getDocumentation());
+    }
+
+    @Test
+    public void resolveUnknownCompletionItemTest() {
+        // Item without snippet data
+        CompletionItem item = new CompletionItem("rest_get");
+        assertSame(item, registry.resolveCompletionItem(item));
+        assertNull(item.getTextEdit());
+
+        // Item with the data of another snippet
+        JavaTextDocumentSnippetRegistry resolveRegistry = new JavaTextDocumentSnippetRegistry();
+        resolveRegistry.setCompletionResolveSupport(true, true);
+        CompletionItem unresolved = sendToClient(getCompletionItems(resolveRegistry, "rest_get").get(0));
+        unresolved.setFilterText("unknown");
+        CompletionItem resolved = resolveRegistry.resolveCompletionItem(unresolved);
+        assertNull(resolved.getDocumentation());
+        assertNull(resolved.getTextEdit());
+    }
+
+    private List<String> getCompletionFilterTexts(String expr) {
+        return getCompletionItems(registry, expr).stream().map(CompletionItem::getFilterText).collect(Collectors.toList());
+    }
+
+    private static List<CompletionItem> getCompletionItems(JavaTextDocumentSnippetRegistry registry, String expr) {
+        TextDocument document = new TextDocument("class A {\n" + expr, "file:///A.java");
+        return registry.getCompletionItems(document, document.getText().length(), true, true,
+                                           (context, model) -> true, new HashMap<>());
+    }
+
+    // The client sends back the completion item data as JSON.
+    private static CompletionItem sendToClient(CompletionItem item) {
+        CompletionItem sent = new CompletionItem(item.getLabel());
+        sent.setFilterText(item.getFilterText());
+        sent.setDocumentation(item.getDocumentation());
+        sent.setTextEdit(item.getTextEdit());
+        sent.setData(item.getData() != null ? JsonParser.parseString(item.getData().toString()) : null);
+        return sent;
+    }
+
     // Verify whether the snippet is present in the registry.
     private static Optional<Snippet> findByPrefix(String prefix, JavaTextDocumentSnippetRegistry registry) {
         return registry.getSnippets().stream().filter(snippet -> snippet.getPrefixes().contains(prefix)).findFirst();
@@ -0,0 +1,75 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.snippets;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4jakarta.ls.commons.snippets.Snippet;
+import org.eclipse.lsp4jakarta.ls.commons.snippets.SnippetTemplate;
+import org.eclipse.lsp4jakarta.ls.java.JavaTextDocumentSnippetRegistry;
+
+/**
+ * Microbenchmark which compares the rendering of the registered Jakarta EE
+ * snippets with {@link SnippetTemplate} and with the previous recursive
+ * replacement of the place holders.
+ *
+ * <p>
+ * It is not run by the build, run it with the main method. The equivalence of
+ * both renderings is checked by {@link SnippetTemplateTest}.
+ * </p>
+ */
+public class SnippetTemplateBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    private static final int ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        List<Snippet> snippets = new JavaTextDocumentSnippetRegistry().getSnippets();
+        Map<String, String> model = new HashMap<>();
+        model.put("packagename", "package org.acme;\n\n");
+        model.put("ee-namespace", "jakarta");
+
+        run("replacePlaceholders", WARMUP_ITERATIONS, snippets, model, false);
+        run("SnippetTemplate", WARMUP_ITERATIONS, snippets, model, true);
+        long replacePlaceholdersTime = run("replacePlaceholders", ITERATIONS, snippets, model, false);
+        long templateTime = run("SnippetTemplate", ITERATIONS, snippets, model, true);
+        System.out.println("replacePlaceholders: " + replacePlaceholdersTime / 1_000_000 + "ms");
+        System.out.println("SnippetTemplate: " + templateTime / 1_000_000 + "ms");
+    }
+
+    private static long run(String name, int iterations, List<Snippet> snippets, Map<String, String> model,
+                            boolean template) {
+        long length = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (Snippet snippet : snippets) {
+                // insert text and documentation
+                if (template) {
+                    length += snippet.getTemplate().render(model, true, "\n").length();
+                    length += snippet.getTemplate().render(model, false, "\n").length();
+                } else {
+                    length += SnippetTemplateTest.renderWithReplacePlaceholders(snippet, model, true, "\n").length();
+                    length += SnippetTemplateTest.renderWithReplacePlaceholders(snippet, model, false, "\n").length();
+                }
+            }
+        }
+        long time = System.nanoTime() - start;
+        if (length == 0) {
+            System.out.println(name + ": no rendered text");
+        }
+        return time;
+    }
+}
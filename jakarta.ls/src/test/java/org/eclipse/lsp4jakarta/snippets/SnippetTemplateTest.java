@@ -0,0 +1,145 @@
+/*******************************************************************************
+* Copyright (c) 2023 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package org.eclipse.lsp4jakarta.snippets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4jakarta.ls.commons.snippets.Snippet;
+import org.eclipse.lsp4jakarta.ls.commons.snippets.SnippetTemplate;
+import org.eclipse.lsp4jakarta.ls.java.JavaTextDocumentSnippetRegistry;
+import org.junit.Test;
+
+/**
+ * Test for the rendering of the Jakarta EE snippets with
+ * {@link SnippetTemplate}, compared with the previous recursive replacement of
+ * the place holders.
+ */
+public class SnippetTemplateTest {
+
+    private final List<Snippet> snippets = new JavaTextDocumentSnippetRegistry().getSnippets();
+
+    @Test
+    public void renderingWithModel() {
+        Map<String, String> model = new HashMap<>();
+        model.put("packagename", "package org.acme;\n\n");
+        model.put("ee-namespace", "jakarta");
+        assertSameRendering(model, "\n");
+        assertSameRendering(model, "\r\n");
+    }
+
+    @Test
+    public void renderingWithoutModel() {
+        // The place holders which are not in the model are kept or removed
+        assertSameRendering(new HashMap<>(), "\n");
+    }
+
+    private void assertSameRendering(Map<String, String> model, String lineDelimiter) {
+        assertFalse(snippets.isEmpty());
+        for (Snippet snippet : snippets) {
+            for (boolean keepPlaceholders : new boolean[] { true, false }) {
+                String expected = renderWithReplacePlaceholders(snippet, model, keepPlaceholders, lineDelimiter);
+                String actual = snippet.getTemplate().render(model, keepPlaceholders, lineDelimiter);
+                assertEquals("Different rendering for the snippet '" + snippet.getDescription() + "'", expected,
+                             actual);
+            }
+        }
+    }
+
+    static String renderWithReplacePlaceholders(Snippet snippet, Map<String, String> model,
+                                                boolean keepPlaceholders, String lineDelimiter) {
+        StringBuilder text = new StringBuilder();
+        int i = 0;
+        List<String> body = snippet.getBody();
+        if (body != null) {
+            for (String bodyLine : body) {
+                if (i > 0) {
+                    text.append(lineDelimiter);
+                }
+                replacePlaceholders(bodyLine, 0, model, keepPlaceholders, text);
+                i++;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * The recursive replacement of the place holders used before
+     * {@link SnippetTemplate}.
+     */
+    private static void replacePlaceholders(String line, int offset, Map<String, String> model,
+                                            boolean keepDollarVariable, StringBuilder newLine) {
+        int dollarIndex = line.indexOf("$", offset);
+        if (dollarIndex == -1 || dollarIndex == line.length() - 1) {
+            newLine.append(line.substring(offset, line.length()));
+            return;
+        }
+        char next = line.charAt(dollarIndex + 1);
+        if (Character.isDigit(next)) {
+            if (!keepDollarVariable) {
+                newLine.append(line.substring(offset, dollarIndex));
+            }
+            int lastDigitOffset = dollarIndex + 1;
+            while (line.length() < lastDigitOffset && Character.isDigit(line.charAt(lastDigitOffset))) {
+                lastDigitOffset++;
+            }
+            if (keepDollarVariable) {
+                newLine.append(line.substring(offset, lastDigitOffset));
+            }
+            replacePlaceholders(line, lastDigitOffset, model, keepDollarVariable, newLine);
+        } else if (next == '{') {
+            int startExpr = dollarIndex;
+            int endExpr = line.indexOf("}", startExpr);
+            if (endExpr == -1) {
+                return;
+            }
+            newLine.append(line.substring(offset, startExpr));
+            int startParam = startExpr + 2;
+            int endParam = endExpr;
+            boolean onlyNumber = true;
+            for (int i = startParam; i < endParam; i++) {
+                char ch = line.charAt(i);
+                if (!Character.isDigit(ch)) {
+                    onlyNumber = false;
+                    if (ch == ':') {
+                        startParam = i + 1;
+                        break;
+                    } else if (ch == '|') {
+                        startParam = i + 1;
+                        int index = line.indexOf(',', startExpr);
+                        if (index != -1) {
+                            endParam = index;
+                        }
+                        break;
+                    } else {
+                        break;
+                    }
+                }
+            }
+            String paramName = line.substring(startParam, endParam);
+            if (model.containsKey(paramName)) {
+                paramName = model.get(paramName);
+            } else if (keepDollarVariable) {
+                paramName = line.substring(startExpr, endExpr + 1);
+            }
+            if (!(!keepDollarVariable && onlyNumber)) {
+                newLine.append(paramName);
+            }
+            replacePlaceholders(line, endExpr + 1, model, keepDollarVariable, newLine);
+        }
+    }
+}